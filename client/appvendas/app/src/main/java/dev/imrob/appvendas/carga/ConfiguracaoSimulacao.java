@@ -0,0 +1,129 @@
+package dev.imrob.appvendas.carga;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros do simulador de caixas, lidos das propriedades de sistema {@code appvendas.carga.*}.
+ *
+ * <ul>
+ *   <li>{@code caixas}: número de caixas (sessões de PDV) simultâneos. Padrão: 50.</li>
+ *   <li>{@code duracao}: duração da medição, no formato ISO-8601. Padrão: {@code PT1M}.</li>
+ *   <li>{@code aquecimento}: duração do aquecimento, descartado da medição. Padrão: {@code PT15S}.</li>
+ *   <li>{@code pausa-item-ms}: pausa média entre a leitura de dois produtos. Padrão: 300.</li>
+ *   <li>{@code pausa-venda-ms}: pausa média entre duas vendas do mesmo caixa. Padrão: 2000.</li>
+ *   <li>{@code itens-min} e {@code itens-max}: itens lidos por venda. Padrão: 1 a 10.</li>
+ *   <li>{@code cancelamento}: fração das vendas canceladas em seguida, entre 0 e 1. Padrão: 0.05.</li>
+ *   <li>{@code clientes} e {@code produtos}: quantidade mínima cadastrada antes da simulação; os que
+ *       faltarem são criados. Padrão: 200 e 500.</li>
+ *   <li>{@code hgrm}: pasta onde gravar a distribuição de cada operação em arquivos {@code .hgrm}.
+ *       Opcional.</li>
+ * </ul>
+ *
+ * <p>As pausas seguem uma distribuição exponencial com a média informada, como a chegada de clientes
+ * a um caixa; com média 0 não há pausa.</p>
+ *
+ * @author Rob
+ */
+public class ConfiguracaoSimulacao {
+    private static final String PREFIXO = "appvendas.carga.";
+
+    private final int caixas;
+    private final Duration duracao;
+    private final Duration aquecimento;
+    private final long pausaItemMs;
+    private final long pausaVendaMs;
+    private final int itensMin;
+    private final int itensMax;
+    private final double cancelamento;
+    private final int clientes;
+    private final int produtos;
+    private final String pastaHgrm;
+
+    private ConfiguracaoSimulacao() {
+        this.caixas = inteiro("caixas", 50);
+        this.duracao = Duration.parse(texto("duracao", "PT1M"));
+        this.aquecimento = Duration.parse(texto("aquecimento", "PT15S"));
+        this.pausaItemMs = inteiro("pausa-item-ms", 300);
+        this.pausaVendaMs = inteiro("pausa-venda-ms", 2000);
+        this.itensMin = inteiro("itens-min", 1);
+        this.itensMax = inteiro("itens-max", 10);
+        this.cancelamento = Double.parseDouble(texto("cancelamento", "0.05"));
+        this.clientes = inteiro("clientes", 200);
+        this.produtos = inteiro("produtos", 500);
+        this.pastaHgrm = System.getProperty(PREFIXO + "hgrm");
+        if (caixas < 1 || itensMin < 1 || itensMax < itensMin || clientes < 1 || produtos < itensMax
+                || cancelamento < 0 || cancelamento > 1) {
+            throw new IllegalArgumentException("Parâmetros de simulação inválidos: " + this);
+        }
+    }
+
+    /**
+     * Lê a configuração das propriedades de sistema.
+     *
+     * @return A configuração da simulação.
+     * @throws IllegalArgumentException Se algum parâmetro for inválido.
+     */
+    public static ConfiguracaoSimulacao lerPropriedades() {
+        return new ConfiguracaoSimulacao();
+    }
+
+    private static String texto(String nome, String padrao) {
+        return System.getProperty(PREFIXO + nome, padrao);
+    }
+
+    private static int inteiro(String nome, int padrao) {
+        return Integer.parseInt(texto(nome, String.valueOf(padrao)));
+    }
+
+    public int getCaixas() {
+        return caixas;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    public Duration getAquecimento() {
+        return aquecimento;
+    }
+
+    public long getPausaItemMs() {
+        return pausaItemMs;
+    }
+
+    public long getPausaVendaMs() {
+        return pausaVendaMs;
+    }
+
+    public int getItensMin() {
+        return itensMin;
+    }
+
+    public int getItensMax() {
+        return itensMax;
+    }
+
+    public double getCancelamento() {
+        return cancelamento;
+    }
+
+    public int getClientes() {
+        return clientes;
+    }
+
+    public int getProdutos() {
+        return produtos;
+    }
+
+    public String getPastaHgrm() {
+        return pastaHgrm;
+    }
+
+    @Override
+    public String toString() {
+        return "caixas=" + caixas + ", duracao=" + duracao + ", aquecimento=" + aquecimento
+                + ", pausa-item-ms=" + pausaItemMs + ", pausa-venda-ms=" + pausaVendaMs
+                + ", itens=" + itensMin + ".." + itensMax + ", cancelamento=" + cancelamento
+                + ", clientes=" + clientes + ", produtos=" + produtos;
+    }
+}
@@ -0,0 +1,123 @@
+package dev.imrob.appvendas.carga;
+
+import feign.FeignException;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Registra a latência, em microssegundos, de cada operação feita pelos caixas simulados.
+ *
+ * <p>As latências ficam em histogramas HdrHistogram, que guardam a distribuição completa com 3 dígitos
+ * significativos e sem bloqueio entre os caixas, então p99 e p99,9 são exatos mesmo com milhões de
+ * amostras. As respostas 4xx do servidor, como a recusa por limite de crédito, contam como recusas e
+ * entram na latência; as respostas 5xx e as falhas de conexão contam como falhas.</p>
+ *
+ * @author Rob
+ */
+public class RegistroLatencias {
+    private static final double MICROS_POR_MILI = 1000.0;
+
+    /**
+     * Operações medidas pelo simulador.
+     */
+    public enum Operacao {
+        BUSCAR_CLIENTE, LER_PRODUTO, CRIAR_PEDIDO, CANCELAR_PEDIDO
+    }
+
+    private final Map<Operacao, Recorder> gravadores = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> recusas = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> falhas = new EnumMap<>(Operacao.class);
+
+    public RegistroLatencias() {
+        for (Operacao operacao : Operacao.values()) {
+            gravadores.put(operacao, new Recorder(3));
+            recusas.put(operacao, new LongAdder());
+            falhas.put(operacao, new LongAdder());
+        }
+    }
+
+    /**
+     * Executa uma operação registrando a sua latência.
+     *
+     * @param operacao A operação executada.
+     * @param chamada  A chamada ao servidor.
+     * @param <T>      O tipo do resultado da chamada.
+     * @return O resultado da chamada.
+     * @throws FeignException Se o servidor recusar a operação ou falhar.
+     */
+    public <T> T medir(Operacao operacao, Supplier<T> chamada) {
+        long inicio = System.nanoTime();
+        try {
+            T resultado = chamada.get();
+            registrar(operacao, inicio);
+            return resultado;
+        } catch (FeignException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                registrar(operacao, inicio);
+                recusas.get(operacao).increment();
+            } else {
+                falhas.get(operacao).increment();
+            }
+            throw e;
+        }
+    }
+
+    private void registrar(Operacao operacao, long inicioNanos) {
+        gravadores.get(operacao).recordValue((System.nanoTime() - inicioNanos) / 1000);
+    }
+
+    /**
+     * Descarta tudo o que foi registrado até agora, como as operações do aquecimento.
+     */
+    public void zerar() {
+        for (Operacao operacao : Operacao.values()) {
+            gravadores.get(operacao).getIntervalHistogram();
+            recusas.get(operacao).reset();
+            falhas.get(operacao).reset();
+        }
+    }
+
+    /**
+     * Imprime a vazão e os percentis de cada operação registrada desde a última chamada a {@link #zerar()}.
+     *
+     * <p>Com uma pasta informada, grava também a distribuição completa de cada operação no formato
+     * {@code .hgrm} do HdrHistogram, em milissegundos, que pode ser comparada entre execuções no
+     * HistogramLogAnalyzer ou no plotter do HdrHistogram.</p>
+     *
+     * @param duracao   A duração da medição, usada no cálculo da vazão.
+     * @param saida     Onde imprimir o relatório.
+     * @param pastaHgrm A pasta dos arquivos {@code .hgrm}, ou {@code null} para não gravá-los.
+     * @throws FileNotFoundException Se não for possível criar um arquivo {@code .hgrm}.
+     */
+    public void relatorio(Duration duracao, PrintStream saida, String pastaHgrm) throws FileNotFoundException {
+        double segundos = duracao.toMillis() / 1000.0;
+        saida.printf("%-16s %10s %9s %9s %9s %9s %9s %9s %8s %7s%n", "operacao", "total", "op/s",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "media ms", "recusas", "falhas");
+        for (Operacao operacao : Operacao.values()) {
+            Histogram histograma = gravadores.get(operacao).getIntervalHistogram();
+            long total = histograma.getTotalCount();
+            saida.printf("%-16s %10d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %7d%n", operacao, total,
+                    total / segundos,
+                    histograma.getValueAtPercentile(50) / MICROS_POR_MILI,
+                    histograma.getValueAtPercentile(99) / MICROS_POR_MILI,
+                    histograma.getValueAtPercentile(99.9) / MICROS_POR_MILI,
+                    histograma.getMaxValue() / MICROS_POR_MILI,
+                    histograma.getMean() / MICROS_POR_MILI,
+                    recusas.get(operacao).sum(), falhas.get(operacao).sum());
+            if (pastaHgrm != null && total > 0) {
+                Path arquivo = Path.of(pastaHgrm, operacao.name().toLowerCase() + ".hgrm");
+                try (PrintStream hgrm = new PrintStream(arquivo.toFile())) {
+                    histograma.outputPercentileDistribution(hgrm, MICROS_POR_MILI);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev.imrob.appvendas.carga;
+
+import dev.imrob.appvendas.carga.RegistroLatencias.Operacao;
+import dev.imrob.appvendas.entity.Produto;
+import dev.imrob.appvendas.entity.dto.CriarItemPedidoDTO;
+import dev.imrob.appvendas.entity.dto.CriarPedidoDTO;
+import dev.imrob.appvendas.request.ClienteRequest;
+import dev.imrob.appvendas.request.PedidoRequest;
+import dev.imrob.appvendas.request.ProdutoRequest;
+import feign.FeignException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Um caixa simulado, que repete o fluxo de venda do PDV até o fim da simulação.
+ *
+ * <p>Cada venda busca o cliente, lê os produtos um a um com uma pausa entre as leituras, cria o pedido
+ * e, em uma fração das vendas, o cancela logo em seguida. Ler o mesmo produto duas vezes aumenta a sua
+ * quantidade, como no PDV. Uma venda recusada ou com falha é abandonada e o caixa segue para a próxima.</p>
+ *
+ * @author Rob
+ */
+public class SessaoCaixa implements Runnable {
+    private final ConfiguracaoSimulacao configuracao;
+    private final RegistroLatencias registro;
+    private final ClienteRequest clienteRequest;
+    private final ProdutoRequest produtoRequest;
+    private final PedidoRequest pedidoRequest;
+    private final List<Long> clienteIds;
+    private final List<Long> produtoIds;
+    private final AtomicBoolean ativo;
+
+    public SessaoCaixa(ConfiguracaoSimulacao configuracao, RegistroLatencias registro, ClienteRequest clienteRequest,
+                       ProdutoRequest produtoRequest, PedidoRequest pedidoRequest, List<Long> clienteIds,
+                       List<Long> produtoIds, AtomicBoolean ativo) {
+        this.configuracao = configuracao;
+        this.registro = registro;
+        this.clienteRequest = clienteRequest;
+        this.produtoRequest = produtoRequest;
+        this.pedidoRequest = pedidoRequest;
+        this.clienteIds = clienteIds;
+        this.produtoIds = produtoIds;
+        this.ativo = ativo;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Desencontra os caixas para que não comecem todos no mesmo instante
+            pausar(configuracao.getPausaVendaMs());
+            while (ativo.get()) {
+                try {
+                    registrarVenda();
+                } catch (FeignException e) {
+                    // Já contabilizada pelo registro de latências
+                }
+                pausar(configuracao.getPausaVendaMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registrarVenda() throws InterruptedException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Long clienteId = clienteIds.get(aleatorio.nextInt(clienteIds.size()));
+        registro.medir(Operacao.BUSCAR_CLIENTE, () -> clienteRequest.findById(clienteId));
+
+        int quantidadeItens = aleatorio.nextInt(configuracao.getItensMin(), configuracao.getItensMax() + 1);
+        Map<Long, Integer> quantidades = new HashMap<>();
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (int i = 0; i < quantidadeItens && ativo.get(); i++) {
+            pausar(configuracao.getPausaItemMs());
+            Long produtoId = produtoIds.get(aleatorio.nextInt(produtoIds.size()));
+            Produto produto = registro.medir(Operacao.LER_PRODUTO, () -> produtoRequest.findById(produtoId));
+            quantidades.merge(produtoId, 1, Integer::sum);
+            valorTotal = valorTotal.add(produto.getPreco());
+        }
+        if (quantidades.isEmpty()) {
+            return;
+        }
+
+        Set<CriarItemPedidoDTO> itens = new HashSet<>();
+        quantidades.forEach((produtoId, quantidade) -> itens.add(new CriarItemPedidoDTO(produtoId, quantidade)));
+        CriarPedidoDTO pedido = new CriarPedidoDTO(clienteId, valorTotal);
+        pedido.setItens(itens);
+        Long pedidoId = registro.medir(Operacao.CRIAR_PEDIDO, () -> pedidoRequest.criarPedido(pedido));
+
+        if (aleatorio.nextDouble() < configuracao.getCancelamento()) {
+            registro.medir(Operacao.CANCELAR_PEDIDO, () -> pedidoRequest.cancelarPedido(pedidoId));
+        }
+    }
+
+    /**
+     * Aguarda um tempo com distribuição exponencial em torno da média, como o intervalo entre chegadas.
+     */
+    private static void pausar(long mediaMs) throws InterruptedException {
+        if (mediaMs > 0) {
+            double sorteio = ThreadLocalRandom.current().nextDouble();
+            Thread.sleep(Math.round(-mediaMs * Math.log(1 - sorteio)));
+        }
+    }
+}
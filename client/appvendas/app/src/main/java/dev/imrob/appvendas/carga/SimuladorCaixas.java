@@ -0,0 +1,111 @@
+package dev.imrob.appvendas.carga;
+
+import dev.imrob.appvendas.config.FeignConfig;
+import dev.imrob.appvendas.entity.Cliente;
+import dev.imrob.appvendas.entity.Produto;
+import dev.imrob.appvendas.request.ClienteRequest;
+import dev.imrob.appvendas.request.PedidoRequest;
+import dev.imrob.appvendas.request.ProdutoRequest;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Simulador de carga sem interface gráfica: vários caixas vendendo ao mesmo tempo contra um servidor,
+ * pelas mesmas interfaces Feign usadas pela aplicação.
+ *
+ * <p>Responde quantos caixas um servidor suporta: aumentando {@code appvendas.carga.caixas} entre
+ * execuções, a vazão de pedidos cresce até o servidor saturar, quando passam a crescer as latências.
+ * Cada caixa é uma thread que só inicia a próxima venda depois de concluir a anterior, como um operador
+ * real. Os parâmetros estão descritos em {@link ConfiguracaoSimulacao}.</p>
+ *
+ * <p>Para simular contra um servidor local sobre H2, inicie-o com {@code ./gradlew bootRunH2} na pasta
+ * do servidor e execute {@code ./gradlew simularCaixas -Dappvendas.carga.caixas=100} na pasta da
+ * aplicação. Os clientes usados são criados pelo próprio simulador, com limite de compra alto, e
+ * reaproveitados nas execuções seguintes.</p>
+ *
+ * @author Rob
+ */
+public class SimuladorCaixas {
+    private static final String NOME_CLIENTE = "Cliente Simulado";
+    private static final BigDecimal LIMITE_CLIENTE = new BigDecimal("9999999999.99");
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.lerPropriedades();
+        // O HttpURLConnection mantém apenas 5 conexões abertas por servidor; sem isso, os demais caixas
+        // abririam uma nova conexão a cada requisição
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(configuracao.getCaixas()));
+        }
+        System.out.println("Simulação: " + configuracao);
+
+        ClienteRequest clienteRequest = FeignConfig.iniciar(ClienteRequest.class);
+        ProdutoRequest produtoRequest = FeignConfig.iniciar(ProdutoRequest.class);
+        PedidoRequest pedidoRequest = FeignConfig.iniciar(PedidoRequest.class);
+        List<Long> clienteIds = prepararClientes(clienteRequest, configuracao.getClientes());
+        List<Long> produtoIds = prepararProdutos(produtoRequest, configuracao.getProdutos());
+
+        RegistroLatencias registro = new RegistroLatencias();
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        List<Thread> caixas = new ArrayList<>();
+        for (int i = 0; i < configuracao.getCaixas(); i++) {
+            Thread caixa = new Thread(new SessaoCaixa(configuracao, registro, clienteRequest, produtoRequest,
+                    pedidoRequest, clienteIds, produtoIds, ativo), "caixa-" + (i + 1));
+            caixa.setDaemon(true);
+            caixa.start();
+            caixas.add(caixa);
+        }
+
+        Thread.sleep(configuracao.getAquecimento().toMillis());
+        registro.zerar();
+        long inicio = System.nanoTime();
+        Thread.sleep(configuracao.getDuracao().toMillis());
+        Duration medicao = Duration.ofNanos(System.nanoTime() - inicio);
+        ativo.set(false);
+
+        if (configuracao.getPastaHgrm() != null) {
+            Files.createDirectories(Path.of(configuracao.getPastaHgrm()));
+        }
+        System.out.printf("%nCaixas: %d, medição: %d s%n", configuracao.getCaixas(), medicao.toSeconds());
+        registro.relatorio(medicao, System.out, configuracao.getPastaHgrm());
+
+        for (Thread caixa : caixas) {
+            caixa.join(Duration.ofSeconds(30).toMillis());
+        }
+    }
+
+    /**
+     * Retorna os clientes criados pelo simulador, criando os que faltarem para a quantidade pedida.
+     */
+    private static List<Long> prepararClientes(ClienteRequest request, int quantidade) {
+        List<Long> ids = new ArrayList<>(request.findAll().stream()
+                .filter(cliente -> NOME_CLIENTE.equals(cliente.getNome()))
+                .map(Cliente::getId)
+                .limit(quantidade)
+                .toList());
+        while (ids.size() < quantidade) {
+            ids.add(request.save(new Cliente(null, NOME_CLIENTE, LIMITE_CLIENTE, 1 + ids.size() % 28)));
+        }
+        return ids;
+    }
+
+    /**
+     * Retorna os produtos cadastrados, criando os que faltarem para a quantidade pedida.
+     */
+    private static List<Long> prepararProdutos(ProdutoRequest request, int quantidade) {
+        List<Long> ids = new ArrayList<>(request.findAll().stream()
+                .map(Produto::getId)
+                .limit(quantidade)
+                .toList());
+        while (ids.size() < quantidade) {
+            BigDecimal preco = BigDecimal.valueOf(100 + ids.size() % 50 * 37L, 2);
+            ids.add(request.save(new Produto(null, "Produto Simulado " + (ids.size() + 1), preco)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package dev.imrob.appvendas.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import feign.Response;
+import feign.codec.Decoder;
+import feign.jackson.JacksonDecoder;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decodificador Feign que lê respostas em Smile ou em JSON, conforme o cabeçalho
+ * {@code Content-Type} da resposta.
+ *
+ * <p>Usado quando a aplicação solicita o formato binário Smile: o servidor ainda
+ * pode responder em JSON, como nas mensagens de erro.</p>
+ *
+ * @author Rob
+ */
+public class DecodificadorNegociado implements Decoder {
+    public static final String TIPO_SMILE = "application/x-jackson-smile";
+
+    private final Decoder smile;
+    private final Decoder json;
+
+    public DecodificadorNegociado() {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule());
+        this.smile = new JacksonDecoder(smileMapper);
+        this.json = new JacksonDecoder(List.of(new JavaTimeModule()));
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        Collection<String> tipos = response.headers().getOrDefault("Content-Type", List.of());
+        boolean isSmile = tipos.stream().anyMatch(tipo -> tipo.startsWith(TIPO_SMILE));
+        return (isSmile ? smile : json).decode(response, type);
+    }
+}
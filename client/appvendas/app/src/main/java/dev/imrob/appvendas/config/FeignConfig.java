@@ -20,7 +20,18 @@ import java.util.List;
  * @author Rob
  */
 public class FeignConfig {
-    private static final String URL_API_APPVENDAS = "http://localhost:8080/api/v1";
+    /**
+     * Endereço da API, alterável com {@code -Dappvendas.url}.
+     */
+    private static final String URL_API_APPVENDAS = System.getProperty("appvendas.url", "http://localhost:8080/api/v1");
+
+    /**
+     * Ativa o formato binário Smile nas respostas, com {@code -Dappvendas.smile=true}.
+     * As mensagens de erro continuam em JSON.
+     */
+    private static final boolean FORMATO_SMILE = Boolean.getBoolean("appvendas.smile");
+    private static final String ACEITA_SMILE = DecodificadorNegociado.TIPO_SMILE
+            + ", application/json;q=0.5, application/problem+json;q=0.5";
     
     /**
      * Inicializa um cliente Feign para uma interface de API.
@@ -29,15 +40,24 @@ public class FeignConfig {
      * incluindo suporte para tipos Java 8 Time (JavaTimeModule). O cliente é configurado
      * para se comunicar com a URL base da API definida em URL_API_APPVENDAS.</p>
      *
+     * <p>As respostas grandes são recebidas compactadas com gzip. Com a propriedade
+     * {@code appvendas.smile} ativa, as respostas são solicitadas em Smile.</p>
+     *
      * @param clazz A interface da API para a qual o cliente Feign deve ser criado.
      * @param <TYPE> O tipo da interface da API.
      * @return Um cliente Feign configurado para a interface da API especificada.
      */
     public static <TYPE> TYPE iniciar(Class<TYPE> clazz) {
-        return Feign.builder()
-                .decoder(new JacksonDecoder(List.of(new JavaTimeModule())))
+        Feign.Builder builder = Feign.builder()
                 .encoder(new JacksonEncoder(List.of(new JavaTimeModule())))
-                .target(clazz, URL_API_APPVENDAS);
+                .requestInterceptor(template -> template.header("Accept-Encoding", "gzip"));
+        if (FORMATO_SMILE) {
+            builder.decoder(new DecodificadorNegociado())
+                    .requestInterceptor(template -> template.header("Accept", ACEITA_SMILE));
+        } else {
+            builder.decoder(new JacksonDecoder(List.of(new JavaTimeModule())));
+        }
+        return builder.target(clazz, URL_API_APPVENDAS);
     }
     
     /**
@@ -0,0 +1,40 @@
+package dev.imrob.vendas.server;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória, para que os benchmarks rodem sem PostgreSQL.
+ */
+public final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * Inicia o contexto da aplicação com um banco H2 próprio.
+     *
+     * @param banco O nome do banco H2 em memória.
+     * @return O contexto iniciado, a ser fechado ao fim do benchmark.
+     */
+    public static ConfigurableApplicationContext iniciar(String banco) {
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                // O perfil de teste desativa a carga inicial de data.sql, específica do PostgreSQL
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.sql.init.mode=never",
+                        "spring.flyway.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.jdbc.core=WARN")
+                .run();
+    }
+}
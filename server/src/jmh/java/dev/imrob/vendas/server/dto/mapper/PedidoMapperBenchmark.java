@@ -0,0 +1,76 @@
+package dev.imrob.vendas.server.dto.mapper;
+
+import dev.imrob.vendas.server.ContextoBenchmark;
+import dev.imrob.vendas.server.dto.PedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.ItemPedido;
+import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.entity.StatusPedido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da conversão de listas de pedidos, com cliente e itens, para DTOs pelo {@link PedidoMapper}.
+ *
+ * <p>Usa o mapeador do contexto da aplicação, com o {@link ItemPedidoMapper} injetado. Os pedidos são
+ * montados em memória, sem banco.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PedidoMapperBenchmark {
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    @Param({"100", "10000"})
+    private int quantidadePedidos;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoMapper mapper;
+    private List<Pedido> pedidos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("benchmark_mapper");
+        mapper = contexto.getBean(PedidoMapper.class);
+        pedidos = new ArrayList<>();
+        for (int i = 0; i < quantidadePedidos; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setId((long) i + 1);
+            pedido.setCliente(new Cliente((long) i % 200 + 1, "Cliente " + i % 200, BigDecimal.valueOf(5_000), 10));
+            pedido.setData(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            pedido.setStatus(StatusPedido.ATIVO);
+            for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                long produtoId = (i + j * 7L) % 500 + 1;
+                Produto produto = new Produto(produtoId, "Produto " + produtoId, BigDecimal.valueOf(produtoId, 1));
+                pedido.getItens().add(new ItemPedido(null, pedido, produto, j + 1));
+            }
+            pedidos.add(pedido);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<PedidoDTO> toDto() {
+        return mapper.toDto(pedidos);
+    }
+}
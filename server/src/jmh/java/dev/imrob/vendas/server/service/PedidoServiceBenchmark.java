@@ -0,0 +1,105 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.ContextoBenchmark;
+import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.ProdutoDTO;
+import dev.imrob.vendas.server.entity.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da criação de pedidos e das regras usadas nela: cálculo do valor total, datas de fechamento
+ * da fatura e validação dos campos.
+ *
+ * <p>A criação de pedidos grava em um H2 em memória, sem a latência de rede do PostgreSQL: mede o custo
+ * do próprio servidor (validação, Hibernate, saldo e resumos).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PedidoServiceBenchmark {
+    private static final int ITENS_POR_PEDIDO = 5;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoService pedidoService;
+    private ClienteService clienteService;
+    private Long clienteId;
+    private final Set<CriarItemPedidoDTO> itens = new HashSet<>();
+    private final Map<Long, Produto> produtos = new HashMap<>();
+    private CriarPedidoDTO pedidoCalculado;
+    private ClienteDTO clienteValido;
+    private final LocalDate[] datas = new LocalDate[366];
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("benchmark_pedido");
+        pedidoService = contexto.getBean(PedidoService.class);
+        clienteService = contexto.getBean(ClienteService.class);
+        ProdutoService produtoService = contexto.getBean(ProdutoService.class);
+
+        clienteValido = new ClienteDTO(null, "Cliente Benchmark", new BigDecimal("9999999999.99"), 10);
+        clienteId = clienteService.save(clienteValido);
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            BigDecimal preco = BigDecimal.valueOf(199 + i * 100L, 2);
+            Long produtoId = produtoService.save(new ProdutoDTO(null, "Produto " + i, preco));
+            produtos.put(produtoId, new Produto(produtoId, "Produto " + i, preco));
+            itens.add(new CriarItemPedidoDTO(produtoId, i + 1));
+        }
+        pedidoCalculado = new CriarPedidoDTO(LocalDate.now(), clienteId, itens, BigDecimal.ZERO);
+        for (int i = 0; i < datas.length; i++) {
+            datas[i] = LocalDate.of(2024, 1, 1).plusDays(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Long criarPedido() {
+        return pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), clienteId, itens, BigDecimal.ZERO));
+    }
+
+    @Benchmark
+    public BigDecimal valorTotal() {
+        return PedidoService.valorTotal(pedidoCalculado, produtos);
+    }
+
+    /**
+     * Calcula o último e o próximo fechamento para todos os dias de um ano.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void fechamentosDaFatura(Blackhole blackhole) {
+        for (LocalDate data : datas) {
+            blackhole.consume(CicloFatura.ultimoFechamento(31, data));
+            blackhole.consume(CicloFatura.proximoFechamento(31, data));
+        }
+    }
+
+    @Benchmark
+    public ClienteDTO validarCampos() {
+        clienteService.validarCampos(clienteValido);
+        return clienteValido;
+    }
+}
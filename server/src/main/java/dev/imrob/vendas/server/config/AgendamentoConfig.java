@@ -0,0 +1,12 @@
+package dev.imrob.vendas.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas da aplicação, como a verificação diária dos saldos dos clientes.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
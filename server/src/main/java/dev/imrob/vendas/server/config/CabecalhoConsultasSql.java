@@ -0,0 +1,39 @@
+package dev.imrob.vendas.server.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Devolve nos cabeçalhos da resposta a quantidade de instruções SQL e o tempo de banco da requisição.
+ *
+ * <p>Os cabeçalhos são gravados imediatamente antes do corpo, quando o serviço já concluiu as suas
+ * consultas; depois disso a resposta já foi enviada e não aceita novos cabeçalhos. Respostas gravadas
+ * diretamente no fluxo de saída, como a exportação de pedidos, não recebem os cabeçalhos e são medidas
+ * apenas no log do {@link FiltroConsultasSql}.</p>
+ */
+@RestControllerAdvice
+public class CabecalhoConsultasSql implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+        if (consultas != null) {
+            response.getHeaders().set(FiltroConsultasSql.CABECALHO_TOTAL, String.valueOf(consultas.getTotal()));
+            response.getHeaders().set(FiltroConsultasSql.CABECALHO_TEMPO,
+                    FiltroConsultasSql.milissegundos(consultas.getTempoNanos()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.imrob.vendas.server.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Instruções SQL executadas durante uma requisição HTTP ou uma operação medida, na thread atual.
+ *
+ * <p>Preenchida pelo {@link MonitorConsultasConfig}, que intercepta as execuções no {@link javax.sql.DataSource}
+ * apenas enquanto há uma medição ativa na thread. Cada chamada a {@code execute*} conta como uma ida ao
+ * banco: um lote JDBC conta uma vez e uma instrução preparada executada várias vezes conta várias. O SQL
+ * de cada execução é guardado como recebido e só é normalizado ao listar as repetições, fora do caminho
+ * das consultas.</p>
+ *
+ * <p>Trabalho feito em outras threads, como em tarefas assíncronas, não é contabilizado.</p>
+ */
+public final class ConsultasRequisicao {
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_IN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> execucoesPorSql = new HashMap<>();
+    private int total;
+    private long tempoNanos;
+
+    private ConsultasRequisicao() {
+    }
+
+    /**
+     * Inicia uma medição na thread atual.
+     *
+     * @return A medição anterior da thread, a ser restaurada por {@link #encerrar(ConsultasRequisicao)}.
+     */
+    static ConsultasRequisicao iniciar() {
+        ConsultasRequisicao anterior = ATUAL.get();
+        ATUAL.set(new ConsultasRequisicao());
+        return anterior;
+    }
+
+    /**
+     * Encerra a medição da thread atual e restaura a anterior.
+     *
+     * @param anterior A medição retornada por {@link #iniciar()}.
+     * @return A medição encerrada.
+     */
+    static ConsultasRequisicao encerrar(ConsultasRequisicao anterior) {
+        ConsultasRequisicao encerrada = ATUAL.get();
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+        return encerrada;
+    }
+
+    /**
+     * Retorna a medição ativa na thread atual.
+     *
+     * @return A medição, ou {@code null} se não houver.
+     */
+    public static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Executa uma operação medindo as instruções SQL que ela executa na thread atual.
+     *
+     * <p>Usado nos testes para falhar quando uma alteração aumenta a quantidade de consultas de uma
+     * operação, por exemplo:
+     * {@code assertThat(ConsultasRequisicao.medir(() -> service.findAll()).getTotal()).isEqualTo(3)}.</p>
+     *
+     * @param operacao A operação a ser medida.
+     * @return As instruções executadas pela operação.
+     */
+    public static ConsultasRequisicao medir(Runnable operacao) {
+        ConsultasRequisicao anterior = iniciar();
+        ConsultasRequisicao medicao = atual();
+        try {
+            operacao.run();
+        } finally {
+            encerrar(anterior);
+        }
+        return medicao;
+    }
+
+    void registrar(String sql, long nanos) {
+        total++;
+        tempoNanos += nanos;
+        execucoesPorSql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public long getTempoNanos() {
+        return tempoNanos;
+    }
+
+    /**
+     * Retorna a quantidade de execuções de instruções que contêm um trecho de SQL.
+     *
+     * @param trecho Um trecho do SQL, sem diferenciar maiúsculas e minúsculas.
+     * @return A quantidade de execuções cujo SQL contém o trecho.
+     */
+    public int totalContendo(String trecho) {
+        String procurado = trecho.toLowerCase();
+        return execucoesPorSql.entrySet().stream()
+                .filter(entrada -> entrada.getKey().toLowerCase().contains(procurado))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * Agrupa as execuções pela forma do SQL e retorna as que se repetiram, da mais para a menos executada.
+     *
+     * <p>Uma mesma forma executada muitas vezes em uma requisição costuma indicar uma consulta por linha
+     * (N+1) que deveria ser feita em lote.</p>
+     *
+     * @return As formas executadas mais de uma vez e a quantidade de execuções de cada uma.
+     */
+    public Map<String, Integer> repetidas() {
+        Map<String, Integer> porForma = new HashMap<>();
+        execucoesPorSql.forEach((sql, quantidade) -> porForma.merge(forma(sql), quantidade, Integer::sum));
+        Map<String, Integer> repetidas = new LinkedHashMap<>();
+        porForma.entrySet().stream()
+                .filter(entrada -> entrada.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entrada -> repetidas.put(entrada.getKey(), entrada.getValue()));
+        return repetidas;
+    }
+
+    /**
+     * Normaliza um SQL para comparar instruções que diferem apenas nos valores: textos e números viram
+     * {@code ?}, listas {@code IN} de qualquer tamanho viram {@code in (...)} e os espaços são compactados.
+     *
+     * @param sql O SQL executado.
+     * @return A forma do SQL.
+     */
+    static String forma(String sql) {
+        String forma = TEXTO.matcher(sql).replaceAll("?");
+        forma = NUMERO.matcher(forma).replaceAll("?");
+        forma = LISTA_IN.matcher(forma).replaceAll("in (...)");
+        return ESPACOS.matcher(forma).replaceAll(" ").trim();
+    }
+}
@@ -1,8 +1,11 @@
 package dev.imrob.vendas.server.config;
 
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import dev.imrob.vendas.server.service.SaldoClienteService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.EncodedResource;
@@ -10,17 +13,24 @@ import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 
 @Slf4j
 @Configuration
+@Profile("!test")
 public class DatabaseLoader implements CommandLineRunner {
     private final DataSource dataSource;
     private final JdbcClient jdbcClient;
+    private final SaldoClienteService saldoService;
+    private final ResumoVendasService resumoService;
 
-    public DatabaseLoader(DataSource dataSource, JdbcClient jdbcClient) {
+    public DatabaseLoader(DataSource dataSource, JdbcClient jdbcClient, SaldoClienteService saldoService,
+                          ResumoVendasService resumoService) {
         this.dataSource = dataSource;
         this.jdbcClient = jdbcClient;
+        this.saldoService = saldoService;
+        this.resumoService = resumoService;
     }
 
     @Override
@@ -33,6 +43,8 @@ public class DatabaseLoader implements CommandLineRunner {
         if (count == 0) {
             log.info("Banco de dados vazio. Populando o banco de dados...");
             executarScriptSql();
+            saldoService.verificar(true);
+            resumoService.reconstruir();
             log.info("Banco de dados populado com sucesso.");
         } else {
             log.info("Banco de dados possui registros. Não será necessário popular o banco de dados.");
@@ -41,9 +53,8 @@ public class DatabaseLoader implements CommandLineRunner {
 
     private void executarScriptSql() {
         Resource resource = new ClassPathResource("data.sql");
-        try {
-            EncodedResource encodedResource = new EncodedResource(resource, "UTF-8");
-            ScriptUtils.executeSqlScript(dataSource.getConnection(), resource);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(resource, "UTF-8"));
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,66 @@
+package dev.imrob.vendas.server.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mede as instruções SQL de cada requisição HTTP.
+ *
+ * <p>Registra em DEBUG a quantidade de instruções e o tempo de banco de toda requisição e, em WARN, as que
+ * ultrapassam {@code vendas.consultas.limite-requisicao} instruções, junto das formas de SQL repetidas,
+ * que costumam apontar uma consulta N+1. Os mesmos valores são devolvidos nos cabeçalhos
+ * {@value #CABECALHO_TOTAL} e {@value #CABECALHO_TEMPO} pelo {@link CabecalhoConsultasSql}.</p>
+ */
+@Slf4j
+@Component
+public class FiltroConsultasSql extends OncePerRequestFilter {
+    public static final String CABECALHO_TOTAL = "X-Consultas-Sql";
+    public static final String CABECALHO_TEMPO = "X-Tempo-Sql";
+
+    private final int limiteRequisicao;
+
+    public FiltroConsultasSql(@Value("${vendas.consultas.limite-requisicao:30}") int limiteRequisicao) {
+        this.limiteRequisicao = limiteRequisicao;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConsultasRequisicao anterior = ConsultasRequisicao.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registrar(request, ConsultasRequisicao.encerrar(anterior));
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ConsultasRequisicao consultas) {
+        if (consultas.getTotal() > limiteRequisicao) {
+            Map<String, Integer> repetidas = consultas.repetidas();
+            log.warn("{} {}: {} instruções SQL em {} ms, acima do limite de {}. Repetidas:\n{}",
+                    request.getMethod(), request.getRequestURI(), consultas.getTotal(),
+                    milissegundos(consultas.getTempoNanos()), limiteRequisicao,
+                    repetidas.entrySet().stream()
+                            .map(entrada -> "  %dx %s".formatted(entrada.getValue(), entrada.getKey()))
+                            .collect(Collectors.joining("\n")));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {}: {} instruções SQL em {} ms.", request.getMethod(), request.getRequestURI(),
+                    consultas.getTotal(), milissegundos(consultas.getTempoNanos()));
+        }
+    }
+
+    static String milissegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.imrob.vendas.server.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registra os formatos binários Smile ({@code application/x-jackson-smile}) e CBOR ({@code application/cbor}),
+ * negociados pelo cabeçalho {@code Accept}. O JSON continua sendo o formato padrão.
+ *
+ * <p>Os conversores usam a mesma configuração do Jackson aplicada ao JSON. As respostas de erro
+ * ({@link ProblemDetail}) são sempre enviadas em JSON, formato esperado pelos clientes ao ler a mensagem
+ * de erro.</p>
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()) {
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return !ProblemDetail.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()) {
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return !ProblemDetail.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+            }
+        };
+    }
+}
@@ -0,0 +1,539 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.service.CatalogoProdutos;
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import dev.imrob.vendas.server.service.SaldoClienteService;
+import dev.imrob.vendas.server.service.VersaoTabelas;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gera clientes, produtos e pedidos sintéticos em volume configurável, para testes de escala.
+ *
+ * <p>Ativado pelo perfil {@code gerador}, com os volumes em {@code vendas.gerador.*}, por exemplo
+ * {@code --spring.profiles.active=gerador --vendas.gerador.clientes=100000 --vendas.gerador.pedidos=5000000}.
+ * Os dados são acrescentados aos existentes.</p>
+ *
+ * <p>A geração é determinística: a mesma semente e os mesmos volumes produzem os mesmos dados, qualquer que
+ * seja a quantidade de threads. A popularidade dos produtos segue uma distribuição de Zipf sobre uma ordem
+ * embaralhada dos produtos, e as datas dos pedidos seguem pesos por mês (dezembro, novembro e maio em alta),
+ * por dia da semana e uma tendência de crescimento ao longo do período.</p>
+ *
+ * <p>As linhas são gravadas por JDBC, em {@code INSERT}s de {@value #LINHAS_POR_INSTRUCAO} linhas agrupados
+ * em lotes, sem passar pelo JPA. Os pedidos são divididos em blocos de {@value #PEDIDOS_POR_BLOCO}, gravados
+ * em paralelo, cada um na sua própria conexão e transação, com IDs calculados a partir do bloco. Ao final,
+ * as sequências são avançadas além dos IDs gerados e os saldos e resumos são reconstruídos. Não deve ser
+ * executado com outras instâncias do servidor criando pedidos.</p>
+ */
+@Slf4j
+@Configuration
+@Profile("gerador")
+public class GeradorDados implements CommandLineRunner {
+    static final int LINHAS_POR_INSTRUCAO = 100;
+    static final int INSTRUCOES_POR_LOTE = 20;
+    static final int PEDIDOS_POR_BLOCO = 10_000;
+
+    private static final double PROPORCAO_EXCLUIDOS = 0.03;
+    private static final double CRESCIMENTO_NO_PERIODO = 0.5;
+    private static final int QUANTIDADE_MAXIMA_ITEM = 12;
+
+    private static final double[] PESO_MES = {0.8, 0.8, 0.95, 0.95, 1.15, 1.0, 1.0, 1.0, 0.95, 1.05, 1.35, 1.7};
+    private static final double[] PESO_DIA_SEMANA = {0.9, 0.95, 0.95, 1.0, 1.2, 1.35, 0.65};
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Lucas", "Mariana", "Mateus", "Natália", "Otávio", "Paula",
+            "Rafael", "Sofia", "Thiago", "Vitória", "Gustavo", "Beatriz", "Pedro", "Camila", "Rodrigo", "Juliana",
+            "André", "Letícia", "Marcelo"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira",
+            "Nunes", "Marques", "Machado", "Mendes", "Freitas"};
+    private static final String[] CATEGORIAS = {"Café", "Arroz", "Feijão", "Açúcar", "Leite", "Biscoito",
+            "Macarrão", "Azeite", "Sabão", "Detergente", "Shampoo", "Camiseta", "Meia", "Caderno", "Caneta",
+            "Chocolate", "Suco", "Refrigerante", "Farinha", "Molho de Tomate"};
+    private static final String[] MARCAS = {"Bom Dia", "Estrela", "Campo Verde", "Sabor Real", "Vale Sul",
+            "Nobre", "Primavera", "Aurora", "Serra Azul", "Ouro Fino", "Boa Safra", "Tradição"};
+    private static final String[] VARIANTES = {"100g", "200g", "500g", "1kg", "2kg", "5kg", "350ml", "1L", "2L",
+            "Tradicional", "Integral", "Light", "Premium", "Econômico", "P", "M", "G", "GG"};
+
+    private final DataSource dataSource;
+    private final JdbcClient jdbcClient;
+    private final SaldoClienteService saldoService;
+    private final ResumoVendasService resumoService;
+    private final CatalogoProdutos catalogo;
+    private final VersaoTabelas versoes;
+
+    @Value("${vendas.gerador.clientes:10000}")
+    private int clientes;
+    @Value("${vendas.gerador.produtos:2000}")
+    private int produtos;
+    @Value("${vendas.gerador.pedidos:200000}")
+    private int pedidos;
+    @Value("${vendas.gerador.itens-media:4}")
+    private double itensMedia;
+    @Value("${vendas.gerador.itens-max:10}")
+    private int itensMax;
+    @Value("${vendas.gerador.semente:42}")
+    private long semente;
+    @Value("${vendas.gerador.expoente-zipf:1.0}")
+    private double expoenteZipf;
+    @Value("${vendas.gerador.dias:730}")
+    private int dias;
+    @Value("${vendas.gerador.data-final:}")
+    private String dataFinal;
+    @Value("${vendas.gerador.threads:0}")
+    private int threads;
+
+    public GeradorDados(DataSource dataSource, JdbcClient jdbcClient, SaldoClienteService saldoService,
+                        ResumoVendasService resumoService, CatalogoProdutos catalogo, VersaoTabelas versoes) {
+        this.dataSource = dataSource;
+        this.jdbcClient = jdbcClient;
+        this.saldoService = saldoService;
+        this.resumoService = resumoService;
+        this.catalogo = catalogo;
+        this.versoes = versoes;
+    }
+
+    /**
+     * Volumes e parâmetros de uma geração. Os pedidos exigem ao menos um cliente e um produto gerados.
+     *
+     * @param itensMedia   A quantidade média de itens por pedido.
+     * @param itensMax     A quantidade máxima de itens por pedido.
+     * @param expoenteZipf O expoente da popularidade dos produtos; zero torna a escolha uniforme.
+     * @param dias         A quantidade de dias do período dos pedidos, terminado em {@code dataFinal}.
+     */
+    public record Volumes(int clientes, int produtos, int pedidos, double itensMedia, int itensMax, long semente,
+                          double expoenteZipf, int dias, LocalDate dataFinal) {
+    }
+
+    /**
+     * Quantidades geradas. Os pedidos gerados têm IDs a partir de {@code primeiroPedidoId}.
+     *
+     * @param carga A duração da gravação das linhas, sem a reconstrução dos saldos e resumos.
+     */
+    public record Resultado(int clientes, int produtos, int pedidos, long itens, long primeiroPedidoId,
+                            Duration carga) {
+        public long linhas() {
+            return clientes + produtos + pedidos + itens;
+        }
+    }
+
+    @Override
+    public void run(String... args) {
+        if (clientes == 0 && produtos == 0 && pedidos == 0) {
+            log.info("Nenhum volume configurado em vendas.gerador.*; nada a gerar.");
+            return;
+        }
+        LocalDate fim = dataFinal.isBlank() ? LocalDate.now() : LocalDate.parse(dataFinal);
+        gerar(new Volumes(clientes, produtos, pedidos, itensMedia, itensMax, semente, expoenteZipf, dias, fim));
+    }
+
+    /**
+     * Gera e grava os dados, reconstruindo em seguida os saldos e resumos.
+     *
+     * @param volumes Os volumes e parâmetros da geração.
+     * @return As quantidades geradas e a duração da carga.
+     */
+    public Resultado gerar(Volumes volumes) {
+        if (volumes.pedidos() > 0 && (volumes.clientes() == 0 || volumes.produtos() == 0)) {
+            throw new IllegalArgumentException("A geração de pedidos exige clientes e produtos gerados.");
+        }
+        log.info("Gerando {}.", volumes);
+        long inicio = System.nanoTime();
+        SplittableRandom raiz = new SplittableRandom(volumes.semente());
+        SplittableRandom aleatorioCadastros = raiz.split();
+        SplittableRandom aleatorioPedidos = raiz.split();
+
+        long[] clienteIds = gerarClientes(volumes.clientes(), aleatorioCadastros);
+        BigDecimal[] precos = new BigDecimal[volumes.produtos()];
+        long[] produtoIds = gerarProdutos(precos, aleatorioCadastros);
+        Populares populares = new Populares(produtoIds, precos, volumes.expoenteZipf(), aleatorioCadastros);
+        Calendario calendario = new Calendario(volumes.dataFinal(), volumes.dias());
+
+        long primeiroPedidoId = proximoId("tb_pedido");
+        long primeiroItemId = proximoId("tb_item_pedido");
+        int limiteItens = Math.min(volumes.itensMax(), volumes.produtos());
+        int blocos = (volumes.pedidos() + PEDIDOS_POR_BLOCO - 1) / PEDIDOS_POR_BLOCO;
+        long[] sementes = aleatorioPedidos.longs(blocos).toArray();
+
+        List<Callable<Long>> tarefas = new ArrayList<>();
+        for (int b = 0; b < blocos; b++) {
+            int primeiro = b * PEDIDOS_POR_BLOCO;
+            int ultimo = Math.min(primeiro + PEDIDOS_POR_BLOCO, volumes.pedidos());
+            SplittableRandom aleatorio = new SplittableRandom(sementes[b]);
+            tarefas.add(() -> gravarBloco(primeiro, ultimo, primeiroPedidoId, primeiroItemId, limiteItens,
+                    volumes.itensMedia(), clienteIds, populares, calendario, aleatorio));
+        }
+        long itens = executar(tarefas);
+        if (blocos > 0) {
+            avancarSequencia("seq_pedido", primeiroPedidoId + volumes.pedidos());
+            avancarSequencia("seq_item_pedido", primeiroItemId + (long) volumes.pedidos() * limiteItens);
+        }
+        Duration carga = Duration.ofNanos(System.nanoTime() - inicio);
+        Resultado resultado = new Resultado(volumes.clientes(), volumes.produtos(), volumes.pedidos(), itens,
+                primeiroPedidoId, carga);
+        log.info("Gravadas {} linhas em {} ms ({} linhas/s).", resultado.linhas(), carga.toMillis(),
+                Math.round(resultado.linhas() / (carga.toNanos() / 1e9)));
+
+        long reconstrucao = System.nanoTime();
+        saldoService.reconstruirTodos();
+        resumoService.reconstruir();
+        catalogo.recarregar();
+        versoes.registrarAlteracao("tb_cliente");
+        versoes.registrarAlteracao("tb_produto");
+        versoes.registrarAlteracao("tb_pedido");
+        log.info("Saldos e resumos reconstruídos em {} ms.",
+                Duration.ofNanos(System.nanoTime() - reconstrucao).toMillis());
+        return resultado;
+    }
+
+    private long[] gerarClientes(int quantidade, SplittableRandom aleatorio) {
+        List<Object[]> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String nome = NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)]
+                    + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+            BigDecimal limite = lognormal(aleatorio, 5_000, 0.8, 500, 500_000);
+            linhas.add(new Object[]{nome, limite, 1 + aleatorio.nextInt(28)});
+        }
+        return gravarCadastro("tb_cliente", "nome, limite_compra, dia_fechamento_fatura", linhas);
+    }
+
+    private long[] gerarProdutos(BigDecimal[] precos, SplittableRandom aleatorio) {
+        List<Object[]> linhas = new ArrayList<>(precos.length);
+        for (int i = 0; i < precos.length; i++) {
+            String descricao = CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)] + " "
+                    + MARCAS[aleatorio.nextInt(MARCAS.length)] + " " + VARIANTES[aleatorio.nextInt(VARIANTES.length)];
+            precos[i] = lognormal(aleatorio, 25, 1.0, 0.5, 20_000);
+            linhas.add(new Object[]{descricao, precos[i]});
+        }
+        return gravarCadastro("tb_produto", "descricao, preco", linhas);
+    }
+
+    /**
+     * Grava linhas de uma tabela com ID por identidade e retorna os IDs gerados, na ordem das linhas.
+     */
+    private long[] gravarCadastro(String tabela, String colunas, List<Object[]> linhas) {
+        if (linhas.isEmpty()) {
+            return new long[0];
+        }
+        long anterior = proximoId(tabela) - 1;
+        emTransacao(connection -> {
+            gravar(connection, tabela, colunas, linhas, GeradorDados::preencher);
+            return null;
+        });
+        long[] ids = jdbcClient.sql("SELECT id FROM " + tabela + " WHERE id > :anterior ORDER BY id")
+                .param("anterior", anterior)
+                .query(Long.class)
+                .list().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        if (ids.length != linhas.size()) {
+            throw new IllegalStateException("Foram encontrados " + ids.length + " registros novos em " + tabela
+                    + ", mas " + linhas.size() + " foram gravados. A tabela foi alterada durante a geração?");
+        }
+        return ids;
+    }
+
+    /**
+     * Gera e grava os pedidos {@code [primeiro, ultimo)} e os seus itens em uma transação.
+     *
+     * @return A quantidade de itens gravados.
+     */
+    private long gravarBloco(int primeiro, int ultimo, long primeiroPedidoId, long primeiroItemId, int limiteItens,
+                             double itensMedia, long[] clienteIds, Populares populares, Calendario calendario,
+                             SplittableRandom aleatorio) {
+        List<Object[]> pedidosBloco = new ArrayList<>(ultimo - primeiro);
+        List<Object[]> itensBloco = new ArrayList<>((int) ((ultimo - primeiro) * itensMedia));
+        int[] escolhidos = new int[limiteItens];
+        for (int i = primeiro; i < ultimo; i++) {
+            long pedidoId = primeiroPedidoId + i;
+            int quantidadeItens = Math.min(limiteItens, geometrica(aleatorio, itensMedia));
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < quantidadeItens; j++) {
+                escolhidos[j] = populares.escolher(aleatorio, escolhidos, j);
+                int quantidade = Math.min(QUANTIDADE_MAXIMA_ITEM, geometrica(aleatorio, 1.6));
+                BigDecimal preco = populares.preco(escolhidos[j]);
+                total = total.add(preco.multiply(BigDecimal.valueOf(quantidade)));
+                itensBloco.add(new Object[]{primeiroItemId + (long) i * limiteItens + j, pedidoId,
+                        populares.id(escolhidos[j]), quantidade, preco});
+            }
+            String status = aleatorio.nextDouble() < PROPORCAO_EXCLUIDOS ? "EXCLUIDO" : "ATIVO";
+            pedidosBloco.add(new Object[]{pedidoId, clienteIds[aleatorio.nextInt(clienteIds.length)],
+                    calendario.sortear(aleatorio), total, status});
+        }
+        emTransacao(connection -> {
+            gravar(connection, "tb_pedido", "id, cliente_id, data, valor_total, status", pedidosBloco, GeradorDados::preencher);
+            gravar(connection, "tb_item_pedido", "id, pedido_id, produto_id, quantidade, preco_unitario", itensBloco,
+                    GeradorDados::preencher);
+            return null;
+        });
+        return itensBloco.size();
+    }
+
+    private static int preencher(PreparedStatement ps, int indice, Object[] linha) throws SQLException {
+        for (Object valor : linha) {
+            ps.setObject(indice++, valor);
+        }
+        return indice;
+    }
+
+    /**
+     * Grava as linhas em {@code INSERT}s de várias linhas, agrupados em lotes JDBC.
+     */
+    private static <T> void gravar(Connection connection, String tabela, String colunas, List<T> linhas,
+                                   Preenchedor<T> preenchedor) throws SQLException {
+        int quantidadeColunas = colunas.split(",").length;
+        int completas = linhas.size() / LINHAS_POR_INSTRUCAO;
+        if (completas > 0) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    insert(tabela, colunas, quantidadeColunas, LINHAS_POR_INSTRUCAO))) {
+                for (int i = 0; i < completas; i++) {
+                    int indice = 1;
+                    for (T linha : linhas.subList(i * LINHAS_POR_INSTRUCAO, (i + 1) * LINHAS_POR_INSTRUCAO)) {
+                        indice = preenchedor.preencher(ps, indice, linha);
+                    }
+                    ps.addBatch();
+                    if ((i + 1) % INSTRUCOES_POR_LOTE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        }
+        int restantes = linhas.size() - completas * LINHAS_POR_INSTRUCAO;
+        if (restantes > 0) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    insert(tabela, colunas, quantidadeColunas, restantes))) {
+                int indice = 1;
+                for (T linha : linhas.subList(completas * LINHAS_POR_INSTRUCAO, linhas.size())) {
+                    indice = preenchedor.preencher(ps, indice, linha);
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    static String insert(String tabela, String colunas, int quantidadeColunas, int quantidadeLinhas) {
+        String linha = "(" + String.join(", ", Collections.nCopies(quantidadeColunas, "?")) + ")";
+        return "INSERT INTO " + tabela + " (" + colunas + ") VALUES "
+                + String.join(", ", Collections.nCopies(quantidadeLinhas, linha));
+    }
+
+    private long executar(List<Callable<Long>> tarefas) {
+        if (tarefas.isEmpty()) {
+            return 0;
+        }
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(quantidadeThreads, tarefas.size()));
+        try {
+            long total = 0;
+            for (Future<Long> resultado : executor.invokeAll(tarefas)) {
+                total += resultado.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gravar os pedidos gerados.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de dados interrompida.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T emTransacao(TarefaConexao<T> tarefa) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T resultado = tarefa.executar(connection);
+                connection.commit();
+                return resultado;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao gravar os dados gerados.", e);
+        }
+    }
+
+    private long proximoId(String tabela) {
+        return jdbcClient.sql("SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabela)
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Reinicia a sequência além dos IDs gerados, com folga para o bloco de IDs alocado pelo Hibernate.
+     */
+    private void avancarSequencia(String sequencia, long proximoLivre) {
+        jdbcClient.sql("ALTER SEQUENCE " + sequencia + " RESTART WITH " + (proximoLivre + 50)).update();
+    }
+
+    /**
+     * Valor com distribuição log-normal, com a mediana e a dispersão informadas, limitado ao intervalo.
+     */
+    private static BigDecimal lognormal(SplittableRandom aleatorio, double mediana, double sigma, double minimo,
+                                        double maximo) {
+        double valor = mediana * Math.exp(sigma * aleatorio.nextGaussian());
+        return BigDecimal.valueOf(Math.max(minimo, Math.min(maximo, valor))).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Valor com distribuição geométrica a partir de 1, com a média informada.
+     */
+    static int geometrica(SplittableRandom aleatorio, double media) {
+        if (media <= 1) {
+            return 1;
+        }
+        double u = aleatorio.nextDouble();
+        return 1 + (int) Math.min(Integer.MAX_VALUE - 1, Math.floor(Math.log1p(-u) / Math.log1p(-1 / media)));
+    }
+
+    /**
+     * Índice sorteado de uma distribuição acumulada.
+     */
+    static int sortear(double[] acumulada, double u) {
+        int i = Arrays.binarySearch(acumulada, u);
+        return Math.min(i >= 0 ? i : -i - 1, acumulada.length - 1);
+    }
+
+    /**
+     * Distribuição acumulada normalizada dos pesos.
+     */
+    static double[] acumular(double[] pesos) {
+        double[] acumulada = new double[pesos.length];
+        double soma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            soma += pesos[i];
+            acumulada[i] = soma;
+        }
+        for (int i = 0; i < acumulada.length; i++) {
+            acumulada[i] /= soma;
+        }
+        return acumulada;
+    }
+
+    /**
+     * Produtos ordenados por popularidade, sorteados por uma distribuição de Zipf sobre a posição.
+     */
+    static final class Populares {
+        private final long[] ids;
+        private final BigDecimal[] precos;
+        private final double[] acumulada;
+
+        Populares(long[] produtoIds, BigDecimal[] produtoPrecos, double expoente, SplittableRandom aleatorio) {
+            int quantidade = produtoIds.length;
+            int[] ordem = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                ordem[i] = i;
+            }
+            for (int i = quantidade - 1; i > 0; i--) {
+                int j = aleatorio.nextInt(i + 1);
+                int troca = ordem[i];
+                ordem[i] = ordem[j];
+                ordem[j] = troca;
+            }
+            this.ids = new long[quantidade];
+            this.precos = new BigDecimal[quantidade];
+            double[] pesos = new double[quantidade];
+            for (int posicao = 0; posicao < quantidade; posicao++) {
+                ids[posicao] = produtoIds[ordem[posicao]];
+                precos[posicao] = produtoPrecos[ordem[posicao]];
+                pesos[posicao] = Math.pow(posicao + 1, -expoente);
+            }
+            this.acumulada = quantidade == 0 ? new double[0] : acumular(pesos);
+        }
+
+        /**
+         * Sorteia a posição de um produto ainda não escolhido no pedido. Se a posição sorteada já foi
+         * escolhida, usa a próxima posição livre.
+         */
+        int escolher(SplittableRandom aleatorio, int[] escolhidos, int quantidadeEscolhidos) {
+            int posicao = sortear(acumulada, aleatorio.nextDouble());
+            while (contem(escolhidos, quantidadeEscolhidos, posicao)) {
+                posicao = (posicao + 1) % ids.length;
+            }
+            return posicao;
+        }
+
+        long id(int posicao) {
+            return ids[posicao];
+        }
+
+        BigDecimal preco(int posicao) {
+            return precos[posicao];
+        }
+
+        private static boolean contem(int[] valores, int quantidade, int valor) {
+            for (int i = 0; i < quantidade; i++) {
+                if (valores[i] == valor) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Dias do período dos pedidos, sorteados com pesos por mês, por dia da semana e por uma tendência de
+     * crescimento até a data final.
+     */
+    static final class Calendario {
+        private final LocalDate inicio;
+        private final double[] acumulada;
+
+        Calendario(LocalDate fim, int dias) {
+            this.inicio = fim.minusDays(dias - 1L);
+            double[] pesos = new double[dias];
+            for (int i = 0; i < dias; i++) {
+                LocalDate dia = inicio.plusDays(i);
+                pesos[i] = PESO_MES[dia.getMonthValue() - 1] * PESO_DIA_SEMANA[dia.getDayOfWeek().getValue() - 1]
+                        * (1 + CRESCIMENTO_NO_PERIODO * i / dias);
+            }
+            this.acumulada = acumular(pesos);
+        }
+
+        LocalDate sortear(SplittableRandom aleatorio) {
+            return inicio.plusDays(GeradorDados.sortear(acumulada, aleatorio.nextDouble()));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Preenchedor<T> {
+        /**
+         * Define os parâmetros de uma linha a partir do índice informado e retorna o índice seguinte.
+         */
+        int preencher(PreparedStatement ps, int indice, T linha) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TarefaConexao<T> {
+        T executar(Connection connection) throws SQLException;
+    }
+}
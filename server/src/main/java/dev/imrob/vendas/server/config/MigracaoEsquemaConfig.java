@@ -0,0 +1,68 @@
+package dev.imrob.vendas.server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Prepara para a primeira migração os bancos criados antes das migrações do Flyway.
+ *
+ * <p>Até então o Hibernate recriava o esquema a cada inicialização ({@code ddl-auto: create}) e o
+ * {@link DatabaseLoader} o populava com os dados de exemplo. Esses bancos têm as tabelas geradas pelo Hibernate,
+ * mas não a tabela de histórico do Flyway, que se recusa a migrar um esquema não vazio sem histórico. Como o
+ * esquema antigo era apagado a cada reinício, a migração o apaga uma única vez e o recria pelas migrações, mas
+ * somente com {@code vendas.esquema.recriar-legado: true}; sem a propriedade, a inicialização falha explicando
+ * o passo. Depois da primeira migração o histórico existe e a propriedade não tem mais efeito.</p>
+ */
+@Slf4j
+@Configuration
+public class MigracaoEsquemaConfig {
+    /**
+     * Tabela presente em todo esquema da aplicação, criado pelo Hibernate ou pelas migrações.
+     */
+    static final String TABELA_LEGADO = "tb_cliente";
+
+    @Bean
+    public FlywayMigrationStrategy migracaoEsquemaLegado(
+            @Value("${vendas.esquema.recriar-legado:false}") boolean recriarLegado) {
+        return flyway -> {
+            if (esquemaLegado(flyway)) {
+                if (!recriarLegado) {
+                    throw new IllegalStateException("O banco tem o esquema criado pelo Hibernate antes das migrações, "
+                            + "sem histórico do Flyway. Inicie uma vez com VENDAS_RECRIAR_ESQUEMA_LEGADO=true para "
+                            + "apagá-lo e recriá-lo pelas migrações; os dados de exemplo são carregados de novo.");
+                }
+                log.warn("Apagando o esquema criado pelo Hibernate antes das migrações, para recriá-lo pelo Flyway.");
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .cleanDisabled(false)
+                        .load()
+                        .clean();
+            }
+            flyway.migrate();
+        };
+    }
+
+    private static boolean esquemaLegado(Flyway flyway) {
+        return flyway.info().applied().length == 0
+                && existeTabela(flyway.getConfiguration().getDataSource(), TABELA_LEGADO);
+    }
+
+    private static boolean existeTabela(DataSource dataSource, String tabela) {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tabelas = connection.getMetaData()
+                     .getTables(connection.getCatalog(), connection.getSchema(), tabela, new String[]{"TABLE"})) {
+            return tabelas.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível verificar o esquema do banco.", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.imrob.vendas.server.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Intercepta o {@link DataSource} para contar as instruções SQL e o tempo de banco de cada requisição,
+ * registrados em {@link ConsultasRequisicao}.
+ *
+ * <p>As instruções só são envolvidas quando há uma medição ativa na thread: fora de uma requisição, como
+ * nas tarefas agendadas, a conexão entrega as instruções originais do driver.</p>
+ */
+@Configuration
+public class MonitorConsultasConfig {
+    private static final Set<String> METODOS_PREPARACAO = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    @Bean
+    static BeanPostProcessor monitorConsultasPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return proxyDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static DataSource proxyDataSource(DataSource alvo) {
+        return proxy(DataSource.class, alvo, (method, args, resultado) ->
+                resultado instanceof Connection connection ? proxyConnection(connection) : resultado);
+    }
+
+    private static Connection proxyConnection(Connection alvo) {
+        return proxy(Connection.class, alvo, (method, args, resultado) -> {
+            if (METODOS_PREPARACAO.contains(method.getName()) && ConsultasRequisicao.atual() != null) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return proxyStatement(method.getReturnType(), (Statement) resultado, sql);
+            }
+            return resultado;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Statement> T proxyStatement(Class<?> tipo, T alvo, String sqlPreparado) {
+        return (T) Proxy.newProxyInstance(MonitorConsultasConfig.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invocar(alvo, method, args);
+                    }
+                    long inicio = System.nanoTime();
+                    try {
+                        return invocar(alvo, method, args);
+                    } finally {
+                        ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+                        if (consultas != null) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String texto
+                                    ? texto : sqlPreparado;
+                            consultas.registrar(sql != null ? sql : "", System.nanoTime() - inicio);
+                        }
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T alvo, PosInvocacao posInvocacao) {
+        return (T) Proxy.newProxyInstance(MonitorConsultasConfig.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, method, args) -> posInvocacao.aplicar(method, args, invocar(alvo, method, args)));
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PosInvocacao {
+        Object aplicar(Method method, Object[] args, Object resultado);
+    }
+}
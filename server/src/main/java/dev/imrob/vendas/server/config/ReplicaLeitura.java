@@ -0,0 +1,144 @@
+package dev.imrob.vendas.server.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.imrob.vendas.server.service.ConsistenciaLeitura;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Réplica de leitura, com o seu pool de conexões, usada pelas transações somente leitura.
+ *
+ * <p>As conexões de leitura vêm da réplica enquanto ela estiver disponível. A disponibilidade é conferida
+ * periodicamente pela consulta de atraso configurada: a réplica é evitada enquanto o atraso superar
+ * {@code vendas.replica.atraso-maximo} ou a consulta falhar, e também a partir de uma falha ao obter uma
+ * conexão, até a próxima verificação bem-sucedida. Nesses casos, e quando {@link ConsistenciaLeitura} exige
+ * dados atualizados, as leituras vão para o banco principal.</p>
+ */
+@Slf4j
+public class ReplicaLeitura implements AutoCloseable {
+    private final HikariDataSource pool;
+    private final String consultaAtraso;
+    private final Duration atrasoMaximo;
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimaria = new LongAdder();
+    private volatile boolean disponivel;
+
+    public ReplicaLeitura(HikariConfig configuracao, String consultaAtraso, Duration atrasoMaximo) {
+        this.pool = new HikariDataSource(configuracao);
+        this.consultaAtraso = consultaAtraso;
+        this.atrasoMaximo = atrasoMaximo;
+        verificar();
+        if (!disponivel) {
+            log.warn("Réplica de leitura indisponível na inicialização; as leituras irão para o banco principal.");
+        }
+    }
+
+    /**
+     * Obtém uma conexão de leitura da réplica ou, se ela não puder ser usada, do banco principal.
+     *
+     * @param primaria O banco principal.
+     * @return A conexão de leitura.
+     * @throws SQLException Se não for possível obter a conexão do banco principal.
+     */
+    Connection conexao(DataSource primaria) throws SQLException {
+        if (disponivel && !ConsistenciaLeitura.exigePrimaria()) {
+            try {
+                Connection connection = pool.getConnection();
+                leiturasReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                disponivel = false;
+                log.warn("Réplica de leitura indisponível; as leituras irão para o banco principal.", e);
+            }
+        }
+        leiturasPrimaria.increment();
+        return primaria.getConnection();
+    }
+
+    /**
+     * Confere o atraso da réplica e atualiza a sua disponibilidade.
+     */
+    @Scheduled(fixedDelayString = "${vendas.replica.verificacao-intervalo:PT5S}",
+            initialDelayString = "${vendas.replica.verificacao-intervalo:PT5S}")
+    public void verificar() {
+        boolean anterior = disponivel;
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultado = statement.executeQuery(consultaAtraso)) {
+            resultado.next();
+            Duration atraso = Duration.ofMillis(Math.round(resultado.getDouble(1) * 1000));
+            disponivel = atraso.compareTo(atrasoMaximo) <= 0;
+            if (!disponivel && anterior) {
+                log.warn("Réplica de leitura com atraso de {} ms, acima do máximo de {} ms; as leituras irão para "
+                        + "o banco principal.", atraso.toMillis(), atrasoMaximo.toMillis());
+            }
+        } catch (SQLException e) {
+            disponivel = false;
+            if (anterior) {
+                log.warn("Falha ao verificar a réplica de leitura; as leituras irão para o banco principal.", e);
+            }
+        }
+        if (disponivel && !anterior) {
+            log.info("Réplica de leitura disponível.");
+        }
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Quantidade de conexões de leitura obtidas da réplica desde o início da aplicação.
+     */
+    public long getLeiturasReplica() {
+        return leiturasReplica.sum();
+    }
+
+    /**
+     * Quantidade de conexões de leitura obtidas do banco principal desde o início da aplicação.
+     */
+    public long getLeiturasPrimaria() {
+        return leiturasPrimaria.sum();
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    /**
+     * {@link DataSource} das transações somente leitura, roteado por {@link #conexao(DataSource)}.
+     */
+    static final class LeituraRoteada extends AbstractDataSource {
+        private final ReplicaLeitura replica;
+        private final DataSource primaria;
+
+        LeituraRoteada(ReplicaLeitura replica, DataSource primaria) {
+            this.replica = replica;
+            this.primaria = primaria;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return replica.conexao(primaria);
+        }
+
+        /**
+         * A réplica usa as credenciais configuradas; conexões com outras credenciais vêm do banco principal.
+         */
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primaria.getConnection(username, password);
+        }
+    }
+}
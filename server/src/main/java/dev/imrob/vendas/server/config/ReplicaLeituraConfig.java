@@ -0,0 +1,76 @@
+package dev.imrob.vendas.server.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envia as transações somente leitura para uma réplica do banco, configurada em {@code vendas.replica.url}.
+ *
+ * <p>O {@link DataSource} da aplicação é envolvido por um {@link LazyConnectionDataSourceProxy}, que só obtém
+ * a conexão real na primeira instrução, quando a transação já foi marcada como somente leitura. As transações
+ * {@code @Transactional(readOnly = true)}, e as consultas do {@code JdbcClient} feitas dentro delas, recebem
+ * conexões de {@link ReplicaLeitura}; as demais continuam no banco principal. Sem réplica configurada, nada é
+ * alterado.</p>
+ *
+ * <p>O roteamento é aplicado antes de {@link MonitorConsultasConfig}, para que as consultas feitas na réplica
+ * também sejam contadas.</p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${vendas.replica.url:}'.isBlank()")
+public class ReplicaLeituraConfig {
+
+    @Bean(destroyMethod = "close")
+    ReplicaLeitura replicaLeitura(@Value("${vendas.replica.url}") String url,
+                                  @Value("${vendas.replica.username:${spring.datasource.username:}}") String usuario,
+                                  @Value("${vendas.replica.password:${spring.datasource.password:}}") String senha,
+                                  @Value("${spring.datasource.driver-class-name:}") String driver,
+                                  @Value("${vendas.replica.tamanho-pool:10}") int tamanhoPool,
+                                  @Value("${vendas.replica.consulta-atraso}") String consultaAtraso,
+                                  @Value("${vendas.replica.atraso-maximo:PT5S}") Duration atrasoMaximo) {
+        HikariConfig configuracao = new HikariConfig();
+        configuracao.setPoolName("replica");
+        configuracao.setJdbcUrl(url);
+        configuracao.setUsername(usuario);
+        configuracao.setPassword(senha);
+        if (!driver.isBlank()) {
+            configuracao.setDriverClassName(driver);
+        }
+        configuracao.setMaximumPoolSize(tamanhoPool);
+        configuracao.setReadOnly(true);
+        // A réplica pode estar fora do ar na inicialização: as leituras vão para o banco principal até ela voltar
+        configuracao.setInitializationFailTimeout(-1);
+        return new ReplicaLeitura(configuracao, consultaAtraso, atrasoMaximo);
+    }
+
+    @Bean
+    static BeanPostProcessor roteamentoLeituraPostProcessor(ObjectProvider<ReplicaLeitura> replica) {
+        return new RoteamentoLeitura(replica);
+    }
+
+    private record RoteamentoLeitura(ObjectProvider<ReplicaLeitura> replica) implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primaria) {
+                LazyConnectionDataSourceProxy roteado = new LazyConnectionDataSourceProxy(primaria);
+                roteado.setReadOnlyDataSource(new ReplicaLeitura.LeituraRoteada(replica.getObject(), primaria));
+                return roteado;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
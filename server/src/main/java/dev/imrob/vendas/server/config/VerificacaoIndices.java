@@ -0,0 +1,136 @@
+package dev.imrob.vendas.server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Impede a inicialização da aplicação quando falta algum dos índices dos quais as consultas dependem.
+ *
+ * <p>Um índice ausente não causa erro, apenas consultas que percorrem a tabela inteira, o que só aparece
+ * sob carga. Cada índice esperado é identificado pela tabela e pelas colunas iniciais, na ordem: qualquer
+ * índice, inclusive o de uma restrição de unicidade, cujas primeiras colunas sejam essas o atende. A
+ * verificação pode ser desativada com {@code vendas.esquema.verificar-indices: false}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vendas.esquema.verificar-indices", havingValue = "true", matchIfMissing = true)
+public class VerificacaoIndices {
+
+    /**
+     * Índices exigidos: as chaves estrangeiras e os filtros mais frequentes.
+     */
+    static final List<IndiceEsperado> INDICES = List.of(
+            new IndiceEsperado("tb_pedido", "cliente_id", "data"),
+            new IndiceEsperado("tb_pedido", "status", "data"),
+            new IndiceEsperado("tb_item_pedido", "pedido_id"),
+            new IndiceEsperado("tb_item_pedido", "produto_id"),
+            new IndiceEsperado("tb_saldo_cliente", "cliente_id"),
+            new IndiceEsperado("tb_resumo_vendas_cliente", "cliente_id"),
+            new IndiceEsperado("tb_resumo_vendas_produto", "produto_id"),
+            new IndiceEsperado("tb_resumo_vendas_cliente_mes", "cliente_id"),
+            new IndiceEsperado("tb_resumo_vendas_produto_mes", "produto_id"),
+            new IndiceEsperado("tb_chave_idempotencia", "criada_em"));
+
+    private final DataSource dataSource;
+
+    public VerificacaoIndices(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Verifica os índices ao fim da inicialização do contexto, depois das migrações.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void aoIniciar() {
+        verificar();
+        log.info("Os {} índices esperados estão presentes.", INDICES.size());
+    }
+
+    /**
+     * Verifica se todos os índices esperados existem no banco.
+     *
+     * @throws IllegalStateException Se algum índice estiver ausente, listando todos os ausentes.
+     */
+    public void verificar() {
+        List<IndiceEsperado> ausentes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String schema = connection.getSchema();
+            Map<String, Collection<List<String>>> porTabela = new TreeMap<>();
+            for (IndiceEsperado esperado : INDICES) {
+                Collection<List<String>> existentes = porTabela.computeIfAbsent(esperado.tabela(),
+                        tabela -> indicesDaTabela(metaData, schema, tabela));
+                if (existentes.stream().noneMatch(esperado::atendidoPor)) {
+                    ausentes.add(esperado);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível ler os índices do banco de dados.", e);
+        }
+        if (!ausentes.isEmpty()) {
+            throw new IllegalStateException(("Índices ausentes no banco de dados: %s. Aplique as migrações de "
+                    + "db/migration antes de iniciar a aplicação.").formatted(ausentes));
+        }
+    }
+
+    /**
+     * Lê as colunas de cada índice de uma tabela, na ordem do índice.
+     */
+    private static Collection<List<String>> indicesDaTabela(DatabaseMetaData metaData, String schema, String tabela) {
+        Map<String, List<String>> colunasPorIndice = new TreeMap<>();
+        try {
+            String nome = metaData.storesUpperCaseIdentifiers() ? tabela.toUpperCase(Locale.ROOT) : tabela;
+            try (ResultSet indices = metaData.getIndexInfo(null, schema, nome, false, false)) {
+                while (indices.next()) {
+                    String indice = indices.getString("INDEX_NAME");
+                    String coluna = indices.getString("COLUMN_NAME");
+                    if (indice == null || coluna == null) {
+                        continue;
+                    }
+                    List<String> colunas = colunasPorIndice.computeIfAbsent(indice, i -> new ArrayList<>());
+                    int posicao = indices.getShort("ORDINAL_POSITION");
+                    while (colunas.size() < posicao) {
+                        colunas.add(null);
+                    }
+                    colunas.set(posicao - 1, coluna.toLowerCase(Locale.ROOT));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível ler os índices da tabela " + tabela + ".", e);
+        }
+        return colunasPorIndice.values();
+    }
+
+    /**
+     * Um índice esperado em uma tabela, com as suas colunas iniciais na ordem.
+     */
+    record IndiceEsperado(String tabela, List<String> colunas) {
+        IndiceEsperado(String tabela, String... colunas) {
+            this(tabela, List.of(colunas));
+        }
+
+        boolean atendidoPor(List<String> colunasIndice) {
+            return colunasIndice.size() >= colunas.size() && colunasIndice.subList(0, colunas.size()).equals(colunas);
+        }
+
+        @Override
+        public String toString() {
+            return tabela + " (" + String.join(", ", colunas) + ")";
+        }
+    }
+}
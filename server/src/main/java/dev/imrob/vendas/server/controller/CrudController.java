@@ -1,45 +1,91 @@
 package dev.imrob.vendas.server.controller;
 
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.service.CrudService;
+import dev.imrob.vendas.server.service.VersaoTabelas;
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Classe abstrata que fornece operações CRUD básicas para entidades.
  *
+ * <p>Para serviços versionados ({@link CrudService#isVersionado()}), as leituras por ID e da lista completa
+ * retornam um ETag forte, derivado da versão da tabela em memória e do formato negociado pelo {@code Accept}
+ * (JSON, Smile ou CBOR), com {@code Vary: Accept}. Uma requisição com {@code If-None-Match} igual à versão atual
+ * no mesmo formato recebe {@code 304 Not Modified} sem consultar o banco nem serializar a resposta.</p>
+ *
  * @param <TYPE>   O tipo da entidade gerenciada por este controlador.
  * @param <SERVICE> O tipo do serviço que implementa as operações CRUD para a entidade.
  */
 @Getter
 public abstract class CrudController<TYPE, SERVICE extends CrudService<TYPE>> {
+    /**
+     * Formatos das respostas, na ordem de preferência dos conversores: JSON, Smile e CBOR.
+     */
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
     @Autowired
     private SERVICE service;
 
+    @Autowired
+    private VersaoTabelas versoes;
+
+    @Autowired
+    private ContentNegotiationManager negociacao;
+
     /**
      * Recupera uma entidade pelo seu ID.
      *
-     * @param id O ID da entidade a ser recuperada.
-     * @return ResponseEntity contendo a entidade encontrada ou um erro 404 se não for encontrada.
+     * @param id      O ID da entidade a ser recuperada.
+     * @param request A requisição, usada para verificar o cabeçalho {@code If-None-Match}.
+     * @return ResponseEntity contendo a entidade encontrada, 304 se não houve alteração desde a versão
+     *  informada ou um erro 404 se não for encontrada.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<TYPE> findById(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<TYPE> findById(@PathVariable("id") Long id, WebRequest request) {
+        return responderVersionado(request, () -> service.findById(id));
     }
 
     /**
      * Recupera todas as entidades.
      *
-     * @return ResponseEntity contendo uma lista de todas as entidades.
+     * @param request A requisição, usada para verificar o cabeçalho {@code If-None-Match}.
+     * @return ResponseEntity contendo uma lista de todas as entidades, ou 304 se não houve alteração desde a
+     *  versão informada.
      */
     @GetMapping
-    public ResponseEntity<List<TYPE>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<List<TYPE>> findAll(WebRequest request) {
+        return responderVersionado(request, service::findAll);
+    }
+
+    /**
+     * Recupera uma página de entidades ordenadas pelo ID, usando paginação por cursor.
+     *
+     * @param after O ID do último item da página anterior (opcional). Se não for informado, retorna a primeira página.
+     * @param limit A quantidade máxima de itens da página (padrão 50, máximo {@value CrudService#LIMITE_MAXIMO_PAGINA}).
+     * @param total Indica se o total aproximado de registros deve ser retornado (padrão false).
+     * @return ResponseEntity contendo a página e o cursor da próxima página.
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<TYPE>> findPagina(@RequestParam(required = false) Long after,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(defaultValue = "false") boolean total) {
+        return ResponseEntity.ok(service.findPagina(after, limit, total));
     }
 
     /**
@@ -77,4 +123,50 @@ public abstract class CrudController<TYPE, SERVICE extends CrudService<TYPE>> {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Responde a uma leitura com o ETag da versão atual da tabela, quando o serviço for versionado.
+     *
+     * <p>A versão é lida antes dos dados, de modo que o ETag nunca corresponde a dados mais antigos que os
+     * enviados. Se o cliente já tiver a versão atual, a leitura não é executada. O ETag inclui o formato da
+     * resposta, e {@code Vary: Accept} é enviado também na resposta 304, para que um cliente ou cache nunca
+     * reutilize um corpo guardado em outro formato.</p>
+     *
+     * @param request A requisição.
+     * @param leitura A leitura a ser executada quando houver alteração.
+     * @return A resposta com o resultado da leitura, ou {@code null} quando a resposta 304 já foi preparada.
+     */
+    private <R> ResponseEntity<R> responderVersionado(WebRequest request, Supplier<R> leitura) {
+        if (service.isVersionado()) {
+            NativeWebRequest nativa = (NativeWebRequest) request;
+            HttpServletResponse response = nativa.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+            String etag = versoes.etag(service.getTabela()) + "-" + formato(nativa).getSubtype();
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        return ResponseEntity.ok(leitura.get());
+    }
+
+    /**
+     * Retorna o formato da resposta: o primeiro dos {@link #FORMATOS} aceito pelo cabeçalho {@code Accept}, na
+     * ordem de preferência da requisição, ou JSON quando nenhum for aceito.
+     */
+    private MediaType formato(NativeWebRequest request) {
+        try {
+            for (MediaType aceito : negociacao.resolveMediaTypes(request)) {
+                for (MediaType formato : FORMATOS) {
+                    if (aceito.isCompatibleWith(formato)) {
+                        return formato;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Cabeçalho Accept inválido: a negociação do conversor responde com o erro
+        }
+        return MediaType.APPLICATION_JSON;
+    }
 }
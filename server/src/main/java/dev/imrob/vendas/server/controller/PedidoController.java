@@ -1,15 +1,28 @@
 package dev.imrob.vendas.server.controller;
 
 import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.DivergenciaResumoDTO;
+import dev.imrob.vendas.server.dto.DivergenciaSaldoDTO;
+import dev.imrob.vendas.server.dto.Granularidade;
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.dto.PedidoDTO;
+import dev.imrob.vendas.server.dto.PontoSerieDTO;
+import dev.imrob.vendas.server.dto.ResultadoPedidoLoteDTO;
 import dev.imrob.vendas.server.entity.Pedido;
 import dev.imrob.vendas.server.entity.StatusPedido;
+import dev.imrob.vendas.server.repository.FiltroPedidoQuery;
+import dev.imrob.vendas.server.service.IdempotenciaService;
 import dev.imrob.vendas.server.service.PedidoService;
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import dev.imrob.vendas.server.service.SaldoClienteService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -27,19 +40,49 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/v1/pedidos")
 public class PedidoController extends CrudController<PedidoDTO, PedidoService> {
+    @Autowired
+    private SaldoClienteService saldoService;
+
+    @Autowired
+    private ResumoVendasService resumoService;
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
 
     /**
      * Cria um novo pedido.
      *
-     * @param dto O DTO contendo os dados do novo pedido.
+     * <p>Com o cabeçalho {@code Idempotency-Key}, uma requisição repetida com a mesma chave, por exemplo após
+     * um timeout no terminal, retorna o ID do pedido original em vez de criar outro pedido.</p>
+     *
+     * @param dto   O DTO contendo os dados do novo pedido.
+     * @param chave A chave de idempotência da requisição (opcional).
      * @return O ID do pedido criado, com status HTTP 201 (Created).
      */
     @PostMapping("/criar")
-    public ResponseEntity<Long> criarPedido(@Valid @RequestBody CriarPedidoDTO dto) {
-        Long id = getService().criarPedido(dto);
+    public ResponseEntity<Long> criarPedido(@Valid @RequestBody CriarPedidoDTO dto,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String chave) {
+        Long id = chave == null
+                ? getService().criarPedido(dto)
+                : idempotenciaService.executar(chave, () -> getService().criarPedido(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(id);
     }
 
+    /**
+     * Cria vários pedidos de uma vez, como no envio do fechamento de caixa de uma loja.
+     *
+     * <p>Cada pedido é validado e gravado independentemente dos demais: um pedido recusado não impede
+     * a criação dos outros.</p>
+     *
+     * @param pedidos Os pedidos a serem criados.
+     * @return Um resultado por pedido, na ordem enviada, com o ID do pedido criado ou o motivo da recusa,
+     *  com status HTTP 200 (OK).
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoPedidoLoteDTO>> criarPedidosEmLote(@RequestBody List<CriarPedidoDTO> pedidos) {
+        return ResponseEntity.ok(getService().criarPedidosEmLote(pedidos));
+    }
+
     /**
      * Cancela um pedido existente.
      *
@@ -73,9 +116,36 @@ public class PedidoController extends CrudController<PedidoDTO, PedidoService> {
         return ResponseEntity.ok(total);
     }
 
+    /**
+     * Recalcula os saldos em aberto dos clientes a partir dos pedidos e retorna as divergências encontradas.
+     *
+     * @param corrigir Indica se os saldos divergentes devem ser corrigidos (padrão false).
+     * @return As divergências entre os saldos registrados e os recalculados, com status HTTP 200 (OK).
+     */
+    @PostMapping("/saldos/verificar")
+    public ResponseEntity<List<DivergenciaSaldoDTO>> verificarSaldos(
+            @RequestParam(defaultValue = "false") boolean corrigir) {
+        return ResponseEntity.ok(saldoService.verificar(corrigir));
+    }
+
+    /**
+     * Compara os resumos de vendas com o recálculo a partir dos pedidos e retorna as divergências encontradas.
+     *
+     * @param corrigir Indica se os resumos devem ser reconstruídos quando houver divergências (padrão false).
+     * @return As divergências entre os resumos e o recálculo, com status HTTP 200 (OK).
+     */
+    @PostMapping("/resumos/verificar")
+    public ResponseEntity<List<DivergenciaResumoDTO>> verificarResumos(
+            @RequestParam(defaultValue = "false") boolean corrigir) {
+        return ResponseEntity.ok(resumoService.verificar(corrigir));
+    }
+
     /**
      * Retorna uma lista de pedidos agrupados por cliente, juntamente com o total gasto por cada cliente.
      *
+     * <p>Executado durante a requisição; em bases grandes, prefira o relatório {@code POR_CLIENTE} de
+     * {@link RelatorioController}.</p>
+     *
      * @return Uma lista de arrays de objetos, onde cada array representa um cliente e seu total gasto,
      *  com status HTTP 200 (OK).
      */
@@ -88,6 +158,9 @@ public class PedidoController extends CrudController<PedidoDTO, PedidoService> {
     /**
      * Retorna uma lista de pedidos agrupados por produto, juntamente com o total de vendas por cada produto.
      *
+     * <p>Executado durante a requisição; em bases grandes, prefira o relatório {@code POR_PRODUTO} de
+     * {@link RelatorioController}.</p>
+     *
      * @return Uma lista de arrays de objetos, onde cada array representa um produto e seu total vendido,
      *  com status HTTP 200 (OK).
      */
@@ -97,6 +170,29 @@ public class PedidoController extends CrudController<PedidoDTO, PedidoService> {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Retorna a série de vendas ativas por dia ou por mês, para gráficos de faturamento e de quantidade de pedidos.
+     *
+     * <p>A série é lida dos resumos diários e mensais, sem percorrer os pedidos. Todos os períodos do intervalo
+     * são retornados, com zero nos períodos sem vendas; os períodos mensais cobrem o mês inteiro.</p>
+     *
+     * @param granularidade {@code dia} ou {@code mes} (padrão: {@code dia}).
+     * @param inicio        O primeiro dia da série, inclusive.
+     * @param fim           O último dia da série, inclusive.
+     * @param clienteId     ID do cliente para filtrar as vendas (opcional).
+     * @param produtoId     ID do produto para filtrar as vendas (opcional); o total soma apenas os itens do produto.
+     * @return Um ponto por período, com status HTTP 200 (OK).
+     */
+    @GetMapping("/serie")
+    public ResponseEntity<List<PontoSerieDTO>> getSerie(
+            @RequestParam(defaultValue = "dia") String granularidade,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long produtoId) {
+        return ResponseEntity.ok(resumoService.serie(Granularidade.de(granularidade), inicio, fim, clienteId, produtoId));
+    }
+
     /**
      * Busca pedidos com base em vários critérios de filtro.
      *
@@ -118,4 +214,58 @@ public class PedidoController extends CrudController<PedidoDTO, PedidoService> {
         List<PedidoDTO> result = getService().filtrarPedidosPor(dataInicio, dataFim, clienteId, produtoId, status);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Busca uma página de pedidos com base em vários critérios de filtro, usando paginação por cursor.
+     *
+     * @param dataInicio Data inicial do intervalo de datas para filtrar pedidos, inclusive (opcional).
+     * @param dataFim   Data final do intervalo de datas para filtrar pedidos, inclusive (opcional).
+     * @param clienteId ID do cliente para filtrar pedidos (opcional).
+     * @param produtoId ID do produto para filtrar pedidos (opcional).
+     * @param status     Status do pedido para filtrar (opcional).
+     * @param after      ID do último pedido da página anterior (opcional).
+     * @param limit      Quantidade máxima de pedidos da página (padrão 50).
+     * @param total      Indica se o total aproximado deve ser retornado (padrão false).
+     * @return A página de pedidos com o cursor da próxima página, com status HTTP 200 (OK).
+     */
+    @GetMapping("/filtrar/pagina")
+    public ResponseEntity<PaginaDTO<PedidoDTO>> getPedidosFiltradosPaginado(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long produtoId,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean total) {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.de(dataInicio, dataFim, clienteId, produtoId, status);
+        return ResponseEntity.ok(getService().filtrarPedidosPaginado(filtro, after, limit, total));
+    }
+
+    /**
+     * Exporta os pedidos que atendem aos critérios de filtro em JSON delimitado por linhas (NDJSON).
+     *
+     * <p>A resposta é escrita à medida que os pedidos são lidos do banco de dados, permitindo exportar
+     * qualquer quantidade de pedidos com consumo de memória constante.</p>
+     *
+     * @param dataInicio Data inicial do intervalo de datas para filtrar pedidos, inclusive (opcional).
+     * @param dataFim   Data final do intervalo de datas para filtrar pedidos, inclusive (opcional).
+     * @param clienteId ID do cliente para filtrar pedidos (opcional).
+     * @param produtoId ID do produto para filtrar pedidos (opcional).
+     * @param status     Status do pedido para filtrar (opcional).
+     * @return Os pedidos, um por linha, com status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long produtoId,
+            @RequestParam(required = false) StatusPedido status) {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.de(dataInicio, dataFim, clienteId, produtoId, status);
+        StreamingResponseBody corpo = saida -> getService().exportarPedidos(filtro, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
 }
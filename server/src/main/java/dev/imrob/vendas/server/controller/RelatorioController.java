@@ -0,0 +1,69 @@
+package dev.imrob.vendas.server.controller;
+
+import dev.imrob.vendas.server.dto.RelatorioDTO;
+import dev.imrob.vendas.server.dto.TipoRelatorio;
+import dev.imrob.vendas.server.service.RelatorioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controlador REST para os relatórios agregados de pedidos, executados em segundo plano.
+ *
+ * <p>O relatório é solicitado, acompanhado pelo ID retornado e, depois de concluído, o resultado é buscado no
+ * mesmo formato de {@code /api/v1/pedidos/por-cliente} e {@code /api/v1/pedidos/por-produto}, sem ocupar a
+ * requisição durante a execução.</p>
+ *
+ * @see RelatorioService
+ */
+@RestController
+@RequestMapping("/api/v1/relatorios")
+public class RelatorioController {
+    @Autowired
+    private RelatorioService service;
+
+    /**
+     * Solicita um relatório. Uma execução em andamento ou um resultado ainda válido do mesmo relatório é
+     * reaproveitado.
+     *
+     * @param tipo O relatório: {@code POR_CLIENTE} ou {@code POR_PRODUTO}.
+     * @return A execução do relatório, com status HTTP 202 (Accepted) e o endereço da execução no
+     *  cabeçalho {@code Location}.
+     */
+    @PostMapping
+    public ResponseEntity<RelatorioDTO> solicitar(@RequestParam TipoRelatorio tipo) {
+        RelatorioDTO relatorio = service.solicitar(tipo);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(relatorio.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(local).body(relatorio);
+    }
+
+    /**
+     * Retorna a situação de uma execução.
+     *
+     * @param id O ID da execução.
+     * @return A execução do relatório, com status HTTP 200 (OK).
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RelatorioDTO> buscar(@PathVariable String id) {
+        return ResponseEntity.ok(service.buscar(id));
+    }
+
+    /**
+     * Retorna o resultado de uma execução concluída.
+     *
+     * @param id O ID da execução.
+     * @return As linhas do relatório, com status HTTP 200 (OK), ou status HTTP 409 (Conflict) se a execução
+     *  ainda não terminou.
+     */
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<List<Object[]>> resultado(@PathVariable String id) {
+        return ResponseEntity.ok(service.resultado(id));
+    }
+}
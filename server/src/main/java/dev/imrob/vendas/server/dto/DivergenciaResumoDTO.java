@@ -0,0 +1,29 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Divergência entre uma linha de um resumo de vendas e o valor recalculado a partir dos pedidos.
+ *
+ * <p>{@code resumo} indica a tabela de resumo ({@code cliente}, {@code produto}, {@code dia} ou {@code mes}) e
+ * {@code id} o cliente ou produto da linha, nulo nos resumos por dia e por mês. No resumo por mês, {@code dia} é
+ * o primeiro dia do mês e os valores calculados são a soma dos resumos diários do mês.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class DivergenciaResumoDTO {
+    private String resumo;
+    private Long id;
+    private LocalDate dia;
+    private Long pedidosRegistrados;
+    private Long pedidosCalculados;
+    private BigDecimal totalRegistrado;
+    private BigDecimal totalCalculado;
+}
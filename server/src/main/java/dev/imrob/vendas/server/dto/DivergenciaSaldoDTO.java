@@ -0,0 +1,22 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Divergência entre o saldo registrado de um cliente em um ciclo e o saldo recalculado a partir dos pedidos.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class DivergenciaSaldoDTO {
+    private Long clienteId;
+    private LocalDate inicioCiclo;
+    private BigDecimal registrado;
+    private BigDecimal calculado;
+}
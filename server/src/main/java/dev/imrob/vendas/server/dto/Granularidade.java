@@ -0,0 +1,51 @@
+package dev.imrob.vendas.server.dto;
+
+import dev.imrob.vendas.server.exception.SerieVendasException;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Períodos de uma série de vendas.
+ */
+public enum Granularidade {
+    DIA,
+    MES;
+
+    /**
+     * Converte o parâmetro da requisição, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param valor {@code dia} ou {@code mes}.
+     * @return A granularidade.
+     * @throws SerieVendasException Se o valor não for uma granularidade.
+     */
+    public static Granularidade de(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new SerieVendasException("Granularidade inválida: %s. Use dia ou mes.".formatted(valor));
+        }
+    }
+
+    /**
+     * Primeiro dia do período que contém a data.
+     */
+    public LocalDate inicio(LocalDate data) {
+        return this == MES ? data.withDayOfMonth(1) : data;
+    }
+
+    /**
+     * Último dia do período que contém a data.
+     */
+    public LocalDate fim(LocalDate data) {
+        return this == MES ? data.with(TemporalAdjusters.lastDayOfMonth()) : data;
+    }
+
+    /**
+     * Primeiro dia do período seguinte.
+     */
+    public LocalDate proximo(LocalDate inicio) {
+        return this == MES ? inicio.plusMonths(1) : inicio.plusDays(1);
+    }
+}
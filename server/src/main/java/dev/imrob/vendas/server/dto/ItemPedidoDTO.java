@@ -7,10 +7,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter @Setter
 public class ItemPedidoDTO {
     private ProdutoDTO produto;
     private int quantidade;
+    private BigDecimal precoUnitario;
 }
@@ -0,0 +1,31 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de resultados obtida por paginação baseada em cursor (keyset).
+ *
+ * @param <T> O tipo dos itens da página.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class PaginaDTO<T> {
+    private List<T> itens = new ArrayList<>();
+
+    /**
+     * ID a ser informado em {@code after} para obter a próxima página, ou nulo se esta for a última.
+     */
+    private Long proximoCursor;
+
+    /**
+     * Total aproximado de registros, preenchido apenas quando solicitado.
+     */
+    private Long totalAproximado;
+}
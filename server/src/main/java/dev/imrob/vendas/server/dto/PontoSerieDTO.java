@@ -0,0 +1,24 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Vendas ativas de um período de uma série.
+ *
+ * <p>{@code periodo} é o primeiro dia do período. Nas séries por produto, {@code pedidos} conta os pedidos com o
+ * produto e {@code total} soma somente os itens do produto; nas demais, soma o valor total dos pedidos.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class PontoSerieDTO {
+    private LocalDate periodo;
+    private long pedidos;
+    private BigDecimal total;
+}
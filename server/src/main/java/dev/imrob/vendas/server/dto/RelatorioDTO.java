@@ -0,0 +1,26 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de uma execução de relatório. O resultado é buscado à parte, após a conclusão.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class RelatorioDTO {
+    private String id;
+    private TipoRelatorio tipo;
+    private StatusRelatorio status;
+    private LocalDateTime solicitadoEm;
+    private LocalDateTime concluidoEm;
+    /**
+     * Motivo da falha, quando o status for {@link StatusRelatorio#FALHOU}.
+     */
+    private String erro;
+}
@@ -0,0 +1,29 @@
+package dev.imrob.vendas.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de um pedido enviado em lote: o ID do pedido criado ou o motivo da recusa.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class ResultadoPedidoLoteDTO {
+    /**
+     * Posição do pedido no lote enviado, a partir de zero.
+     */
+    private int indice;
+    private Long id;
+    private String erro;
+
+    public static ResultadoPedidoLoteDTO criado(int indice, Long id) {
+        return new ResultadoPedidoLoteDTO(indice, id, null);
+    }
+
+    public static ResultadoPedidoLoteDTO recusado(int indice, String erro) {
+        return new ResultadoPedidoLoteDTO(indice, null, erro);
+    }
+}
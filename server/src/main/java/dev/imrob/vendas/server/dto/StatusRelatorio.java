@@ -0,0 +1,11 @@
+package dev.imrob.vendas.server.dto;
+
+public enum StatusRelatorio {
+    /**
+     * Aguardando uma thread livre na fila de relatórios.
+     */
+    PENDENTE,
+    EXECUTANDO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -0,0 +1,15 @@
+package dev.imrob.vendas.server.dto;
+
+/**
+ * Relatórios agregados executados em segundo plano.
+ */
+public enum TipoRelatorio {
+    /**
+     * Total comprado por cliente, como em {@code /pedidos/por-cliente}.
+     */
+    POR_CLIENTE,
+    /**
+     * Quantidade e total vendidos por produto, como em {@code /pedidos/por-produto}.
+     */
+    POR_PRODUTO
+}
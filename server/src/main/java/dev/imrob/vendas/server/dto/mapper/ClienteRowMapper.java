@@ -0,0 +1,24 @@
+package dev.imrob.vendas.server.dto.mapper;
+
+import dev.imrob.vendas.server.entity.Cliente;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converte uma linha de {@code tb_cliente} em {@link Cliente}.
+ */
+@Component
+public class ClienteRowMapper implements RowMapper<Cliente> {
+
+    @Override
+    public Cliente mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Cliente cliente = new Cliente();
+        cliente.setId(rs.getLong("id"));
+        cliente.setNome(rs.getString("nome"));
+        cliente.setLimiteCompra(rs.getBigDecimal("limite_compra"));
+        cliente.setDiaFechamentoFatura(rs.getInt("dia_fechamento_fatura"));
+        return cliente;
+    }
+}
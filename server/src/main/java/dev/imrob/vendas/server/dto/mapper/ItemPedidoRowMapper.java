@@ -0,0 +1,28 @@
+package dev.imrob.vendas.server.dto.mapper;
+
+import dev.imrob.vendas.server.entity.ItemPedido;
+import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.entity.Produto;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converte uma linha de {@code tb_item_pedido} unida a {@code tb_produto} em {@link ItemPedido}.
+ *
+ * <p>Espera as colunas {@code id}, {@code quantidade}, {@code pedido_id}, {@code produto_id},
+ * {@code descricao}, {@code preco} e {@code preco_unitario}. O pedido é preenchido apenas com o ID.</p>
+ */
+@Component
+public class ItemPedidoRowMapper implements RowMapper<ItemPedido> {
+
+    @Override
+    public ItemPedido mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Produto produto = new Produto(rs.getLong("produto_id"), rs.getString("descricao"), rs.getBigDecimal("preco"));
+        Pedido pedido = new Pedido();
+        pedido.setId(rs.getLong("pedido_id"));
+        return new ItemPedido(rs.getLong("id"), pedido, produto, rs.getInt("quantidade"),
+                rs.getBigDecimal("preco_unitario"));
+    }
+}
@@ -0,0 +1,33 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de idempotência informada na criação de um pedido, com o ID do pedido criado.
+ *
+ * <p>Registrada na mesma transação que cria o pedido: uma requisição repetida com a mesma chave recebe
+ * o pedido original em vez de criar outro. As chaves expiram após o prazo configurado.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_chave_idempotencia", indexes = {
+        @Index(name = "idx_chave_idempotencia_criada_em", columnList = "criada_em")})
+public class ChaveIdempotencia {
+    @Id
+    @Column(name = "chave", length = 100)
+    private String chave;
+
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    @Column(name = "criada_em", nullable = false)
+    private LocalDateTime criadaEm;
+}
@@ -6,15 +6,28 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
+/**
+ * Cliente, lido a cada pedido e alterado raramente.
+ *
+ * <p>Fica no cache de segundo nível, na região {@value #REGIAO_CACHE} configurada em {@code ehcache.xml}.
+ * As alterações feitas pelo JPA atualizam o cache após o commit; alterações diretas na tabela só são vistas
+ * após a expiração da entrada. A busca com bloqueio da reserva de limite sempre lê o banco.</p>
+ */
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter @Setter
 @Entity
 @Table(name = "tb_cliente")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Cliente.REGIAO_CACHE)
 public class Cliente {
+    public static final String REGIAO_CACHE = "cliente";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
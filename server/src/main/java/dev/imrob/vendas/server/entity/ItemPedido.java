@@ -9,15 +9,22 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter @Setter
 @Entity
 @Table(name = "tb_item_pedido", uniqueConstraints =
-        {@UniqueConstraint(name = "Unique_Pedido_Produto", columnNames = { "pedido_id", "produto_id" })})
+        {@UniqueConstraint(name = "Unique_Pedido_Produto", columnNames = { "pedido_id", "produto_id" })},
+        indexes = {@Index(name = "idx_item_pedido_produto_pedido", columnList = "produto_id, pedido_id")})
 public class ItemPedido {
+    /**
+     * Gerado por sequência com alocação em blocos, permitindo que os inserts sejam agrupados em lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_item_pedido")
+    @SequenceGenerator(name = "seq_item_pedido", sequenceName = "seq_item_pedido", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Pedido é obrigatório")
@@ -34,4 +41,28 @@ public class ItemPedido {
     @NotNull(message = "Quantidade é obrigatória")
     @Min(value = 1, message = "Quantidade deve ser no mínimo 1")
     private int quantidade;
+
+    /**
+     * Preço do produto no momento do pedido. Os totais de vendas e de compras usam este valor,
+     * de modo que não mudam quando o preço do produto é alterado.
+     */
+    @NotNull(message = "Preço unitário é obrigatório")
+    @Column(name = "preco_unitario")
+    private BigDecimal precoUnitario;
+
+    /**
+     * Cria um item com o preço atual do produto.
+     */
+    public ItemPedido(Long id, Pedido pedido, Produto produto, int quantidade) {
+        this(id, pedido, produto, quantidade, produto != null ? produto.getPreco() : null);
+    }
+
+    /**
+     * Calcula o valor do item.
+     *
+     * @return O preço unitário multiplicado pela quantidade.
+     */
+    public BigDecimal calcularValorTotal() {
+        return precoUnitario.multiply(BigDecimal.valueOf(quantidade));
+    }
 }
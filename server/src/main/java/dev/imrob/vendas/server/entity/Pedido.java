@@ -19,10 +19,16 @@ import java.util.Set;
 @AllArgsConstructor
 @Getter @Setter
 @Entity
-@Table(name = "tb_pedido")
+@Table(name = "tb_pedido", indexes = {
+        @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data"),
+        @Index(name = "idx_pedido_status_data", columnList = "status, data")})
 public class Pedido {
+    /**
+     * Gerado por sequência com alocação em blocos, permitindo que os inserts sejam agrupados em lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_pedido")
+    @SequenceGenerator(name = "seq_pedido", sequenceName = "seq_pedido", allocationSize = 50)
     private Long id;
 
     @ManyToOne
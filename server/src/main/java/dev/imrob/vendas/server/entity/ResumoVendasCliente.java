@@ -0,0 +1,41 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo diário das vendas ativas por cliente, mantido incrementalmente na criação e no cancelamento de pedidos.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_cliente", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Cliente_Dia", columnNames = { "cliente_id", "dia" })})
+public class ResumoVendasCliente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Cliente cliente;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,41 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo mensal das vendas ativas por cliente, compactado a partir do resumo diário nos meses encerrados.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_cliente_mes", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Cliente_Mes", columnNames = { "cliente_id", "mes" })})
+public class ResumoVendasClienteMes {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Cliente cliente;
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,43 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo das vendas ativas por dia, mantido incrementalmente na criação e no cancelamento de pedidos.
+ *
+ * <p>O total de cada dia é dividido em linhas por faixa de clientes, para que pedidos de clientes diferentes
+ * não atualizem a mesma linha; o total do dia é a soma das faixas.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_dia", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Dia", columnNames = { "dia", "faixa" })})
+public class ResumoVendasDia {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    /**
+     * Faixa dos pedidos resumidos na linha, pelo ID do cliente ({@code ResumoVendasRepository.faixa}).
+     */
+    @Column(name = "faixa", nullable = false)
+    private int faixa;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,41 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo das vendas ativas por mês, compactado a partir do resumo diário nos meses encerrados, nas mesmas
+ * faixas de clientes do resumo diário.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_mes", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Mes", columnNames = { "mes", "faixa" })})
+public class ResumoVendasMes {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    /**
+     * Faixa dos pedidos resumidos na linha, pelo ID do cliente ({@code ResumoVendasRepository.faixa}).
+     */
+    @Column(name = "faixa", nullable = false)
+    private int faixa;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
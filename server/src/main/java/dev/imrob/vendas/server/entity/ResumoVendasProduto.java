@@ -0,0 +1,52 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo diário das vendas ativas por produto, mantido incrementalmente na criação e no cancelamento de pedidos.
+ *
+ * <p>Como no {@link ResumoVendasDia}, cada produto e dia é dividido em linhas por faixa de clientes.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_produto", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Produto_Dia", columnNames = { "produto_id", "dia", "faixa" })})
+public class ResumoVendasProduto {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "produto_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Produto produto;
+
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    /**
+     * Faixa dos pedidos resumidos na linha, pelo ID do cliente ({@code ResumoVendasRepository.faixa}).
+     */
+    @Column(name = "faixa", nullable = false)
+    private int faixa;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,50 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo mensal das vendas ativas por produto, compactado a partir do resumo diário nos meses encerrados.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_resumo_vendas_produto_mes", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Resumo_Vendas_Produto_Mes", columnNames = { "produto_id", "mes", "faixa" })})
+public class ResumoVendasProdutoMes {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "produto_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Produto produto;
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    /**
+     * Faixa dos pedidos resumidos na linha, pelo ID do cliente ({@code ResumoVendasRepository.faixa}).
+     */
+    @Column(name = "faixa", nullable = false)
+    private int faixa;
+
+    @Column(name = "pedidos", nullable = false)
+    private long pedidos;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,41 @@
+package dev.imrob.vendas.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Saldo em aberto de um cliente em um ciclo de fatura.
+ *
+ * <p>Mantido pelo {@code PedidoService} na mesma transação que cria, cancela ou exclui um pedido,
+ * com o valor dos itens dos pedidos ativos cuja data pertence ao ciclo.</p>
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "tb_saldo_cliente", uniqueConstraints =
+        {@UniqueConstraint(name = "Unique_Saldo_Cliente_Ciclo", columnNames = { "cliente_id", "inicio_ciclo" })})
+public class SaldoCliente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Cliente cliente;
+
+    @Column(name = "inicio_ciclo", nullable = false)
+    private LocalDate inicioCiclo;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,20 @@
+package dev.imrob.vendas.server.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+public class ChaveIdempotenciaException extends AppVendasException {
+    private final String message;
+    public ChaveIdempotenciaException(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public ProblemDetail toProblemDetail() {
+        var pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        pd.setTitle("Chave de idempotência inválida.");
+        pd.setDetail(message);
+
+        return pd;
+    }
+}
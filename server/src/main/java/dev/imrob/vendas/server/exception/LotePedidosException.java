@@ -0,0 +1,20 @@
+package dev.imrob.vendas.server.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+public class LotePedidosException extends AppVendasException {
+    private final String message;
+    public LotePedidosException(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public ProblemDetail toProblemDetail() {
+        var pd = ProblemDetail.forStatus(HttpStatus.UNPROCESSABLE_ENTITY);
+        pd.setTitle("Lote de pedidos inválido.");
+        pd.setDetail(message);
+
+        return pd;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.imrob.vendas.server.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+public class RelatorioException extends AppVendasException {
+    private final HttpStatus status;
+    private final String message;
+
+    public RelatorioException(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    @Override
+    public ProblemDetail toProblemDetail() {
+        var pd = ProblemDetail.forStatus(status);
+        pd.setTitle("Relatório indisponível.");
+        pd.setDetail(message);
+
+        return pd;
+    }
+}
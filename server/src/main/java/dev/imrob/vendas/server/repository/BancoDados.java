@@ -0,0 +1,35 @@
+package dev.imrob.vendas.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Objects;
+
+/**
+ * Identifica o banco de dados da aplicação, para os repositórios que usam SQL específico do PostgreSQL.
+ */
+@RequiredArgsConstructor
+@Component
+public class BancoDados {
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    /**
+     * Indica se o banco é o PostgreSQL. Em outros bancos, como o H2 dos testes, os repositórios usam SQL padrão.
+     */
+    public boolean isPostgres() {
+        if (postgres == null) {
+            try {
+                String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                postgres = Objects.equals(banco, "PostgreSQL");
+            } catch (MetaDataAccessException e) {
+                postgres = false;
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,80 @@
+package dev.imrob.vendas.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Acesso à tabela {@code tb_chave_idempotencia}, com as chaves de idempotência dos pedidos criados.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ChaveIdempotenciaRepository {
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Busca o pedido criado com a chave, desconsiderando chaves expiradas.
+     *
+     * @param chave       A chave de idempotência.
+     * @param criadaApos  Instante a partir do qual a chave ainda é válida.
+     * @return O ID do pedido, se a chave existir e o pedido já tiver sido registrado.
+     */
+    public Optional<Long> buscarPedido(String chave, LocalDateTime criadaApos) {
+        return jdbcClient
+                .sql("SELECT pedido_id FROM tb_chave_idempotencia WHERE chave = :chave AND criada_em > :criadaApos AND pedido_id IS NOT NULL")
+                .param("chave", chave)
+                .param("criadaApos", criadaApos)
+                .query(Long.class)
+                .optional();
+    }
+
+    /**
+     * Reserva a chave para a transação atual, substituindo uma reserva expirada.
+     *
+     * <p>A chave é a chave primária da tabela: enquanto a transação que a reservou não termina, outra
+     * transação que tente reservá-la aguarda e, após o commit, falha com chave duplicada.</p>
+     *
+     * @param chave      A chave de idempotência.
+     * @param agora      O instante da reserva.
+     * @param criadaApos Instante a partir do qual uma chave existente ainda é válida.
+     */
+    public void reservar(String chave, LocalDateTime agora, LocalDateTime criadaApos) {
+        jdbcClient
+                .sql("DELETE FROM tb_chave_idempotencia WHERE chave = :chave AND criada_em <= :criadaApos")
+                .param("chave", chave)
+                .param("criadaApos", criadaApos)
+                .update();
+        jdbcClient
+                .sql("INSERT INTO tb_chave_idempotencia (chave, criada_em) VALUES (:chave, :agora)")
+                .param("chave", chave)
+                .param("agora", agora)
+                .update();
+    }
+
+    /**
+     * Associa o pedido criado à chave reservada.
+     */
+    public void registrarPedido(String chave, Long pedidoId) {
+        jdbcClient
+                .sql("UPDATE tb_chave_idempotencia SET pedido_id = :pedidoId WHERE chave = :chave")
+                .param("pedidoId", pedidoId)
+                .param("chave", chave)
+                .update();
+    }
+
+    /**
+     * Remove as chaves expiradas.
+     *
+     * @param criadaAte Instante até o qual as chaves estão expiradas.
+     * @return A quantidade de chaves removidas.
+     */
+    public int removerExpiradas(LocalDateTime criadaAte) {
+        return jdbcClient
+                .sql("DELETE FROM tb_chave_idempotencia WHERE criada_em <= :criadaAte")
+                .param("criadaAte", criadaAte)
+                .update();
+    }
+}
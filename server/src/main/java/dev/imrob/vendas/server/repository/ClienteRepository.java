@@ -1,9 +1,28 @@
 package dev.imrob.vendas.server.repository;
 
 import dev.imrob.vendas.server.entity.Cliente;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, PaginavelRepository<Cliente> {
+    /**
+     * Busca um cliente bloqueando a sua linha ({@code SELECT ... FOR UPDATE}) até o fim da transação.
+     *
+     * <p>Serializa a reserva de limite de crédito somente entre pedidos do mesmo cliente: pedidos de clientes
+     * diferentes não disputam o bloqueio. Por ser um bloqueio de linha no banco, vale também entre várias
+     * instâncias do servidor. Deve ser chamado dentro de uma transação.</p>
+     *
+     * @param id O ID do cliente.
+     * @return O cliente encontrado, bloqueado para a transação atual.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> findByIdParaReserva(@Param("id") Long id);
 }
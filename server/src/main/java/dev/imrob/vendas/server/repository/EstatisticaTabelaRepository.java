@@ -0,0 +1,44 @@
+package dev.imrob.vendas.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Fornece contagens aproximadas de registros sem percorrer as tabelas.
+ */
+@RequiredArgsConstructor
+@Repository
+public class EstatisticaTabelaRepository {
+    private final JdbcClient jdbcClient;
+    private final BancoDados banco;
+
+    /**
+     * Retorna a quantidade aproximada de registros de uma tabela.
+     *
+     * <p>No PostgreSQL utiliza a estimativa mantida pelo {@code ANALYZE} em {@code pg_class.reltuples},
+     * sem ler a tabela. A tabela é resolvida pelo {@code search_path}, como na consulta com {@code COUNT(*)},
+     * e não somente pelo nome, que pode se repetir em outros esquemas. Em outros bancos, ou enquanto a tabela
+     * ainda não foi analisada, utiliza {@code COUNT(*)}.</p>
+     *
+     * @param tabela O nome da tabela.
+     * @return A quantidade aproximada de registros.
+     */
+    public long contagemAproximada(String tabela) {
+        if (banco.isPostgres()) {
+            Long estimativa = jdbcClient
+                    .sql("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(CAST(:tabela AS TEXT))")
+                    .param("tabela", tabela)
+                    .query(Long.class)
+                    .optional()
+                    .orElse(-1L);
+            if (estimativa >= 0) {
+                return estimativa;
+            }
+        }
+        return jdbcClient
+                .sql("SELECT COUNT(*) FROM " + tabela)
+                .query(Long.class)
+                .single();
+    }
+}
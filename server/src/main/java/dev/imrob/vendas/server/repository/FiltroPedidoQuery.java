@@ -0,0 +1,125 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.entity.StatusPedido;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta a consulta SQL do filtro de pedidos.
+ *
+ * <p>Somente os critérios informados entram na cláusula WHERE e somente os parâmetros
+ * utilizados são vinculados. O filtro por produto é feito com um {@code EXISTS} em
+ * {@code tb_item_pedido}, evitando o JOIN e o {@code GROUP BY} sobre todos os itens.
+ * As condições são atendidas pelos índices {@code (cliente_id, data)} e {@code (status, data)}
+ * de {@code tb_pedido} e {@code (produto_id, pedido_id)} de {@code tb_item_pedido}.</p>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class FiltroPedidoQuery {
+    private final LocalDate dataInicio;
+    private final LocalDate dataFim;
+    private final Long clienteId;
+    private final Long produtoId;
+    private final StatusPedido status;
+
+    /**
+     * Cursor da paginação: apenas pedidos com ID maior que este são retornados (pode ser nulo).
+     */
+    private final Long apos;
+
+    /**
+     * Quantidade máxima de pedidos retornados (pode ser nulo para sem limite).
+     */
+    private final Integer limite;
+
+    /**
+     * Cria um filtro com os critérios informados. Qualquer critério pode ser nulo.
+     */
+    public static FiltroPedidoQuery de(LocalDate dataInicio, LocalDate dataFim, Long clienteId,
+                                       Long produtoId, StatusPedido status) {
+        return FiltroPedidoQuery.builder()
+                .dataInicio(dataInicio)
+                .dataFim(dataFim)
+                .clienteId(clienteId)
+                .produtoId(produtoId)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Retorna a cláusula WHERE do filtro sobre {@code tb_pedido p}, ou uma string vazia se não houver critérios.
+     *
+     * @return A cláusula WHERE, iniciada por espaço.
+     */
+    public String where() {
+        List<String> condicoes = new ArrayList<>();
+        if (dataInicio != null) {
+            condicoes.add("p.data >= :dataInicio");
+        }
+        if (dataFim != null) {
+            condicoes.add("p.data <= :dataFim");
+        }
+        if (clienteId != null) {
+            condicoes.add("p.cliente_id = :clienteId");
+        }
+        if (status != null) {
+            condicoes.add("p.status = :status");
+        }
+        if (apos != null) {
+            condicoes.add("p.id > :apos");
+        }
+        if (produtoId != null) {
+            condicoes.add("EXISTS (SELECT 1 FROM tb_item_pedido ip WHERE ip.pedido_id = p.id AND ip.produto_id = :produtoId)");
+        }
+        return condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes);
+    }
+
+    /**
+     * Retorna a subconsulta que seleciona os IDs dos pedidos que atendem ao filtro.
+     *
+     * <p>Quando há limite, os IDs são ordenados e limitados, formando a paginação por cursor
+     * {@code WHERE p.id > :apos ORDER BY p.id FETCH FIRST :limite ROWS ONLY}.</p>
+     */
+    public String idsPedidos() {
+        String sql = "SELECT p.id FROM tb_pedido p" + where();
+        if (limite != null) {
+            sql += " ORDER BY p.id FETCH FIRST :limite ROWS ONLY";
+        }
+        return sql;
+    }
+
+    /**
+     * Retorna apenas os parâmetros utilizados pela consulta.
+     */
+    public Map<String, Object> parametros() {
+        Map<String, Object> params = new HashMap<>();
+        if (dataInicio != null) {
+            params.put("dataInicio", dataInicio);
+        }
+        if (dataFim != null) {
+            params.put("dataFim", dataFim);
+        }
+        if (clienteId != null) {
+            params.put("clienteId", clienteId);
+        }
+        if (status != null) {
+            params.put("status", status.name());
+        }
+        if (apos != null) {
+            params.put("apos", apos);
+        }
+        if (produtoId != null) {
+            params.put("produtoId", produtoId);
+        }
+        if (limite != null) {
+            params.put("limite", limite);
+        }
+        return params;
+    }
+}
@@ -1,52 +1,242 @@
 package dev.imrob.vendas.server.repository;
 
+import dev.imrob.vendas.server.dto.mapper.ClienteRowMapper;
+import dev.imrob.vendas.server.dto.mapper.ItemPedidoRowMapper;
 import dev.imrob.vendas.server.dto.mapper.PedidoRowMapper;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.ItemPedido;
 import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.entity.Produto;
 import dev.imrob.vendas.server.entity.StatusPedido;
-import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
-@RequiredArgsConstructor
 @Repository
 public class FiltroPedidoRepository {
+    /**
+     * Quantidade de linhas buscadas por vez no cursor da exportação.
+     */
+    static final int TAMANHO_FETCH_EXPORTACAO = 1000;
+
+    /**
+     * Quantidade máxima de IDs por consulta de clientes e itens dos pedidos carregados.
+     */
+    static final int TAMANHO_BLOCO_IDS = 1000;
+
     private final JdbcClient jdbcClient;
+    private final JdbcClient jdbcClientExportacao;
     private final PedidoRowMapper rowMapper;
+    private final ClienteRowMapper clienteRowMapper;
+    private final ItemPedidoRowMapper itemRowMapper;
 
+    public FiltroPedidoRepository(JdbcClient jdbcClient, DataSource dataSource, PedidoRowMapper rowMapper,
+                                  ClienteRowMapper clienteRowMapper, ItemPedidoRowMapper itemRowMapper) {
+        this.jdbcClient = jdbcClient;
+        this.rowMapper = rowMapper;
+        this.clienteRowMapper = clienteRowMapper;
+        this.itemRowMapper = itemRowMapper;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(TAMANHO_FETCH_EXPORTACAO);
+        this.jdbcClientExportacao = JdbcClient.create(jdbcTemplate);
+    }
+
+    /**
+     * Busca pedidos com base nos filtros informados, já com cliente e itens preenchidos.
+     *
+     * @see #filtrarPedidosPor(FiltroPedidoQuery)
+     */
     public List<Pedido> filtrarPedidosPor(LocalDate dataInicio, LocalDate dataFim, Long clienteId, Long produtoId, StatusPedido status) {
-        StringBuilder sql = new StringBuilder("SELECT p.* FROM tb_pedido p ");
-        sql.append("LEFT JOIN tb_item_pedido ip ON p.id = ip.pedido_id ");
-        sql.append("LEFT JOIN tb_produto prod ON ip.produto_id = prod.id ");
-        sql.append("WHERE 1=1 ");
-        if (dataInicio != null) {
-            sql.append("AND p.data >= :dataInicio ");
+        return filtrarPedidosPor(FiltroPedidoQuery.de(dataInicio, dataFim, clienteId, produtoId, status));
+    }
+
+    /**
+     * Busca pedidos com base no filtro informado, já com cliente e itens preenchidos.
+     *
+     * <p>São executadas três consultas para até {@value #TAMANHO_BLOCO_IDS} pedidos: uma para os pedidos, que
+     * aplica o filtro, uma para os clientes e outra para os itens, buscados pelos IDs dos pedidos encontrados.
+     * Cliente e itens são ligados aos pedidos em memória pelo ID.</p>
+     *
+     * @param filtro O filtro a ser aplicado.
+     * @return Os pedidos encontrados, ordenados pelo ID.
+     */
+    public List<Pedido> filtrarPedidosPor(FiltroPedidoQuery filtro) {
+        return carregarPedidos(filtro.idsPedidos(), filtro.parametros());
+    }
+
+    /**
+     * Percorre os pedidos que atendem ao filtro, entregando um pedido por vez ao consumidor.
+     *
+     * <p>Executa uma única consulta com pedidos, clientes e itens ordenada pelo ID do pedido, lida por um
+     * cursor somente-avanço com tamanho de fetch fixo. As linhas de um mesmo pedido são agrupadas e o pedido
+     * é entregue assim que o próximo começa, de modo que apenas um pedido fica em memória por vez.
+     * No PostgreSQL o cursor só é utilizado dentro de uma transação.</p>
+     *
+     * @param filtro     O filtro a ser aplicado.
+     * @param consumidor O consumidor que recebe cada pedido, com cliente e itens preenchidos.
+     */
+    public void exportarPedidosPor(FiltroPedidoQuery filtro, Consumer<Pedido> consumidor) {
+        String sql = """
+                SELECT p.id, p.data, p.valor_total, p.status, p.cliente_id,
+                       c.nome, c.limite_compra, c.dia_fechamento_fatura,
+                       i.id AS item_id, i.quantidade, i.preco_unitario, i.produto_id, pr.descricao, pr.preco
+                FROM tb_pedido p
+                JOIN tb_cliente c ON c.id = p.cliente_id
+                LEFT JOIN tb_item_pedido i ON i.pedido_id = p.id
+                LEFT JOIN tb_produto pr ON pr.id = i.produto_id
+                """ + filtro.where() + " ORDER BY p.id";
+
+        AgrupadorPedidos agrupador = new AgrupadorPedidos(consumidor);
+        jdbcClientExportacao
+                .sql(sql)
+                .params(filtro.parametros())
+                .query(agrupador);
+        agrupador.finalizar();
+    }
+
+    /**
+     * Conta os pedidos que atendem ao filtro, parando ao atingir o teto informado.
+     *
+     * <p>A contagem percorre no máximo {@code teto} pedidos pelos índices do filtro, mantendo
+     * o custo limitado mesmo para filtros muito amplos.</p>
+     *
+     * @param filtro O filtro a ser aplicado. Cursor e limite são ignorados.
+     * @param teto   A quantidade máxima a ser contada.
+     * @return A quantidade de pedidos encontrados, no máximo {@code teto}.
+     */
+    public long contarPedidosAte(FiltroPedidoQuery filtro, int teto) {
+        FiltroPedidoQuery contagem = filtro.toBuilder().apos(null).limite(null).build();
+        return jdbcClient
+                .sql("SELECT COUNT(*) FROM (SELECT p.id FROM tb_pedido p" + contagem.where() + " FETCH FIRST :teto ROWS ONLY) ids")
+                .params(contagem.parametros())
+                .param("teto", teto)
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Carrega os pedidos cujos IDs são retornados pela subconsulta informada, junto com seus clientes e itens.
+     *
+     * <p>O filtro é executado uma única vez, na consulta dos pedidos. Clientes e itens são buscados pelos IDs
+     * dos pedidos já carregados, em blocos de até {@value #TAMANHO_BLOCO_IDS} IDs por consulta.</p>
+     *
+     * @param idsPedidos Subconsulta que retorna os IDs dos pedidos.
+     * @param params     Parâmetros utilizados pela subconsulta.
+     * @return Os pedidos encontrados, ordenados pelo ID.
+     */
+    private List<Pedido> carregarPedidos(String idsPedidos, Map<String, Object> params) {
+        List<Pedido> pedidos = jdbcClient
+                .sql("SELECT p.* FROM tb_pedido p WHERE p.id IN (" + idsPedidos + ") ORDER BY p.id")
+                .params(params)
+                .query(rowMapper)
+                .list();
+        if (pedidos.isEmpty()) {
+            return pedidos;
+        }
+
+        Map<Long, Pedido> pedidosPorId = new LinkedHashMap<>();
+        for (Pedido pedido : pedidos) {
+            pedidosPorId.put(pedido.getId(), pedido);
         }
-        if (dataFim != null) {
-            sql.append("AND p.data <= :dataFim ");
+        List<Long> clienteIds = pedidos.stream()
+                .map(pedido -> pedido.getCliente().getId())
+                .distinct()
+                .toList();
+
+        Map<Long, Cliente> clientes = new HashMap<>();
+        for (List<Long> bloco : emBlocos(clienteIds)) {
+            jdbcClient
+                    .sql("SELECT c.* FROM tb_cliente c WHERE c.id IN (:ids)")
+                    .param("ids", bloco)
+                    .query(clienteRowMapper)
+                    .list()
+                    .forEach(cliente -> clientes.put(cliente.getId(), cliente));
         }
-        if (clienteId != null) {
-            sql.append("AND p.cliente_id = :clienteId ");
+
+        List<ItemPedido> itens = new ArrayList<>();
+        for (List<Long> bloco : emBlocos(List.copyOf(pedidosPorId.keySet()))) {
+            itens.addAll(jdbcClient
+                    .sql("""
+                            SELECT ip.id, ip.quantidade, ip.preco_unitario, ip.pedido_id, pr.id AS produto_id, pr.descricao, pr.preco
+                            FROM tb_item_pedido ip
+                            JOIN tb_produto pr ON pr.id = ip.produto_id
+                            WHERE ip.pedido_id IN (:ids)
+                            """)
+                    .param("ids", bloco)
+                    .query(itemRowMapper)
+                    .list());
         }
-        if (produtoId != null) {
-            sql.append("AND ip.produto_id = :produtoId ");
+
+        for (Pedido pedido : pedidos) {
+            pedido.setCliente(clientes.get(pedido.getCliente().getId()));
         }
-        if (status != null) {
-            sql.append("AND p.status = :status ");
+        for (ItemPedido item : itens) {
+            Pedido pedido = pedidosPorId.get(item.getPedido().getId());
+            if (pedido != null) {
+                item.setPedido(pedido);
+                pedido.getItens().add(item);
+            }
         }
-        sql.append("GROUP BY p.id ");
+        return pedidos;
+    }
 
-        assert status != null;
-        return jdbcClient
-                .sql(sql.toString())
-                .param("dataInicio", dataInicio)
-                .param("dataFim", dataFim)
-                .param("clienteId", clienteId)
-                .param("produtoId", produtoId)
-                .param("status", status.name())
-                .query(rowMapper)
-                .list();
+    private static List<List<Long>> emBlocos(List<Long> ids) {
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_IDS) {
+            blocos.add(ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, ids.size())));
+        }
+        return blocos;
+    }
+
+    /**
+     * Agrupa as linhas consecutivas de um mesmo pedido e entrega cada pedido completo ao consumidor.
+     */
+    private static class AgrupadorPedidos implements RowCallbackHandler {
+        private final Consumer<Pedido> consumidor;
+        private Pedido atual;
+
+        AgrupadorPedidos(Consumer<Pedido> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long pedidoId = rs.getLong("id");
+            if (atual == null || atual.getId() != pedidoId) {
+                finalizar();
+                atual = new Pedido();
+                atual.setId(pedidoId);
+                atual.setData(rs.getDate("data").toLocalDate());
+                atual.setValorTotal(rs.getBigDecimal("valor_total"));
+                atual.setStatus(StatusPedido.valueOf(rs.getString("status")));
+                atual.setCliente(new Cliente(rs.getLong("cliente_id"), rs.getString("nome"),
+                        rs.getBigDecimal("limite_compra"), rs.getInt("dia_fechamento_fatura")));
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                Produto produto = new Produto(rs.getLong("produto_id"), rs.getString("descricao"), rs.getBigDecimal("preco"));
+                atual.getItens().add(new ItemPedido(itemId, atual, produto, rs.getInt("quantidade"),
+                        rs.getBigDecimal("preco_unitario")));
+            }
+        }
+
+        void finalizar() {
+            if (atual != null) {
+                consumidor.accept(atual);
+                atual = null;
+            }
+        }
     }
 }
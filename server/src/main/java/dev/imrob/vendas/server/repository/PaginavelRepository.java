@@ -0,0 +1,19 @@
+package dev.imrob.vendas.server.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * Repositório com suporte a paginação baseada em cursor (keyset) pelo ID.
+ *
+ * <p>A consulta gerada é {@code WHERE id > :cursor ORDER BY id LIMIT :n}, cujo custo não
+ * depende da profundidade da página, ao contrário de {@code OFFSET}.</p>
+ *
+ * @param <E> O tipo da entidade.
+ */
+@NoRepositoryBean
+public interface PaginavelRepository<E> {
+    List<E> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -14,23 +14,25 @@ import java.util.List;
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     /**
-     * Calcula o total de compras realizadas por um cliente a partir de uma data específica.
+     * Calcula o total de compras ativas realizadas por um cliente a partir de uma data específica.
      *
      * @param clienteId O ID do cliente.
      * @param data      A data a partir da qual o total de compras deve ser calculado.
      * @return O valor total das compras realizadas pelo cliente desde a data especificada.
      */
     @Query(value = """
-            SELECT sum(pr.preco * ip.quantidade) FROM tb_pedido p
+            SELECT sum(ip.preco_unitario * ip.quantidade) FROM tb_pedido p
             INNER JOIN tb_item_pedido ip ON ip.pedido_id = p.id
-            INNER JOIN tb_produto pr ON ip.produto_id = pr.id
-            WHERE p.cliente_id = :clienteId AND p.data > :data
+            WHERE p.cliente_id = :clienteId AND p.data > :data AND p.status = 'ATIVO'
             """, nativeQuery = true)
     BigDecimal totalComprasDesdeData(@Param("clienteId") Long clienteId, @Param("data") LocalDate data);
 
     /**
      * Retorna uma lista de pedidos agrupados por cliente, juntamente com o total gasto por cada cliente.
      *
+     * <p>Lê o resumo diário {@code tb_resumo_vendas_cliente}, mantido a cada pedido criado ou cancelado,
+     * em vez de agregar {@code tb_pedido}. Pedidos cancelados não são considerados.</p>
+     *
      * @return Uma lista de arrays de objetos, onde cada array representa um cliente e seu total gasto:
      *         <ul>
      *         <li>Object[0]: {@link Long} - ID do cliente.</li>
@@ -39,10 +41,12 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      *         </ul>
      */
     @Query(value = """
-            SELECT c.id, c.nome, SUM(p.valor_total) AS total_compras
-            FROM tb_pedido p
-            JOIN tb_cliente c ON p.cliente_id = c.id
-            GROUP BY c.id, c.nome
+            SELECT c.id, c.nome, r.total_compras
+            FROM (SELECT cliente_id, SUM(total) AS total_compras
+                  FROM tb_resumo_vendas_cliente
+                  GROUP BY cliente_id
+                  HAVING SUM(pedidos) > 0) r
+            JOIN tb_cliente c ON c.id = r.cliente_id
             """, nativeQuery = true)
     List<Object[]> pedidosAgrupadosPorCliente();
 
@@ -50,6 +54,10 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * Retorna uma lista de produtos que foram incluídos em pedidos, juntamente com a
      * quantidade total pedida e o valor total para cada produto.
      *
+     * <p>Lê o resumo diário {@code tb_resumo_vendas_produto}, mantido a cada pedido criado ou cancelado
+     * com o preço unitário registrado em cada item; {@code tb_produto} é consultada somente para a
+     * descrição de cada produto agregado. Pedidos cancelados não são considerados.</p>
+     *
      * @return Uma lista de arrays de objetos, onde cada array representa um produto e suas estatísticas de pedido:
      *         <ul>
      *         <li>Object[0]: {@link Long} - ID do produto.</li>
@@ -59,11 +67,12 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      *         </ul>
      */
     @Query(value = """
-            SELECT pr.id, pr.descricao, SUM(ip.quantidade) AS quantidade, SUM(pr.preco * ip.quantidade) AS total_vendido
-            FROM tb_pedido p
-            JOIN tb_item_pedido ip ON p.id = ip.pedido_id
-            JOIN tb_produto pr ON ip.produto_id = pr.id
-            GROUP BY pr.id, pr.descricao;
+            SELECT pr.id, pr.descricao, r.quantidade, r.total_vendido
+            FROM (SELECT produto_id, SUM(quantidade) AS quantidade, SUM(total) AS total_vendido
+                  FROM tb_resumo_vendas_produto
+                  GROUP BY produto_id
+                  HAVING SUM(pedidos) > 0) r
+            JOIN tb_produto pr ON pr.id = r.produto_id
             """, nativeQuery = true)
     List<Object[]> pedidosAgrupadosPorProduto();
 }
@@ -0,0 +1,373 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.dto.DivergenciaResumoDTO;
+import dev.imrob.vendas.server.dto.Granularidade;
+import dev.imrob.vendas.server.dto.PontoSerieDTO;
+import dev.imrob.vendas.server.repository.SomaAtomica.Coluna;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acesso às tabelas de resumo de vendas por cliente, por produto e no total, diárias e mensais.
+ *
+ * <p>Os resumos são atualizados por deltas, somados em uma única instrução que também cria a linha do período
+ * quando ela ainda não existe ({@link SomaAtomica}), e podem ser recalculados a partir dos pedidos ativos. Os
+ * resumos mensais são compactados a partir dos diários, um mês encerrado por vez.</p>
+ *
+ * <p>Os resumos compartilhados por clientes diferentes, o total e os produtos, são divididos em
+ * {@value #FAIXAS} faixas de clientes ({@link #faixa(Long)}): cada pedido atualiza somente as linhas da faixa
+ * do seu cliente, e pedidos de clientes de faixas diferentes não disputam o bloqueio dessas linhas até o commit.
+ * As leituras somam as faixas de cada período.</p>
+ */
+@RequiredArgsConstructor
+@Repository
+public class ResumoVendasRepository {
+    /**
+     * Quantidade de faixas de clientes dos resumos de total e de produtos.
+     */
+    public static final int FAIXAS = 16;
+
+    private static final String RECALCULO_CLIENTE = """
+            SELECT p.cliente_id, p.data AS dia, COUNT(*) AS pedidos, SUM(p.valor_total) AS total
+            FROM tb_pedido p
+            WHERE p.status = 'ATIVO'
+            GROUP BY p.cliente_id, p.data""";
+
+    private static final String RECALCULO_PRODUTO = """
+            SELECT ip.produto_id, p.data AS dia, MOD(p.cliente_id, %1$d) AS faixa, COUNT(*) AS pedidos,
+                   SUM(ip.quantidade) AS quantidade, SUM(ip.preco_unitario * ip.quantidade) AS total
+            FROM tb_item_pedido ip
+            JOIN tb_pedido p ON p.id = ip.pedido_id
+            WHERE p.status = 'ATIVO'
+            GROUP BY ip.produto_id, p.data, MOD(p.cliente_id, %1$d)""".formatted(FAIXAS);
+
+    private static final String RECALCULO_DIA = """
+            SELECT p.data AS dia, MOD(p.cliente_id, %1$d) AS faixa, COUNT(*) AS pedidos, SUM(p.valor_total) AS total
+            FROM tb_pedido p
+            WHERE p.status = 'ATIVO'
+            GROUP BY p.data, MOD(p.cliente_id, %1$d)""".formatted(FAIXAS);
+
+    private static final Coluna CLIENTE = new Coluna("cliente_id", "BIGINT");
+    private static final Coluna PRODUTO = new Coluna("produto_id", "BIGINT");
+    private static final Coluna PEDIDOS = new Coluna("pedidos", "BIGINT");
+    private static final Coluna FAIXA = new Coluna("faixa", "INTEGER");
+    private static final Coluna QUANTIDADE = new Coluna("quantidade", "BIGINT");
+    private static final Coluna TOTAL = new Coluna("total", "NUMERIC(38, 2)");
+
+    private final JdbcClient jdbcClient;
+    private final SomaAtomica somaAtomica;
+    private final BancoDados banco;
+
+    /**
+     * Movimento de um produto em um pedido, somado ao resumo do produto no dia do pedido.
+     */
+    public record MovimentoProduto(Long produtoId, long pedidos, long quantidade, BigDecimal total) {
+    }
+
+    /**
+     * Retorna a faixa dos resumos de total e de produtos em que entram os pedidos de um cliente.
+     */
+    public static int faixa(Long clienteId) {
+        return (int) Math.floorMod(clienteId, FAIXAS);
+    }
+
+    /**
+     * Soma um movimento ao resumo do cliente no dia ou no mês.
+     */
+    public void adicionarCliente(Granularidade granularidade, Long clienteId, LocalDate periodo, long pedidos, BigDecimal total) {
+        somaAtomica.somar(tabela("tb_resumo_vendas_cliente", granularidade),
+                List.of(CLIENTE, periodo(granularidade)), List.of(PEDIDOS, TOTAL),
+                List.<Object[]>of(new Object[]{clienteId, periodo, pedidos, total}));
+    }
+
+    /**
+     * Soma os movimentos dos produtos de uma faixa de clientes ao resumo de cada produto no dia ou no mês, em uma
+     * instrução.
+     *
+     * <p>Os movimentos devem estar ordenados pelo ID do produto, sem repetir produtos, para que transações
+     * concorrentes bloqueiem as linhas sempre na mesma ordem.</p>
+     */
+    public void adicionarProdutos(Granularidade granularidade, LocalDate periodo, int faixa,
+                                  List<MovimentoProduto> movimentos) {
+        somaAtomica.somar(tabela("tb_resumo_vendas_produto", granularidade),
+                List.of(PRODUTO, periodo(granularidade), FAIXA), List.of(PEDIDOS, QUANTIDADE, TOTAL),
+                movimentos.stream()
+                        .map(movimento -> new Object[]{movimento.produtoId(), periodo, faixa, movimento.pedidos(),
+                                movimento.quantidade(), movimento.total()})
+                        .toList());
+    }
+
+    /**
+     * Soma um movimento de uma faixa de clientes ao resumo total do dia ou do mês.
+     */
+    public void adicionarTotal(Granularidade granularidade, LocalDate periodo, int faixa, long pedidos, BigDecimal total) {
+        somaAtomica.somar(granularidade == Granularidade.MES ? "tb_resumo_vendas_mes" : "tb_resumo_vendas_dia",
+                List.of(periodo(granularidade), FAIXA), List.of(PEDIDOS, TOTAL),
+                List.<Object[]>of(new Object[]{periodo, faixa, pedidos, total}));
+    }
+
+    /**
+     * Compara os resumos com o recálculo completo a partir dos pedidos ativos.
+     *
+     * <p>Linhas de resumo zeradas sem pedidos correspondentes, deixadas por cancelamentos, não são divergências.
+     * Os resumos de total e de produtos são comparados faixa a faixa, e o resumo total de cada mês compactado com
+     * a soma dos dias do mês na mesma faixa.</p>
+     *
+     * @param limite A quantidade máxima de divergências retornadas.
+     * @return As divergências encontradas nos resumos.
+     */
+    public List<DivergenciaResumoDTO> divergencias(int limite) {
+        String sql = """
+                SELECT 'cliente' AS resumo, c.cliente_id AS id, c.dia,
+                       COALESCE(r.pedidos, 0) AS pedidos_registrados, c.pedidos AS pedidos_calculados,
+                       COALESCE(r.total, 0) AS total_registrado, c.total AS total_calculado
+                FROM (%1$s) c
+                LEFT JOIN tb_resumo_vendas_cliente r ON r.cliente_id = c.cliente_id AND r.dia = c.dia
+                WHERE r.cliente_id IS NULL OR r.pedidos <> c.pedidos OR r.total <> c.total
+                UNION ALL
+                SELECT 'cliente', r.cliente_id, r.dia, r.pedidos, 0, r.total, 0
+                FROM tb_resumo_vendas_cliente r
+                WHERE (r.pedidos <> 0 OR r.total <> 0) AND NOT EXISTS (
+                    SELECT 1 FROM tb_pedido p WHERE p.cliente_id = r.cliente_id AND p.data = r.dia AND p.status = 'ATIVO')
+                UNION ALL
+                SELECT 'produto', c.produto_id, c.dia,
+                       COALESCE(r.pedidos, 0), c.pedidos, COALESCE(r.total, 0), c.total
+                FROM (%2$s) c
+                LEFT JOIN tb_resumo_vendas_produto r ON r.produto_id = c.produto_id AND r.dia = c.dia AND r.faixa = c.faixa
+                WHERE r.produto_id IS NULL OR r.pedidos <> c.pedidos OR r.quantidade <> c.quantidade OR r.total <> c.total
+                UNION ALL
+                SELECT 'produto', r.produto_id, r.dia, r.pedidos, 0, r.total, 0
+                FROM tb_resumo_vendas_produto r
+                WHERE (r.pedidos <> 0 OR r.quantidade <> 0 OR r.total <> 0) AND NOT EXISTS (
+                    SELECT 1 FROM tb_item_pedido ip JOIN tb_pedido p ON p.id = ip.pedido_id
+                    WHERE ip.produto_id = r.produto_id AND p.data = r.dia AND MOD(p.cliente_id, %4$d) = r.faixa
+                      AND p.status = 'ATIVO')
+                UNION ALL
+                SELECT 'dia', NULL, c.dia, COALESCE(r.pedidos, 0), c.pedidos, COALESCE(r.total, 0), c.total
+                FROM (%3$s) c
+                LEFT JOIN tb_resumo_vendas_dia r ON r.dia = c.dia AND r.faixa = c.faixa
+                WHERE r.dia IS NULL OR r.pedidos <> c.pedidos OR r.total <> c.total
+                UNION ALL
+                SELECT 'dia', NULL, r.dia, r.pedidos, 0, r.total, 0
+                FROM tb_resumo_vendas_dia r
+                WHERE (r.pedidos <> 0 OR r.total <> 0) AND NOT EXISTS (
+                    SELECT 1 FROM tb_pedido p
+                    WHERE p.data = r.dia AND MOD(p.cliente_id, %4$d) = r.faixa AND p.status = 'ATIVO')
+                UNION ALL
+                SELECT 'mes', NULL, m.mes, m.pedidos, COALESCE(SUM(d.pedidos), 0), m.total, COALESCE(SUM(d.total), 0)
+                FROM tb_resumo_vendas_mes m
+                LEFT JOIN tb_resumo_vendas_dia d
+                    ON d.faixa = m.faixa AND d.dia >= m.mes AND d.dia < m.mes + INTERVAL '1' MONTH
+                GROUP BY m.mes, m.faixa, m.pedidos, m.total
+                HAVING m.pedidos <> COALESCE(SUM(d.pedidos), 0) OR m.total <> COALESCE(SUM(d.total), 0)
+                FETCH FIRST :limite ROWS ONLY
+                """.formatted(RECALCULO_CLIENTE, RECALCULO_PRODUTO, RECALCULO_DIA, FAIXAS);
+        return jdbcClient
+                .sql(sql)
+                .param("limite", limite)
+                .query(DivergenciaResumoDTO.class)
+                .list();
+    }
+
+    /**
+     * Substitui o conteúdo dos três resumos diários pelo recálculo completo a partir dos pedidos ativos e apaga
+     * os resumos mensais, que devem ser compactados novamente. Deve ser executado em uma transação.
+     *
+     * <p>No PostgreSQL, as escritas nos resumos são bloqueadas até o fim da transação antes do recálculo, na
+     * mesma ordem em que os pedidos atualizam os resumos. O bloqueio espera os pedidos que já atualizaram os
+     * resumos serem confirmados, e o recálculo os lê; os pedidos seguintes esperam a reconstrução e somam o seu
+     * movimento aos resumos reconstruídos. Assim nenhum pedido é perdido nem contado duas vezes.</p>
+     */
+    public void reconstruir() {
+        if (banco.isPostgres()) {
+            jdbcClient.sql("""
+                    LOCK TABLE tb_resumo_vendas_cliente, tb_resumo_vendas_produto, tb_resumo_vendas_dia,
+                               tb_resumo_vendas_cliente_mes, tb_resumo_vendas_produto_mes, tb_resumo_vendas_mes
+                    IN SHARE ROW EXCLUSIVE MODE""").update();
+        }
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_cliente_mes").update();
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_produto_mes").update();
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_mes").update();
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_cliente").update();
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_produto").update();
+        jdbcClient.sql("DELETE FROM tb_resumo_vendas_dia").update();
+        jdbcClient.sql("INSERT INTO tb_resumo_vendas_cliente (cliente_id, dia, pedidos, total) " + RECALCULO_CLIENTE).update();
+        jdbcClient.sql("INSERT INTO tb_resumo_vendas_produto (produto_id, dia, faixa, pedidos, quantidade, total) " + RECALCULO_PRODUTO).update();
+        jdbcClient.sql("INSERT INTO tb_resumo_vendas_dia (dia, faixa, pedidos, total) " + RECALCULO_DIA).update();
+    }
+
+    /**
+     * Retorna o primeiro mês ainda não compactado: os meses anteriores têm resumos mensais, e os demais só
+     * resumos diários. Todo mês compactado tem ao menos uma linha no resumo total mensal, mesmo sem vendas.
+     *
+     * @return O primeiro dia do mês seguinte ao último mês compactado, ou vazio se nenhum mês foi compactado.
+     */
+    public Optional<LocalDate> compactadoAte() {
+        return jdbcClient
+                .sql("SELECT mes FROM tb_resumo_vendas_mes ORDER BY mes DESC FETCH FIRST 1 ROWS ONLY")
+                .query(LocalDate.class)
+                .optional()
+                .map(mes -> mes.plusMonths(1));
+    }
+
+    /**
+     * Retorna o dia mais antigo com resumo diário.
+     */
+    public Optional<LocalDate> primeiroDia() {
+        return jdbcClient
+                .sql("SELECT dia FROM tb_resumo_vendas_dia ORDER BY dia FETCH FIRST 1 ROWS ONLY")
+                .query(LocalDate.class)
+                .optional();
+    }
+
+    /**
+     * Recalcula os três resumos mensais de um mês a partir dos resumos diários.
+     *
+     * <p>O resumo total diário é bloqueado para escrita antes do cálculo: no PostgreSQL a tabela inteira, já que
+     * um pedido pode criar a linha de uma faixa ainda sem resumo no dia; nos demais bancos, as linhas do mês. Um
+     * pedido do mês gravado ao mesmo tempo atualiza esse resumo antes dos mensais, então espera a compactação
+     * terminar e, já com o mês compactado, soma o seu movimento também aos resumos mensais.</p>
+     *
+     * <p>Um mês sem resumos diários recebe um resumo total zerado na faixa 0, que marca o mês como compactado
+     * em {@link #compactadoAte()}; sem ele, a compactação voltaria a esse mês a cada execução.</p>
+     *
+     * @param mes O primeiro dia do mês.
+     */
+    public void compactarMes(LocalDate mes) {
+        LocalDate proximo = mes.plusMonths(1);
+        if (banco.isPostgres()) {
+            jdbcClient.sql("LOCK TABLE tb_resumo_vendas_dia IN SHARE ROW EXCLUSIVE MODE").update();
+        } else {
+            jdbcClient.sql("SELECT dia FROM tb_resumo_vendas_dia WHERE dia >= :mes AND dia < :proximo FOR UPDATE")
+                    .param("mes", mes)
+                    .param("proximo", proximo)
+                    .query(LocalDate.class)
+                    .list();
+        }
+        for (String tabela : List.of("tb_resumo_vendas_cliente_mes", "tb_resumo_vendas_produto_mes", "tb_resumo_vendas_mes")) {
+            jdbcClient.sql("DELETE FROM %s WHERE mes = :mes".formatted(tabela)).param("mes", mes).update();
+        }
+        jdbcClient
+                .sql("""
+                        INSERT INTO tb_resumo_vendas_cliente_mes (cliente_id, mes, pedidos, total)
+                        SELECT cliente_id, CAST(:mes AS DATE), SUM(pedidos), SUM(total)
+                        FROM tb_resumo_vendas_cliente
+                        WHERE dia >= :mes AND dia < :proximo
+                        GROUP BY cliente_id""")
+                .param("mes", mes)
+                .param("proximo", proximo)
+                .update();
+        jdbcClient
+                .sql("""
+                        INSERT INTO tb_resumo_vendas_produto_mes (produto_id, mes, faixa, pedidos, quantidade, total)
+                        SELECT produto_id, CAST(:mes AS DATE), faixa, SUM(pedidos), SUM(quantidade), SUM(total)
+                        FROM tb_resumo_vendas_produto
+                        WHERE dia >= :mes AND dia < :proximo
+                        GROUP BY produto_id, faixa""")
+                .param("mes", mes)
+                .param("proximo", proximo)
+                .update();
+        int faixas = jdbcClient
+                .sql("""
+                        INSERT INTO tb_resumo_vendas_mes (mes, faixa, pedidos, total)
+                        SELECT CAST(:mes AS DATE), faixa, SUM(pedidos), SUM(total)
+                        FROM tb_resumo_vendas_dia
+                        WHERE dia >= :mes AND dia < :proximo
+                        GROUP BY faixa""")
+                .param("mes", mes)
+                .param("proximo", proximo)
+                .update();
+        if (faixas == 0) {
+            jdbcClient.sql("INSERT INTO tb_resumo_vendas_mes (mes, faixa, pedidos, total) VALUES (:mes, 0, 0, 0)")
+                    .param("mes", mes)
+                    .update();
+        }
+    }
+
+    /**
+     * Lê uma série de vendas de um resumo, de um cliente, de um produto ou do total.
+     *
+     * <p>Somente os períodos com resumo são retornados, em ordem, somando as faixas de cada período. Informe no máximo um de {@code clienteId} e
+     * {@code produtoId}; para os dois juntos, use {@link #serieClienteProduto}.</p>
+     *
+     * @param granularidade O resumo lido, diário ou mensal.
+     * @param clienteId     O cliente (opcional).
+     * @param produtoId     O produto (opcional).
+     * @param inicio        O primeiro período, inclusive.
+     * @param fim           O último período, inclusive.
+     * @return Os pontos da série, um por período com resumo.
+     */
+    public List<PontoSerieDTO> serie(Granularidade granularidade, Long clienteId, Long produtoId,
+                                     LocalDate inicio, LocalDate fim) {
+        String coluna = coluna(granularidade);
+        String tabela;
+        String filtro = "";
+        if (clienteId != null) {
+            tabela = tabela("tb_resumo_vendas_cliente", granularidade);
+            filtro = "cliente_id = :id AND ";
+        } else if (produtoId != null) {
+            tabela = tabela("tb_resumo_vendas_produto", granularidade);
+            filtro = "produto_id = :id AND ";
+        } else {
+            tabela = granularidade == Granularidade.MES ? "tb_resumo_vendas_mes" : "tb_resumo_vendas_dia";
+        }
+        JdbcClient.StatementSpec consulta = jdbcClient
+                .sql("""
+                        SELECT %2$s AS periodo, SUM(pedidos) AS pedidos, SUM(total) AS total
+                        FROM %1$s
+                        WHERE %3$s%2$s BETWEEN :inicio AND :fim
+                        GROUP BY %2$s
+                        ORDER BY %2$s""".formatted(tabela, coluna, filtro))
+                .param("inicio", inicio)
+                .param("fim", fim);
+        if (!filtro.isEmpty()) {
+            consulta = consulta.param("id", clienteId != null ? clienteId : produtoId);
+        }
+        return consulta.query(PontoSerieDTO.class).list();
+    }
+
+    /**
+     * Lê a série diária de vendas de um produto para um cliente a partir dos pedidos, pois não há resumo por
+     * cliente e produto. Percorre somente os pedidos do cliente no intervalo.
+     *
+     * @param clienteId O cliente.
+     * @param produtoId O produto.
+     * @param inicio    O primeiro dia, inclusive.
+     * @param fim       O último dia, inclusive.
+     * @return Os pontos da série, um por dia com pedidos do produto.
+     */
+    public List<PontoSerieDTO> serieClienteProduto(Long clienteId, Long produtoId, LocalDate inicio, LocalDate fim) {
+        return jdbcClient
+                .sql("""
+                        SELECT p.data AS periodo, COUNT(*) AS pedidos, SUM(ip.preco_unitario * ip.quantidade) AS total
+                        FROM tb_pedido p
+                        JOIN tb_item_pedido ip ON ip.pedido_id = p.id AND ip.produto_id = :produtoId
+                        WHERE p.cliente_id = :clienteId AND p.data BETWEEN :inicio AND :fim AND p.status = 'ATIVO'
+                        GROUP BY p.data
+                        ORDER BY p.data""")
+                .param("produtoId", produtoId)
+                .param("clienteId", clienteId)
+                .param("inicio", inicio)
+                .param("fim", fim)
+                .query(PontoSerieDTO.class)
+                .list();
+    }
+
+    private static String tabela(String resumo, Granularidade granularidade) {
+        return granularidade == Granularidade.MES ? resumo + "_mes" : resumo;
+    }
+
+    private static Coluna periodo(Granularidade granularidade) {
+        return new Coluna(coluna(granularidade), "DATE");
+    }
+
+    private static String coluna(Granularidade granularidade) {
+        return granularidade == Granularidade.MES ? "mes" : "dia";
+    }
+}
@@ -0,0 +1,199 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.repository.SomaAtomica.Coluna;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acesso à tabela {@code tb_saldo_cliente}, com o saldo em aberto de cada cliente por ciclo de fatura.
+ *
+ * <p>Os valores são somados ao saldo de forma atômica ({@link SomaAtomica}), inclusive na criação do registro
+ * do ciclo; a validação do limite, que lê o saldo antes de somar, ainda deve ser serializada por cliente.</p>
+ */
+@RequiredArgsConstructor
+@Repository
+public class SaldoClienteRepository {
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final SomaAtomica somaAtomica;
+
+    /**
+     * Compras de pedidos ativos de um cliente em uma data.
+     */
+    public record CompraDiaria(Long clienteId, Integer diaFechamentoFatura, LocalDate data, BigDecimal total) {
+    }
+
+    /**
+     * Saldo registrado de um cliente em um ciclo.
+     */
+    public record SaldoCiclo(Long clienteId, LocalDate inicioCiclo, BigDecimal total) {
+    }
+
+    /**
+     * Soma um valor ao saldo do cliente no ciclo, criando o registro do ciclo se ainda não existir.
+     *
+     * @param clienteId   O ID do cliente.
+     * @param inicioCiclo A data de início do ciclo.
+     * @param valor       O valor a ser somado, negativo para estornos.
+     */
+    public void adicionar(Long clienteId, LocalDate inicioCiclo, BigDecimal valor) {
+        somaAtomica.somar("tb_saldo_cliente",
+                List.of(new Coluna("cliente_id", "BIGINT"), new Coluna("inicio_ciclo", "DATE")),
+                List.of(new Coluna("total", "NUMERIC(38, 2)")),
+                List.<Object[]>of(new Object[]{clienteId, inicioCiclo, valor}));
+    }
+
+    /**
+     * Define o saldo do cliente no ciclo, criando o registro do ciclo se ainda não existir.
+     */
+    public void definir(Long clienteId, LocalDate inicioCiclo, BigDecimal total) {
+        int atualizados = jdbcClient
+                .sql("UPDATE tb_saldo_cliente SET total = :total WHERE cliente_id = :clienteId AND inicio_ciclo = :inicioCiclo")
+                .param("total", total)
+                .param("clienteId", clienteId)
+                .param("inicioCiclo", inicioCiclo)
+                .update();
+        if (atualizados == 0) {
+            inserir(clienteId, inicioCiclo, total);
+        }
+    }
+
+    /**
+     * Soma os saldos do cliente nos ciclos iniciados a partir da data informada.
+     *
+     * <p>Lê apenas os registros dos ciclos a partir do fechamento, pelo índice único
+     * {@code (cliente_id, inicio_ciclo)}: o ciclo atual e eventuais ciclos de pedidos com data futura.</p>
+     *
+     * @param clienteId O ID do cliente.
+     * @param inicio    A data de fechamento a partir da qual os ciclos são somados, inclusive.
+     * @return O saldo em aberto, ou zero se não houver registros.
+     */
+    public BigDecimal totalDesde(Long clienteId, LocalDate inicio) {
+        return jdbcClient
+                .sql("SELECT COALESCE(SUM(total), 0) FROM tb_saldo_cliente WHERE cliente_id = :clienteId AND inicio_ciclo >= :inicio")
+                .param("clienteId", clienteId)
+                .param("inicio", inicio)
+                .query(BigDecimal.class)
+                .single();
+    }
+
+    /**
+     * Lista os saldos registrados nos ciclos iniciados a partir da data informada.
+     */
+    public List<SaldoCiclo> listarDesde(LocalDate inicio) {
+        return jdbcClient
+                .sql("SELECT cliente_id, inicio_ciclo, total FROM tb_saldo_cliente WHERE inicio_ciclo >= :inicio")
+                .param("inicio", inicio)
+                .query(SaldoCiclo.class)
+                .list();
+    }
+
+    /**
+     * Lista os saldos de um cliente nos ciclos iniciados a partir da data informada, bloqueando-os
+     * ({@code SELECT ... FOR UPDATE}) até o fim da transação.
+     *
+     * <p>Espera as transações que estão alterando esses saldos, como o cancelamento de um pedido, e impede
+     * novas alterações até o fim da transação. Deve ser chamado dentro de uma transação.</p>
+     */
+    public List<SaldoCiclo> bloquearDesde(Long clienteId, LocalDate inicio) {
+        return jdbcClient
+                .sql("""
+                        SELECT cliente_id, inicio_ciclo, total FROM tb_saldo_cliente
+                        WHERE cliente_id = :clienteId AND inicio_ciclo >= :inicio
+                        FOR UPDATE""")
+                .param("clienteId", clienteId)
+                .param("inicio", inicio)
+                .query(SaldoCiclo.class)
+                .list();
+    }
+
+    /**
+     * Calcula, a partir dos pedidos, o total das compras ativas por cliente e data posteriores à data informada.
+     *
+     * @param desde     Apenas pedidos com data posterior a esta são considerados.
+     * @param clienteId O ID do cliente, ou nulo para todos os clientes.
+     * @return As compras agrupadas por cliente e data.
+     */
+    public List<CompraDiaria> comprasPorDia(LocalDate desde, Long clienteId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("desde", desde);
+        String filtroCliente = "";
+        if (clienteId != null) {
+            filtroCliente = " AND p.cliente_id = :clienteId";
+            params.put("clienteId", clienteId);
+        }
+        return jdbcClient
+                .sql("""
+                        SELECT p.cliente_id, c.dia_fechamento_fatura, p.data, SUM(ip.preco_unitario * ip.quantidade) AS total
+                        FROM tb_pedido p
+                        JOIN tb_cliente c ON c.id = p.cliente_id
+                        JOIN tb_item_pedido ip ON ip.pedido_id = p.id
+                        WHERE p.status = 'ATIVO' AND p.data > :desde%s
+                        GROUP BY p.cliente_id, c.dia_fechamento_fatura, p.data
+                        """.formatted(filtroCliente))
+                .params(params)
+                .query(CompraDiaria.class)
+                .list();
+    }
+
+    /**
+     * Remove todos os saldos de um cliente.
+     */
+    public void removerCliente(Long clienteId) {
+        jdbcClient.sql("DELETE FROM tb_saldo_cliente WHERE cliente_id = :clienteId")
+                .param("clienteId", clienteId)
+                .update();
+    }
+
+    /**
+     * Remove os saldos dos ciclos iniciados antes da data informada, que não são mais consultados.
+     *
+     * @return A quantidade de registros removidos.
+     */
+    public int removerAntesDe(LocalDate inicio) {
+        return jdbcClient.sql("DELETE FROM tb_saldo_cliente WHERE inicio_ciclo < :inicio")
+                .param("inicio", inicio)
+                .update();
+    }
+
+    /**
+     * Remove os saldos de todos os clientes.
+     */
+    public void removerTodos() {
+        jdbcClient.sql("DELETE FROM tb_saldo_cliente").update();
+    }
+
+    /**
+     * Insere os saldos informados em lote. Os ciclos não devem estar registrados.
+     */
+    public void inserirTodos(List<SaldoCiclo> saldos) {
+        SqlParameterSource[] parametros = saldos.stream()
+                .map(saldo -> new MapSqlParameterSource()
+                        .addValue("clienteId", saldo.clienteId())
+                        .addValue("inicioCiclo", saldo.inicioCiclo())
+                        .addValue("total", saldo.total()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(
+                "INSERT INTO tb_saldo_cliente (cliente_id, inicio_ciclo, total) VALUES (:clienteId, :inicioCiclo, :total)",
+                parametros);
+    }
+
+    private void inserir(Long clienteId, LocalDate inicioCiclo, BigDecimal total) {
+        jdbcClient
+                .sql("INSERT INTO tb_saldo_cliente (cliente_id, inicio_ciclo, total) VALUES (:clienteId, :inicioCiclo, :total)")
+                .param("clienteId", clienteId)
+                .param("inicioCiclo", inicioCiclo)
+                .param("total", total)
+                .update();
+    }
+}
@@ -0,0 +1,114 @@
+package dev.imrob.vendas.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Soma valores às linhas de uma tabela identificadas por uma chave única, criando as linhas que ainda não
+ * existem, em uma única instrução.
+ *
+ * <p>No PostgreSQL usa {@code INSERT ... ON CONFLICT ... DO UPDATE}, atômico mesmo quando duas transações
+ * criam a mesma linha ao mesmo tempo: a segunda espera a primeira e soma sobre a linha criada. Nos demais
+ * bancos, como o H2 dos testes, usa {@code MERGE}; se outra transação inseriu a linha entre a leitura e a
+ * inserção, a instrução falha com chave duplicada, é desfeita sozinha e é executada de novo, agora
+ * atualizando a linha.</p>
+ */
+@RequiredArgsConstructor
+@Component
+class SomaAtomica {
+    /**
+     * Quantidade máxima de linhas por instrução, abaixo do limite de parâmetros dos bancos.
+     */
+    static final int LINHAS_POR_INSTRUCAO = 500;
+
+    private final JdbcClient jdbcClient;
+    private final BancoDados banco;
+
+    /**
+     * Coluna da tabela, com o tipo SQL para o qual os parâmetros são convertidos.
+     */
+    record Coluna(String nome, String tipo) {
+    }
+
+    /**
+     * Soma os valores de cada linha à linha da tabela com a mesma chave, ou a insere com esses valores.
+     *
+     * <p>As linhas devem estar ordenadas pela chave, para que transações concorrentes bloqueiem as linhas da
+     * tabela sempre na mesma ordem, e a mesma chave não pode aparecer duas vezes.</p>
+     *
+     * @param tabela  A tabela, com uma restrição única nas colunas da chave.
+     * @param chave   As colunas da chave.
+     * @param somadas As colunas somadas.
+     * @param linhas  Os valores de cada linha: primeiro os da chave, depois os somados, na ordem das colunas.
+     */
+    void somar(String tabela, List<Coluna> chave, List<Coluna> somadas, List<Object[]> linhas) {
+        for (int inicio = 0; inicio < linhas.size(); inicio += LINHAS_POR_INSTRUCAO) {
+            List<Object[]> bloco = linhas.subList(inicio, Math.min(inicio + LINHAS_POR_INSTRUCAO, linhas.size()));
+            List<Object> parametros = new ArrayList<>();
+            bloco.forEach(linha -> parametros.addAll(Arrays.asList(linha)));
+            String sql = banco.isPostgres()
+                    ? inserirOuAtualizar(tabela, chave, somadas, bloco.size())
+                    : mesclar(tabela, chave, somadas, bloco.size());
+            try {
+                jdbcClient.sql(sql).params(parametros).update();
+            } catch (DuplicateKeyException e) {
+                if (banco.isPostgres()) {
+                    throw e;
+                }
+                // Outra transação inseriu uma das linhas e já a confirmou; agora o MERGE a encontra
+                jdbcClient.sql(sql).params(parametros).update();
+            }
+        }
+    }
+
+    private static String inserirOuAtualizar(String tabela, List<Coluna> chave, List<Coluna> somadas, int linhas) {
+        return """
+                INSERT INTO %s AS r (%s) VALUES %s
+                ON CONFLICT (%s) DO UPDATE SET %s""".formatted(
+                tabela,
+                nomes(chave, somadas),
+                valores(chave, somadas, linhas),
+                chave.stream().map(Coluna::nome).collect(Collectors.joining(", ")),
+                somadas.stream().map(c -> "%1$s = r.%1$s + EXCLUDED.%1$s".formatted(c.nome()))
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private static String mesclar(String tabela, List<Coluna> chave, List<Coluna> somadas, int linhas) {
+        return """
+                MERGE INTO %1$s r USING (VALUES %2$s) AS s (%3$s) ON %4$s
+                WHEN MATCHED THEN UPDATE SET %5$s
+                WHEN NOT MATCHED THEN INSERT (%3$s) VALUES (%6$s)""".formatted(
+                tabela,
+                valores(chave, somadas, linhas),
+                nomes(chave, somadas),
+                chave.stream().map(c -> "r.%1$s = s.%1$s".formatted(c.nome())).collect(Collectors.joining(" AND ")),
+                somadas.stream().map(c -> "%1$s = r.%1$s + s.%1$s".formatted(c.nome()))
+                        .collect(Collectors.joining(", ")),
+                colunas(chave, somadas).stream().map(c -> "s." + c.nome()).collect(Collectors.joining(", ")));
+    }
+
+    private static String nomes(List<Coluna> chave, List<Coluna> somadas) {
+        return colunas(chave, somadas).stream().map(Coluna::nome).collect(Collectors.joining(", "));
+    }
+
+    private static String valores(List<Coluna> chave, List<Coluna> somadas, int linhas) {
+        String linha = colunas(chave, somadas).stream()
+                .map(c -> "CAST(? AS %s)".formatted(c.tipo()))
+                .collect(Collectors.joining(", ", "(", ")"));
+        return String.join(", ", Collections.nCopies(linhas, linha));
+    }
+
+    private static List<Coluna> colunas(List<Coluna> chave, List<Coluna> somadas) {
+        List<Coluna> colunas = new ArrayList<>(chave);
+        colunas.addAll(somadas);
+        return colunas;
+    }
+}
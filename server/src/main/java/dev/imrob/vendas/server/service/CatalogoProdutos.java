@@ -0,0 +1,198 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cópia em memória do catálogo de produtos, usada na precificação dos pedidos e na consulta de produtos.
+ *
+ * <p>Os produtos mudam poucas vezes ao dia, então são lidos de um instantâneo imutável, indexado por
+ * {@code long}, sem consultas ao banco e sem bloqueios. O instantâneo é substituído atomicamente após o
+ * commit de cada alteração feita pelo {@link ProdutoService} e, periodicamente, para incorporar alterações
+ * feitas por outras instâncias do servidor. Um produto ausente do instantâneo, por exemplo recém-criado em
+ * outra instância, é buscado no banco.</p>
+ *
+ * <p>Os produtos entregues são cópias compartilhadas entre as requisições e não devem ser alterados.</p>
+ *
+ * <p>O uso do catálogo é publicado em {@code /actuator/prometheus}: {@code vendas.catalogo.produtos}, com a
+ * quantidade de produtos no instantâneo, {@code vendas.catalogo.buscas}, com os produtos encontrados no
+ * instantâneo ou buscados no banco, identificados pela tag {@code resultado}, e {@code vendas.catalogo.recargas}.</p>
+ */
+@Slf4j
+@Component
+public class CatalogoProdutos {
+    private final ProdutoRepository repository;
+    private final AtomicReference<Instantaneo> atual = new AtomicReference<>(Instantaneo.VAZIO);
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+
+    public CatalogoProdutos(ProdutoRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        Gauge.builder("vendas.catalogo.produtos", atual, referencia -> referencia.get().tamanho)
+                .description("Quantidade de produtos no instantâneo do catálogo")
+                .register(registry);
+        buscas(registry, "acerto", acertos);
+        buscas(registry, "falha", falhas);
+        FunctionCounter.builder("vendas.catalogo.recargas", recargas, LongAdder::sum)
+                .description("Recargas do instantâneo do catálogo")
+                .register(registry);
+    }
+
+    private static void buscas(MeterRegistry registry, String resultado, LongAdder contador) {
+        FunctionCounter.builder("vendas.catalogo.buscas", contador, LongAdder::sum)
+                .description("Produtos encontrados no instantâneo do catálogo (acerto) ou buscados no banco (falha)")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    /**
+     * Busca um produto pelo ID, no instantâneo ou, se ausente, no banco.
+     *
+     * @param id O ID do produto.
+     * @return O produto, se existir.
+     */
+    public Optional<Produto> buscar(Long id) {
+        Produto produto = atual.get().buscar(id);
+        if (produto != null) {
+            acertos.increment();
+            return Optional.of(produto);
+        }
+        falhas.increment();
+        return repository.findById(id);
+    }
+
+    /**
+     * Busca vários produtos pelo ID. Os ausentes do instantâneo são buscados no banco em uma única consulta.
+     *
+     * @param ids Os IDs dos produtos.
+     * @return Os produtos encontrados, indexados pelo ID.
+     */
+    public Map<Long, Produto> buscarTodos(Collection<Long> ids) {
+        Instantaneo instantaneo = atual.get();
+        Map<Long, Produto> produtos = new HashMap<>();
+        List<Long> ausentes = new ArrayList<>();
+        for (Long id : ids) {
+            Produto produto = instantaneo.buscar(id);
+            if (produto != null) {
+                produtos.put(id, produto);
+            } else {
+                ausentes.add(id);
+            }
+        }
+        acertos.add(produtos.size());
+        if (!ausentes.isEmpty()) {
+            falhas.add(ausentes.size());
+            repository.findAllById(ausentes).forEach(produto -> produtos.put(produto.getId(), produto));
+        }
+        return produtos;
+    }
+
+    /**
+     * Recarrega o instantâneo a partir do banco e o substitui atomicamente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recarregar() {
+        List<Produto> produtos = repository.findAll().stream()
+                .map(produto -> new Produto(produto.getId(), produto.getDescricao(), produto.getPreco()))
+                .toList();
+        atual.set(new Instantaneo(produtos));
+        recargas.increment();
+        log.debug("Catálogo de produtos recarregado com {} produto(s).", produtos.size());
+    }
+
+    /**
+     * Recarrega o instantâneo após o commit da transação atual, ou imediatamente se não houver transação.
+     */
+    public void recarregarAposCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recarregar();
+                }
+            });
+        } else {
+            recarregar();
+        }
+    }
+
+    /**
+     * Recarrega o instantâneo periodicamente, incorporando alterações feitas por outras instâncias.
+     */
+    @Scheduled(fixedDelayString = "${vendas.catalogo.recarga-intervalo:PT1M}",
+            initialDelayString = "${vendas.catalogo.recarga-intervalo:PT1M}")
+    public void recarregarAgendado() {
+        recarregar();
+    }
+
+    /**
+     * Mapa imutável de produtos por ID, com endereçamento aberto sobre arrays de {@code long}.
+     *
+     * <p>A consulta não aloca objetos nem converte o ID para {@link Long}. Os IDs são positivos, então
+     * {@code 0} marca uma posição vazia; a ocupação máxima é de 50%.</p>
+     */
+    static final class Instantaneo {
+        static final Instantaneo VAZIO = new Instantaneo(List.of());
+
+        private final long[] chaves;
+        private final Produto[] valores;
+        private final int mascara;
+        private final int tamanho;
+
+        Instantaneo(List<Produto> produtos) {
+            int capacidade = 2;
+            while (capacidade < produtos.size() * 2) {
+                capacidade <<= 1;
+            }
+            this.chaves = new long[capacidade];
+            this.valores = new Produto[capacidade];
+            this.mascara = capacidade - 1;
+            this.tamanho = produtos.size();
+            for (Produto produto : produtos) {
+                int i = indice(produto.getId());
+                while (chaves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = produto.getId();
+                valores[i] = produto;
+            }
+        }
+
+        Produto buscar(long id) {
+            int i = indice(id);
+            long chave;
+            while ((chave = chaves[i]) != 0) {
+                if (chave == id) {
+                    return valores[i];
+                }
+                i = (i + 1) & mascara;
+            }
+            return null;
+        }
+
+        private int indice(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mascara;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.imrob.vendas.server.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Cálculo das datas de fechamento e dos ciclos da fatura de um cliente.
+ *
+ * <p>A fatura fecha todo mês no dia de fechamento do cliente, ajustado ao último dia do mês quando
+ * o mês é mais curto. Um pedido com data {@code d} pertence ao ciclo iniciado no fechamento {@code F}
+ * quando {@code F < d <= próximo fechamento}, ou seja, pedidos feitos no dia do fechamento já
+ * entram no ciclo seguinte ao que está sendo fechado.</p>
+ */
+public final class CicloFatura {
+
+    private CicloFatura() {
+    }
+
+    /**
+     * Calcula a data do último fechamento da fatura em relação a uma data, inclusive.
+     *
+     * @param diaFechamento O dia do mês em que a fatura é fechada.
+     * @param data          A data de referência.
+     * @return A maior data de fechamento menor ou igual à data de referência.
+     */
+    public static LocalDate ultimoFechamento(int diaFechamento, LocalDate data) {
+        YearMonth anoMes = YearMonth.from(data);
+        if (data.getDayOfMonth() < diaNoMes(diaFechamento, anoMes)) {
+            anoMes = anoMes.minusMonths(1);
+        }
+        return anoMes.atDay(diaNoMes(diaFechamento, anoMes));
+    }
+
+    /**
+     * Calcula a data do próximo fechamento da fatura em relação a uma data.
+     *
+     * @param diaFechamento O dia do mês em que a fatura é fechada.
+     * @param data          A data de referência.
+     * @return A menor data de fechamento maior que a data de referência.
+     */
+    public static LocalDate proximoFechamento(int diaFechamento, LocalDate data) {
+        YearMonth anoMes = YearMonth.from(ultimoFechamento(diaFechamento, data)).plusMonths(1);
+        return anoMes.atDay(diaNoMes(diaFechamento, anoMes));
+    }
+
+    /**
+     * Retorna o início do ciclo ao qual pertence um pedido, isto é, o fechamento imediatamente anterior à data do pedido.
+     *
+     * @param diaFechamento O dia do mês em que a fatura é fechada.
+     * @param dataPedido    A data do pedido.
+     * @return A maior data de fechamento menor que a data do pedido.
+     */
+    public static LocalDate inicioCiclo(int diaFechamento, LocalDate dataPedido) {
+        return ultimoFechamento(diaFechamento, dataPedido.minusDays(1));
+    }
+
+    private static int diaNoMes(int diaFechamento, YearMonth anoMes) {
+        return Math.min(diaFechamento, anoMes.lengthOfMonth());
+    }
+}
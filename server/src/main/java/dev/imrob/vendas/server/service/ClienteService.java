@@ -1,21 +1,29 @@
 package dev.imrob.vendas.server.service;
 
 import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.dto.mapper.ClienteMapper;
 import dev.imrob.vendas.server.entity.Cliente;
 import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.EstatisticaTabelaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 @Service
 public class ClienteService implements CrudService<ClienteDTO> {
     private final ClienteRepository repository;
     private final ClienteMapper mapper;
+    private final EstatisticaTabelaRepository estatisticaRepository;
+    private final SaldoClienteService saldoService;
+    private final VersaoTabelas versoes;
+
     @Transactional(readOnly = true)
     @Override
     public ClienteDTO findById(Long id) {
@@ -30,20 +38,42 @@ public class ClienteService implements CrudService<ClienteDTO> {
         return mapper.toDTO(clientes);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDTO<ClienteDTO> findPagina(Long apos, int limite, boolean contarTotal) {
+        int tamanho = tamanhoPagina(limite);
+        List<Cliente> encontrados = repository.findByIdGreaterThanOrderByIdAsc(
+                apos == null ? 0L : apos, Limit.of(tamanho + 1));
+        Long total = contarTotal ? estatisticaRepository.contagemAproximada(getTabela()) : null;
+        return montarPagina(encontrados, tamanho, Cliente::getId, mapper::toDTO, total);
+    }
+
     @Transactional
     @Override
     public Long save(ClienteDTO dto) {
         validarCampos(dto);
         Cliente cliente = mapper.toEntity(dto);
-        return repository.save(cliente).getId();
+        Long id = repository.save(cliente).getId();
+        versoes.registrarAlteracao(getTabela());
+        return id;
     }
 
+    /**
+     * Atualiza um cliente. Se o dia de fechamento da fatura mudar, os saldos em aberto do cliente
+     * são recalculados para os novos ciclos.
+     */
     @Transactional
     @Override
     public void update(ClienteDTO dto) {
         validarCampos(dto);
-        idExisteOuException(dto.getId(), Cliente.class);
+        Cliente atual = idExisteOuException(dto.getId(), Cliente.class);
+        boolean fechamentoAlterado = !Objects.equals(atual.getDiaFechamentoFatura(), dto.getDiaFechamentoFatura());
         repository.save(mapper.toEntity(dto));
+        versoes.registrarAlteracao(getTabela());
+        if (fechamentoAlterado) {
+            repository.flush();
+            saldoService.reconstruir(dto.getId());
+        }
     }
 
     @Transactional
@@ -51,6 +81,20 @@ public class ClienteService implements CrudService<ClienteDTO> {
     public void delete(Long id) {
         Cliente cliente = idExisteOuException(id, Cliente.class);
         repository.delete(cliente);
+        versoes.registrarAlteracao(getTabela());
+    }
+
+    /**
+     * As leituras de clientes mudam somente pelas alterações deste serviço, que incrementam a versão da tabela.
+     */
+    @Override
+    public boolean isVersionado() {
+        return true;
+    }
+
+    @Override
+    public String getTabela() {
+        return "tb_cliente";
     }
 
     @Override
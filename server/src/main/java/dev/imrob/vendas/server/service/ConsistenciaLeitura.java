@@ -0,0 +1,91 @@
+package dev.imrob.vendas.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Garante que um cliente leia as próprias escritas quando as transações somente leitura vão para a réplica.
+ *
+ * <p>Cada alteração no saldo de um cliente é registrada após o commit. Por um intervalo configurado em
+ * {@code vendas.replica.janela-leitura-propria}, maior que o atraso esperado da réplica, as leituras que pedem
+ * os dados atualizados do cliente são feitas no banco principal, como a consulta do total de compras logo após
+ * um pedido no caixa. Sem réplica configurada, as leituras já vão para o banco principal e o registro não tem
+ * efeito.</p>
+ *
+ * <p>Os registros valem somente para esta instância do servidor, assim como em {@link VersaoTabelas}.</p>
+ */
+@Component
+public class ConsistenciaLeitura {
+    private static final int LIMPEZA_A_PARTIR_DE = 10_000;
+    private static final ThreadLocal<Boolean> PRIMARIA = new ThreadLocal<>();
+
+    private final Map<Long, Long> escritasPorCliente = new ConcurrentHashMap<>();
+    private final long janelaNanos;
+
+    public ConsistenciaLeitura(@Value("${vendas.replica.janela-leitura-propria:PT10S}") Duration janela) {
+        this.janelaNanos = janela.toNanos();
+    }
+
+    /**
+     * Registra uma escrita nos dados do cliente, a partir do commit da transação atual, ou imediatamente se
+     * não houver transação.
+     *
+     * @param clienteId O ID do cliente alterado.
+     */
+    public void registrarEscrita(Long clienteId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrarAgora(clienteId);
+                }
+            });
+        } else {
+            registrarAgora(clienteId);
+        }
+    }
+
+    /**
+     * Faz as leituras da transação atual no banco principal se o cliente teve escritas dentro da janela.
+     *
+     * <p>Deve ser chamado no início de uma transação somente leitura, antes da primeira consulta, quando a
+     * conexão ainda não foi obtida. Fora de uma transação não tem efeito.</p>
+     *
+     * @param clienteId O ID do cliente lido.
+     */
+    public void exigirLeituraAtualizada(Long clienteId) {
+        Long escrita = escritasPorCliente.get(clienteId);
+        if (escrita == null || System.nanoTime() - escrita > janelaNanos
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PRIMARIA.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARIA.remove();
+            }
+        });
+    }
+
+    /**
+     * Indica se as leituras da thread atual devem ser feitas no banco principal.
+     */
+    public static boolean exigePrimaria() {
+        return PRIMARIA.get() != null;
+    }
+
+    private void registrarAgora(Long clienteId) {
+        long agora = System.nanoTime();
+        escritasPorCliente.put(clienteId, agora);
+        if (escritasPorCliente.size() > LIMPEZA_A_PARTIR_DE) {
+            escritasPorCliente.values().removeIf(escrita -> agora - escrita > janelaNanos);
+        }
+    }
+}
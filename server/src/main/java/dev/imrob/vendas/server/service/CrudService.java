@@ -1,14 +1,16 @@
 package dev.imrob.vendas.server.service;
 
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Interface que define as operações CRUD (Create, Read, Update, Delete) para entidades.
@@ -16,6 +18,11 @@ import java.util.Set;
  * @param <TYPE> O tipo de entidade gerenciada por este serviço.
  */
 public interface CrudService<TYPE> {
+    /**
+     * Quantidade máxima de itens retornados em uma página.
+     */
+    int LIMITE_MAXIMO_PAGINA = 500;
+
     /**
      * Obtém o repositório JPA usado para executar operações no banco de dados.
      *
@@ -39,6 +46,34 @@ public interface CrudService<TYPE> {
      */
     List<TYPE> findAll();
 
+    /**
+     * Obtém o nome da tabela principal da entidade no banco de dados.
+     *
+     * @return O nome da tabela.
+     */
+    String getTabela();
+
+    /**
+     * Indica se as leituras deste serviço podem ser validadas por ETag, a partir da versão de
+     * {@link #getTabela()} mantida em {@link VersaoTabelas}. Um serviço versionado deve registrar em
+     * {@link VersaoTabelas} toda alteração que mude as suas respostas.
+     *
+     * @return {@code true} se as leituras forem versionadas.
+     */
+    default boolean isVersionado() {
+        return false;
+    }
+
+    /**
+     * Recupera uma página de entidades ordenadas pelo ID, a partir de um cursor.
+     *
+     * @param apos        O ID do último item da página anterior, ou nulo para a primeira página.
+     * @param limite      A quantidade máxima de itens da página.
+     * @param contarTotal Indica se o total aproximado de registros deve ser calculado.
+     * @return A página encontrada, com o cursor da próxima página.
+     */
+    PaginaDTO<TYPE> findPagina(Long apos, int limite, boolean contarTotal);
+
     /**
      * Salva uma nova entidade.
      *
@@ -80,13 +115,43 @@ public interface CrudService<TYPE> {
         );
     }
 
+    /**
+     * Ajusta o tamanho de página solicitado ao intervalo permitido.
+     *
+     * @param limite O tamanho de página solicitado.
+     * @return O tamanho entre 1 e {@link #LIMITE_MAXIMO_PAGINA}.
+     */
+    default int tamanhoPagina(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+    }
+
+    /**
+     * Monta uma página a partir dos registros buscados com um item a mais que o tamanho da página.
+     *
+     * <p>O item excedente apenas indica que existe uma próxima página e não é retornado.</p>
+     *
+     * @param encontrados Os registros buscados, no máximo {@code tamanho + 1}, ordenados pelo ID.
+     * @param tamanho     O tamanho da página.
+     * @param id          Função que obtém o ID de um registro.
+     * @param mapeador    Função que converte os registros para o tipo retornado.
+     * @param total       O total aproximado de registros, ou nulo se não solicitado.
+     * @param <E>         O tipo dos registros.
+     * @return A página montada.
+     */
+    default <E> PaginaDTO<TYPE> montarPagina(List<E> encontrados, int tamanho, Function<E, Long> id,
+                                             Function<List<E>, List<TYPE>> mapeador, Long total) {
+        List<E> pagina = encontrados.size() > tamanho ? new ArrayList<>(encontrados.subList(0, tamanho)) : encontrados;
+        Long proximoCursor = encontrados.size() > tamanho ? id.apply(pagina.get(pagina.size() - 1)) : null;
+        return new PaginaDTO<>(mapeador.apply(pagina), proximoCursor, total);
+    }
+
     /**
      * Obtém o validador para validar entidades.
      *
      * @return O validador para validar entidades.
      */
     private Validator getValidator(){
-        return Validation.buildDefaultValidatorFactory().getValidator();
+        return Validadores.validador();
     }
 
     /**
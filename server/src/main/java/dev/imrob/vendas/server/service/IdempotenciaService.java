@@ -0,0 +1,174 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.exception.ChaveIdempotenciaException;
+import dev.imrob.vendas.server.repository.ChaveIdempotenciaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Garante que uma criação de pedido repetida com a mesma chave de idempotência seja executada uma única vez.
+ *
+ * <p>As chaves ficam em um índice em memória de tamanho limitado (os acessos mais antigos são descartados
+ * primeiro) e na tabela {@code tb_chave_idempotencia}, que vale entre várias instâncias do servidor e após
+ * um reinício. Uma requisição repetida recebe o ID do pedido original sem validar nem gravar novamente.
+ * Requisições simultâneas com a mesma chave aguardam a execução em andamento: na mesma instância pelo
+ * índice em memória e entre instâncias pela chave primária da tabela.</p>
+ *
+ * <p>Execuções que falham não são registradas, de modo que a requisição pode ser repetida. As chaves
+ * expiram após {@code vendas.idempotencia.ttl}.</p>
+ */
+@Slf4j
+@Service
+public class IdempotenciaService {
+    /**
+     * Tamanho máximo de uma chave de idempotência.
+     */
+    static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final ChaveIdempotenciaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<String, Execucao> execucoes;
+    /**
+     * Protege o índice em memória. Um {@link ReentrantLock}, e não {@code synchronized}, para que threads
+     * virtuais aguardando o índice não fixem a thread portadora.
+     */
+    private final ReentrantLock bloqueioExecucoes = new ReentrantLock();
+
+    public IdempotenciaService(ChaveIdempotenciaRepository repository, TransactionTemplate transactionTemplate,
+                               @Value("${vendas.idempotencia.ttl:24h}") Duration ttl,
+                               @Value("${vendas.idempotencia.capacidade:10000}") int capacidade) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.execucoes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Execucao> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    /**
+     * Execução de uma chave: o resultado, possivelmente ainda em andamento, e o instante em que começou.
+     */
+    private record Execucao(CompletableFuture<Long> resultado, LocalDateTime iniciadaEm) {
+    }
+
+    /**
+     * Executa a operação uma única vez para a chave informada.
+     *
+     * <p>A operação é executada em uma transação junto com o registro da chave. Se a chave já foi utilizada,
+     * retorna o ID registrado sem executar a operação; se a chave está em uso por outra requisição, aguarda
+     * o seu término e retorna o mesmo resultado, ou lança a mesma exceção.</p>
+     *
+     * @param chave    A chave de idempotência informada pelo cliente.
+     * @param operacao A operação que cria o pedido e retorna o seu ID.
+     * @return O ID do pedido criado por esta ou pela primeira requisição com a chave.
+     * @throws ChaveIdempotenciaException Se a chave estiver vazia ou for maior que {@value #TAMANHO_MAXIMO_CHAVE} caracteres.
+     */
+    public Long executar(String chave, Supplier<Long> operacao) {
+        validar(chave);
+        LocalDateTime agora = LocalDateTime.now();
+        CompletableFuture<Long> resultado = new CompletableFuture<>();
+        Execucao existente;
+        bloqueioExecucoes.lock();
+        try {
+            existente = execucoes.get(chave);
+            if (existente != null && !existente.iniciadaEm().isAfter(agora.minus(ttl))) {
+                existente = null;
+            }
+            if (existente == null) {
+                execucoes.put(chave, new Execucao(resultado, agora));
+            }
+        } finally {
+            bloqueioExecucoes.unlock();
+        }
+        if (existente != null) {
+            return aguardar(existente.resultado());
+        }
+
+        try {
+            Long id = executarUmaVez(chave, operacao, agora);
+            resultado.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            bloqueioExecucoes.lock();
+            try {
+                Execucao atual = execucoes.get(chave);
+                if (atual != null && atual.resultado() == resultado) {
+                    execucoes.remove(chave);
+                }
+            } finally {
+                bloqueioExecucoes.unlock();
+            }
+            resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Remove da tabela as chaves expiradas.
+     */
+    @Scheduled(cron = "${vendas.idempotencia.limpeza-cron:0 15 * * * *}")
+    public void removerExpiradas() {
+        int removidas = repository.removerExpiradas(LocalDateTime.now().minus(ttl));
+        if (removidas > 0) {
+            log.info("{} chave(s) de idempotência expirada(s) removida(s).", removidas);
+        }
+    }
+
+    private Long executarUmaVez(String chave, Supplier<Long> operacao, LocalDateTime agora) {
+        LocalDateTime validaApos = agora.minus(ttl);
+        Optional<Long> registrado = repository.buscarPedido(chave, validaApos);
+        if (registrado.isPresent()) {
+            return registrado.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                repository.reservar(chave, agora, validaApos);
+                Long id = operacao.get();
+                repository.registrarPedido(chave, id);
+                return id;
+            });
+        } catch (DuplicateKeyException e) {
+            // Outra instância registrou a chave enquanto esta aguardava o bloqueio da chave primária
+            return repository.buscarPedido(chave, validaApos).orElseThrow(() -> e);
+        }
+    }
+
+    private Long aguardar(CompletableFuture<Long> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void validar(String chave) {
+        if (chave.isBlank()) {
+            throw new ChaveIdempotenciaException("A chave de idempotência não pode ser vazia.");
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ChaveIdempotenciaException(
+                    "A chave de idempotência deve ter no máximo %d caracteres.".formatted(TAMANHO_MAXIMO_CHAVE));
+        }
+    }
+}
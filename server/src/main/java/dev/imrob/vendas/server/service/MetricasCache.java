@@ -0,0 +1,48 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.entity.Cliente;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Métricas do cache de segundo nível do Hibernate, publicadas em {@code /actuator/prometheus}.
+ *
+ * <p>{@code vendas.cache.regiao}: entidades encontradas no cache, ausentes dele e gravadas nele, identificadas
+ * pelas tags {@code regiao} e {@code resultado}. O Hibernate só coleta as estatísticas com
+ * {@code hibernate.generate_statistics} ativo ({@code VENDAS_ESTATISTICAS_HIBERNATE}); sem elas, os medidores
+ * não são registrados.</p>
+ */
+@Component
+public class MetricasCache {
+    private static final String[] REGIOES = {Cliente.REGIAO_CACHE};
+
+    public MetricasCache(MeterRegistry registry, EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!estatisticas.isStatisticsEnabled()) {
+            return;
+        }
+        for (String regiao : REGIOES) {
+            contador(registry, estatisticas, regiao, "acerto", CacheRegionStatistics::getHitCount);
+            contador(registry, estatisticas, regiao, "falha", CacheRegionStatistics::getMissCount);
+            contador(registry, estatisticas, regiao, "insercao", CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private static void contador(MeterRegistry registry, Statistics estatisticas, String regiao, String resultado,
+                                 ToLongFunction<CacheRegionStatistics> valor) {
+        FunctionCounter.builder("vendas.cache.regiao", estatisticas,
+                        e -> valor.applyAsLong(e.getDomainDataRegionStatistics(regiao)))
+                .description("Entidades encontradas no cache de segundo nível (acerto), ausentes dele (falha) "
+                        + "e gravadas nele (insercao)")
+                .tag("regiao", regiao)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
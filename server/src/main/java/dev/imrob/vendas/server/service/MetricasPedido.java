@@ -0,0 +1,92 @@
+package dev.imrob.vendas.server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas da criação e do cancelamento de pedidos, publicadas em {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code vendas.pedido.fase}: tempo de cada fase da criação de um pedido, com histograma de percentis,
+ *       identificada pela tag {@code fase}.</li>
+ *   <li>{@code vendas.pedidos}: pedidos criados, cancelados e recusados por limite de crédito, identificados
+ *       pela tag {@code evento}.</li>
+ * </ul>
+ *
+ * <p>Os medidores são registrados uma única vez, na inicialização: o registro de um tempo ou de um evento
+ * não aloca objetos nem consulta o registro de medidores. Os pedidos são contados ao fim do método de
+ * serviço, antes do commit.</p>
+ */
+@Component
+public class MetricasPedido {
+
+    /**
+     * Fases medidas da criação de um pedido.
+     */
+    public enum Fase {
+        /** Validação dos campos e dos itens do pedido. */
+        VALIDACAO,
+        /** Bloqueio do cliente e busca dos produtos. */
+        CARGA,
+        /** Cálculo do valor total e verificação do limite de crédito. */
+        CREDITO,
+        /** Conversão do DTO na entidade do pedido e dos itens. */
+        MAPEAMENTO,
+        /** Inserção do pedido e atualização do saldo e dos resumos de vendas. */
+        INSERCAO
+    }
+
+    private final Timer[] fases = new Timer[Fase.values().length];
+    private final Counter criados;
+    private final Counter cancelados;
+    private final Counter recusadosPorLimite;
+
+    public MetricasPedido(MeterRegistry registry) {
+        for (Fase fase : Fase.values()) {
+            fases[fase.ordinal()] = Timer.builder("vendas.pedido.fase")
+                    .description("Tempo de cada fase da criação de um pedido")
+                    .tag("fase", fase.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        criados = contador(registry, "criado");
+        cancelados = contador(registry, "cancelado");
+        recusadosPorLimite = contador(registry, "recusado_limite");
+    }
+
+    private static Counter contador(MeterRegistry registry, String evento) {
+        return Counter.builder("vendas.pedidos")
+                .description("Pedidos criados, cancelados e recusados por limite de crédito")
+                .tag("evento", evento)
+                .register(registry);
+    }
+
+    /**
+     * Registra o tempo de uma fase iniciada em {@code inicioNanos}.
+     *
+     * @param fase        A fase concluída.
+     * @param inicioNanos O início da fase, obtido de {@link System#nanoTime()}.
+     * @return O instante atual, que serve de início para a fase seguinte.
+     */
+    public long registrarFase(Fase fase, long inicioNanos) {
+        long agora = System.nanoTime();
+        fases[fase.ordinal()].record(agora - inicioNanos, TimeUnit.NANOSECONDS);
+        return agora;
+    }
+
+    public void pedidosCriados(int quantidade) {
+        criados.increment(quantidade);
+    }
+
+    public void pedidoCancelado() {
+        cancelados.increment();
+    }
+
+    public void pedidoRecusadoPorLimite() {
+        recusadosPorLimite.increment();
+    }
+}
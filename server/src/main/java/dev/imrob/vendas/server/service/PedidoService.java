@@ -1,48 +1,91 @@
 package dev.imrob.vendas.server.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
 import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.dto.PedidoDTO;
+import dev.imrob.vendas.server.dto.ResultadoPedidoLoteDTO;
 import dev.imrob.vendas.server.dto.mapper.PedidoMapper;
 import dev.imrob.vendas.server.entity.*;
 import dev.imrob.vendas.server.exception.*;
 import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.EstatisticaTabelaRepository;
+import dev.imrob.vendas.server.repository.FiltroPedidoQuery;
 import dev.imrob.vendas.server.repository.FiltroPedidoRepository;
 import dev.imrob.vendas.server.repository.PedidoRepository;
-import dev.imrob.vendas.server.repository.ProdutoRepository;
+import dev.imrob.vendas.server.service.MetricasPedido.Fase;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Validation;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class PedidoService implements CrudService<PedidoDTO> {
+    /**
+     * Teto da contagem aproximada de pedidos filtrados.
+     */
+    private static final int TETO_CONTAGEM_FILTRO = 10_000;
+
+    /**
+     * Tamanho do buffer de escrita da exportação de pedidos.
+     */
+    private static final int BUFFER_EXPORTACAO = 64 * 1024;
+
+    /**
+     * Quantidade máxima de pedidos em um lote.
+     */
+    static final int LIMITE_LOTE = 1000;
+
     private final PedidoRepository repository;
     private final FiltroPedidoRepository filtroRepository;
     private final ClienteRepository clienteRepository;
-    private final ProdutoRepository produtoRepository;
+    private final CatalogoProdutos catalogo;
     private final PedidoMapper mapper;
+    private final EstatisticaTabelaRepository estatisticaRepository;
+    private final ObjectMapper objectMapper;
+    private final SaldoClienteService saldoService;
+    private final ResumoVendasService resumoService;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricasPedido metricas;
+    private final ConsistenciaLeitura consistencia;
+    private final VersaoTabelas versoes;
 
     @Override
     public JpaRepository<?, Long> getRepository() {
         return repository;
     }
 
+    @Override
+    public String getTabela() {
+        return "tb_pedido";
+    }
+
     @Transactional(readOnly = true)
     @Override
     public PedidoDTO findById(Long id) {
@@ -56,37 +99,113 @@ public class PedidoService implements CrudService<PedidoDTO> {
         return mapper.toDto(repository.findAll());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDTO<PedidoDTO> findPagina(Long apos, int limite, boolean contarTotal) {
+        return filtrarPedidosPaginado(FiltroPedidoQuery.builder().build(), apos, limite, contarTotal);
+    }
+
 
     /**
      * Cria um novo pedido, validando os dados, os itens, o limite de crédito do cliente e salvando no banco de dados.
      *
+     * <p>O cliente é carregado uma única vez e todos os produtos em uma única consulta {@code IN}; as entidades
+     * carregadas são reutilizadas no cálculo do valor total, na validação do limite e na montagem dos itens.
+     * Os IDs de pedido e itens vêm de sequências com alocação em blocos, de modo que, no flush, os itens são
+     * inseridos em um único lote JDBC, independentemente da quantidade.</p>
+     *
+     * <p>A linha do cliente é bloqueada antes da leitura do saldo em aberto e permanece bloqueada até o commit,
+     * de modo que pedidos simultâneos do mesmo cliente são validados um após o outro e não ultrapassam o limite
+     * juntos. Pedidos de clientes diferentes não disputam esse bloqueio nem as linhas dos resumos de vendas, que
+     * ficam bloqueadas da atualização, feita ao final, até o commit: os resumos compartilhados, o total do dia e
+     * os produtos, são divididos em faixas de clientes, e cada pedido atualiza apenas as linhas da faixa do seu
+     * cliente. Somente pedidos de clientes da mesma faixa com produtos em comum esperam uns pelos outros.</p>
+     *
      * @param pedidoDTO O DTO com os dados do pedido.
      * @return O ID do pedido criado.
      * @throws ConstraintViolationException Se houver erros de validação nos dados ou nos itens do pedido.
      * @throws LimiteCreditoException Se o cliente não tiver limite de crédito suficiente.
+     * @throws ValorTotalPedidoException Se o valor total informado for diferente do valor dos itens.
      * @throws EntityNotFoundException Se o cliente ou algum produto não for encontrado.
      */
     @Transactional
     public Long criarPedido(CriarPedidoDTO pedidoDTO) {
+        long inicio = System.nanoTime();
         validarCampos(pedidoDTO);
         validarItemPedido(pedidoDTO.getItens());
-        if (pedidoDTO.getValorTotal().equals(BigDecimal.ZERO)) {
-            pedidoDTO.setValorTotal(valorTotal(pedidoDTO));
+        inicio = metricas.registrarFase(Fase.VALIDACAO, inicio);
+
+        Cliente cliente = clienteRepository.findByIdParaReserva(pedidoDTO.getClienteId()).orElseThrow(
+                () -> new EntityNotFoundException("Cliente com id %d não foi encontrado.".formatted(pedidoDTO.getClienteId()))
+        );
+        Map<Long, Produto> produtos = buscarProdutos(pedidoDTO.getItens().stream());
+        inicio = metricas.registrarFase(Fase.CARGA, inicio);
+
+        prepararValorTotal(pedidoDTO, produtos);
+        validarLimiteCompra(pedidoDTO.getValorTotal(), cliente, saldoService.saldoEmAberto(cliente));
+        inicio = metricas.registrarFase(Fase.CREDITO, inicio);
+
+        Pedido pedido = montarPedido(pedidoDTO, cliente, produtos);
+        inicio = metricas.registrarFase(Fase.MAPEAMENTO, inicio);
+
+        Long id = repository.saveAndFlush(pedido).getId();
+        registrarMovimento(pedido, 1);
+        metricas.registrarFase(Fase.INSERCAO, inicio);
+        metricas.pedidosCriados(1);
+        return id;
+    }
+
+    /**
+     * Cria vários pedidos de uma vez, como no envio do fechamento de caixa de uma loja.
+     *
+     * <p>Os pedidos são agrupados por cliente e cada grupo é gravado na sua própria transação: o cliente é
+     * bloqueado e o seu saldo em aberto lido uma única vez, os produtos de todos os pedidos do grupo são
+     * carregados em uma única consulta e os pedidos e itens são inseridos em lotes JDBC. O saldo e os resumos
+     * de vendas recebem um único movimento por dia.</p>
+     *
+     * <p>Um pedido inválido, com produto inexistente, valor total divergente ou sem limite é recusado
+     * individualmente, sem afetar os demais. Uma falha ao gravar um grupo recusa apenas os pedidos daquele
+     * cliente.</p>
+     *
+     * @param pedidos Os pedidos a serem criados, no máximo {@value #LIMITE_LOTE}.
+     * @return Um resultado por pedido, na mesma ordem do lote, com o ID do pedido criado ou o motivo da recusa.
+     * @throws LotePedidosException Se o lote estiver vazio ou ultrapassar {@value #LIMITE_LOTE} pedidos.
+     */
+    public List<ResultadoPedidoLoteDTO> criarPedidosEmLote(List<CriarPedidoDTO> pedidos) {
+        if (pedidos == null || pedidos.isEmpty()) {
+            throw new LotePedidosException("O lote deve conter ao menos um pedido.");
+        }
+        if (pedidos.size() > LIMITE_LOTE) {
+            throw new LotePedidosException("O lote deve conter no máximo %d pedidos.".formatted(LIMITE_LOTE));
         }
-        validarLimiteCompra(pedidoDTO);
-        Pedido pedido = mapper.toEntity(pedidoDTO, clienteRepository);
-
-        Set<ItemPedido> itens = pedidoDTO.getItens().stream()
-                .map(itemDTO -> {
-                    ItemPedido itemPedido = mapper.toEntity(itemDTO, produtoRepository);
-                    itemPedido.setPedido(pedido);
-                    return itemPedido;
-                })
-                .collect(Collectors.toSet());
 
-        pedido.setItens(itens);
+        ResultadoPedidoLoteDTO[] resultados = new ResultadoPedidoLoteDTO[pedidos.size()];
+        Map<Long, List<Integer>> indicesPorCliente = new LinkedHashMap<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            CriarPedidoDTO pedidoDTO = pedidos.get(i);
+            try {
+                validarCampos(pedidoDTO);
+                validarItemPedido(pedidoDTO.getItens());
+                indicesPorCliente.computeIfAbsent(pedidoDTO.getClienteId(), id -> new ArrayList<>()).add(i);
+            } catch (ConstraintViolationException e) {
+                resultados[i] = ResultadoPedidoLoteDTO.recusado(i, e.getMessage());
+            }
+        }
 
-        return repository.save(pedido).getId();
+        indicesPorCliente.forEach((clienteId, indices) -> {
+            try {
+                List<ResultadoPedidoLoteDTO> doCliente = transactionTemplate.execute(
+                        status -> criarPedidosDoCliente(clienteId, indices, pedidos));
+                doCliente.forEach(resultado -> resultados[resultado.getIndice()] = resultado);
+            } catch (EntityNotFoundException e) {
+                indices.forEach(i -> resultados[i] = ResultadoPedidoLoteDTO.recusado(i, e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Erro ao gravar os pedidos em lote do cliente {}.", clienteId, e);
+                indices.forEach(i -> resultados[i] = ResultadoPedidoLoteDTO.recusado(i,
+                        "Erro ao gravar os pedidos do cliente %d.".formatted(clienteId)));
+            }
+        });
+        return Arrays.asList(resultados);
     }
 
     @Override
@@ -104,35 +223,45 @@ public class PedidoService implements CrudService<PedidoDTO> {
     @Override
     public void delete(Long id) {
         Pedido pedido = idExisteOuException(id, Pedido.class);
+        if (pedido.getStatus() == StatusPedido.ATIVO) {
+            registrarMovimento(pedido, -1);
+        }
         repository.delete(pedido);
     }
 
     /**
      * Cancela um pedido.
-     * Define o status do pedido para EXCLUÍDO
+     * Define o status do pedido para EXCLUÍDO e estorna o seu valor do saldo em aberto do cliente e dos resumos de vendas.
      *
      * @param id O ID do pedido a ser cancelado.
      */
     @Transactional
     public void cancelarPedido(Long id) {
         Pedido pedido = idExisteOuException(id, Pedido.class);
+        if (pedido.getStatus() == StatusPedido.ATIVO) {
+            registrarMovimento(pedido, -1);
+            metricas.pedidoCancelado();
+        }
         pedido.setStatus(StatusPedido.EXCLUIDO);
     }
 
     /**
      * Calcula o total de compras de um cliente desde o último fechamento da fatura.
      *
+     * <p>O total é lido do saldo em aberto mantido por ciclo de fatura, sem percorrer o histórico de pedidos.
+     * Logo após um pedido do cliente, é lido do banco principal e não da réplica, que pode ainda não ter o
+     * pedido.</p>
+     *
      * @param clienteId O ID do cliente.
-     * @return O total de compras do cliente desde o último fechamento da fatura.
+     * @return O total de compras ativas do cliente desde o último fechamento da fatura.
      */
     @Transactional(readOnly = true)
     public BigDecimal totalComprasDesdeFechamento(Long clienteId) {
+        consistencia.exigirLeituraAtualizada(clienteId);
         Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(
                 () -> new EntityNotFoundException("Cliente com id %d não foi encontrado.".formatted(clienteId))
         );
-        LocalDate dataFechamento = calcularUltimaDataFechamento(cliente.getDiaFechamentoFatura());
-        BigDecimal total = repository.totalComprasDesdeData(clienteId, dataFechamento);
-        return Objects.requireNonNullElse(total, BigDecimal.ZERO);
+        return saldoService.saldoEmAberto(cliente);
     }
 
     /**
@@ -151,23 +280,22 @@ public class PedidoService implements CrudService<PedidoDTO> {
     /**
      * Valida se o cliente possui limite de crédito suficiente para realizar o pedido.
      *
-     * @param pedido O DTO do pedido a ser validado.
+     * @param valorPedido   O valor total do pedido.
+     * @param cliente       O cliente do pedido.
+     * @param saldoEmAberto O total já comprometido pelo cliente no ciclo atual da fatura.
      * @throws LimiteCreditoException Lançada se o cliente não possuir limite de crédito suficiente.
      */
-    private void validarLimiteCompra(CriarPedidoDTO pedido) {
-        Cliente cliente = clienteRepository.findById(pedido.getClienteId()).orElseThrow(
-                () -> new EntityNotFoundException("Cliente com id %d não foi encontrado.".formatted(pedido.getClienteId()))
-        );
+    private void validarLimiteCompra(BigDecimal valorPedido, Cliente cliente, BigDecimal saldoEmAberto) {
         if (cliente.getLimiteCompra() == null) {
+            metricas.pedidoRecusadoPorLimite();
             throw new LimiteCreditoException("Cliente não possui limite de crédito.");
         }
-        BigDecimal limiteCredito = cliente.getLimiteCompra();
-        BigDecimal totalComprasDesdeFechamento = totalComprasDesdeFechamento(cliente.getId());
-        BigDecimal limiteDisponivel = limiteCredito.subtract(totalComprasDesdeFechamento);
+        BigDecimal limiteDisponivel = cliente.getLimiteCompra().subtract(saldoEmAberto);
 
-        if (pedido.getValorTotal().compareTo(limiteDisponivel) > 0) {
+        if (valorPedido.compareTo(limiteDisponivel) > 0) {
+            metricas.pedidoRecusadoPorLimite();
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-            LocalDate dataFechamentoFatura = calcularProximaDataFechamento(cliente.getDiaFechamentoFatura());
+            LocalDate dataFechamentoFatura = CicloFatura.proximoFechamento(cliente.getDiaFechamentoFatura(), LocalDate.now());
             throw new LimiteCreditoException(
                     "Limite disponível: " + limiteDisponivel +
                     " | Data de fechamento da fatura: " + dataFechamentoFatura.format(formatter));
@@ -187,6 +315,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
 
     /**
      * Retorna uma lista de pedidos agrupados por cliente, juntamente com o total gasto por cada cliente.
+     * Lê o resumo de vendas por cliente; pedidos cancelados não são considerados.
      *
      * @return Uma lista de arrays de objetos, onde cada array representa um cliente e seu total gasto:
      *         <ul>
@@ -195,6 +324,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
      *         <li>Object[2]: {@link BigDecimal} - Total gasto pelo cliente.</li>
      *         </ul>
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getPedidosAgrupadosPorCliente() {
         return repository.pedidosAgrupadosPorCliente();
     }
@@ -202,6 +332,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
     /**
      * Retorna uma lista de produtos que foram incluídos em pedidos, juntamente com a
      * quantidade total pedida e o valor total para cada produto.
+     * Lê o resumo de vendas por produto; pedidos cancelados não são considerados.
      *
      * @return Uma lista de arrays de objetos, onde cada array representa um produto e suas estatísticas de pedido:
      *         <ul>
@@ -211,6 +342,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
      *         <li>Object[3]: {@link BigDecimal} - Valor total dos pedidos para o produto.</li>
      *         </ul>
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getPedidosAgrupadosPorProduto() {
         return repository.pedidosAgrupadosPorProduto();
     }
@@ -225,67 +357,220 @@ public class PedidoService implements CrudService<PedidoDTO> {
      * @param status     Indica se deve filtrar por pedidos ATIVO (true), EXCLUIDO (false) ou ambos (nulo).
      * @return Uma lista de pedidos que correspondem aos critérios de filtro fornecidos.
      */
+    @Transactional(readOnly = true)
     public List<PedidoDTO> filtrarPedidosPor(LocalDate dataInicio, LocalDate dataFim, Long clienteId,
                                                Long produtoId, StatusPedido status) {
         return mapper.toDto(filtroRepository.filtrarPedidosPor(dataInicio, dataFim, clienteId, produtoId, status));
     }
 
     /**
-     * Calcula o valor total de um pedido.
+     * Busca uma página de pedidos com base nos critérios de filtro, ordenados pelo ID.
      *
-     * @param pedido O DTO do pedido.
-     * @return O valor total do pedido.
+     * @param filtro      Os critérios de filtro.
+     * @param apos        O ID do último pedido da página anterior, ou nulo para a primeira página.
+     * @param limite      A quantidade máxima de pedidos da página.
+     * @param contarTotal Indica se o total aproximado deve ser calculado. Sem filtros, utiliza a estimativa
+     *                    da tabela; com filtros, conta no máximo {@value #TETO_CONTAGEM_FILTRO} pedidos.
+     * @return A página de pedidos, com o cursor da próxima página.
      */
-    private BigDecimal valorTotal(CriarPedidoDTO pedido) {
-        Set<Long> produtoIds = pedido.getItens().stream()
+    @Transactional(readOnly = true)
+    public PaginaDTO<PedidoDTO> filtrarPedidosPaginado(FiltroPedidoQuery filtro, Long apos, int limite,
+                                                       boolean contarTotal) {
+        int tamanho = tamanhoPagina(limite);
+        List<Pedido> encontrados = filtroRepository.filtrarPedidosPor(
+                filtro.toBuilder().apos(apos).limite(tamanho + 1).build());
+        Long total = null;
+        if (contarTotal) {
+            total = filtro.where().isEmpty()
+                    ? estatisticaRepository.contagemAproximada(getTabela())
+                    : filtroRepository.contarPedidosAte(filtro, TETO_CONTAGEM_FILTRO);
+        }
+        return montarPagina(encontrados, tamanho, Pedido::getId, mapper::toDto, total);
+    }
+
+    /**
+     * Exporta os pedidos que atendem ao filtro em JSON delimitado por linhas (NDJSON), um pedido por linha.
+     *
+     * <p>Os pedidos são lidos por um cursor e escritos na saída à medida que são lidos, sem carregar o
+     * resultado inteiro em memória. O consumo de memória é constante, independentemente da quantidade de
+     * pedidos exportados.</p>
+     *
+     * @param filtro Os critérios de filtro.
+     * @param saida  A saída onde os pedidos serão escritos. Não é fechada por este método.
+     * @throws IOException Se ocorrer um erro ao escrever na saída.
+     */
+    @Transactional(readOnly = true)
+    public void exportarPedidos(FiltroPedidoQuery filtro, OutputStream saida) throws IOException {
+        ObjectWriter escritor = objectMapper.writerFor(PedidoDTO.class);
+        BufferedOutputStream buffer = new BufferedOutputStream(saida, BUFFER_EXPORTACAO);
+        try {
+            filtroRepository.exportarPedidosPor(filtro, pedido -> {
+                try {
+                    buffer.write(escritor.writeValueAsBytes(mapper.toDto(pedido)));
+                    buffer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffer.flush();
+    }
+
+    /**
+     * Cria, na transação atual, os pedidos de um mesmo cliente enviados em lote.
+     *
+     * @param clienteId O ID do cliente.
+     * @param indices   As posições no lote dos pedidos do cliente.
+     * @param pedidos   O lote completo.
+     * @return Um resultado para cada pedido do cliente.
+     * @throws EntityNotFoundException Se o cliente não for encontrado.
+     */
+    private List<ResultadoPedidoLoteDTO> criarPedidosDoCliente(Long clienteId, List<Integer> indices,
+                                                               List<CriarPedidoDTO> pedidos) {
+        Cliente cliente = clienteRepository.findByIdParaReserva(clienteId).orElseThrow(
+                () -> new EntityNotFoundException("Cliente com id %d não foi encontrado.".formatted(clienteId))
+        );
+        Map<Long, Produto> produtos = buscarProdutos(indices.stream()
+                .flatMap(i -> pedidos.get(i).getItens().stream()));
+        BigDecimal saldoEmAberto = saldoService.saldoEmAberto(cliente);
+
+        List<ResultadoPedidoLoteDTO> resultados = new ArrayList<>();
+        List<Pedido> criados = new ArrayList<>();
+        List<Integer> indicesCriados = new ArrayList<>();
+        for (Integer i : indices) {
+            CriarPedidoDTO pedidoDTO = pedidos.get(i);
+            try {
+                prepararValorTotal(pedidoDTO, produtos);
+                validarLimiteCompra(pedidoDTO.getValorTotal(), cliente, saldoEmAberto);
+                saldoEmAberto = saldoEmAberto.add(pedidoDTO.getValorTotal());
+                criados.add(montarPedido(pedidoDTO, cliente, produtos));
+                indicesCriados.add(i);
+            } catch (EntityNotFoundException | LimiteCreditoException | ValorTotalPedidoException e) {
+                resultados.add(ResultadoPedidoLoteDTO.recusado(i, e.getMessage()));
+            }
+        }
+        if (criados.isEmpty()) {
+            return resultados;
+        }
+
+        repository.saveAllAndFlush(criados);
+        criados.stream()
+                .collect(Collectors.groupingBy(Pedido::getData, TreeMap::new,
+                        Collectors.reducing(BigDecimal.ZERO, this::valorItens, BigDecimal::add)))
+                .forEach((data, valor) -> saldoService.registrar(cliente, data, valor));
+        resumoService.registrarCriados(criados);
+        versoes.registrarAlteracao(getTabela());
+        metricas.pedidosCriados(criados.size());
+
+        for (int k = 0; k < criados.size(); k++) {
+            resultados.add(ResultadoPedidoLoteDTO.criado(indicesCriados.get(k), criados.get(k).getId()));
+        }
+        return resultados;
+    }
+
+    /**
+     * Carrega os produtos dos itens informados a partir do catálogo em memória. Somente os ausentes do
+     * catálogo são buscados no banco, em uma única consulta.
+     *
+     * @param itens Os itens de um ou mais pedidos.
+     * @return Os produtos encontrados, indexados pelo ID.
+     */
+    private Map<Long, Produto> buscarProdutos(Stream<CriarItemPedidoDTO> itens) {
+        Set<Long> produtoIds = itens
                 .map(CriarItemPedidoDTO::getProdutoId)
                 .collect(Collectors.toSet());
 
-        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds)
-                .stream()
-                .collect(Collectors.toMap(Produto::getId, p -> p));
+        return catalogo.buscarTodos(produtoIds);
+    }
 
-        BigDecimal valorTotalPedido = BigDecimal.ZERO;
+    /**
+     * Verifica se os produtos do pedido existem e define o valor total do pedido a partir dos preços do catálogo.
+     *
+     * <p>O valor total informado é opcional: zero indica que não foi informado. Quando informado, deve ser igual
+     * ao calculado, pois é o valor calculado que o limite de crédito valida e que o saldo em aberto registra.</p>
+     *
+     * @param pedido   O DTO do pedido.
+     * @param produtos Os produtos carregados, indexados pelo ID.
+     * @throws EntityNotFoundException   Se algum produto não for encontrado.
+     * @throws ValorTotalPedidoException Se o valor total informado for diferente do calculado.
+     */
+    private void prepararValorTotal(CriarPedidoDTO pedido, Map<Long, Produto> produtos) {
         for (CriarItemPedidoDTO item : pedido.getItens()) {
-            Produto produto = produtos.get(item.getProdutoId());
-            if (produto != null) {
-                BigDecimal valorTotalItem = produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade()));
-                valorTotalPedido = valorTotalPedido.add(valorTotalItem);
+            if (!produtos.containsKey(item.getProdutoId())) {
+                throw new EntityNotFoundException("Produto com id %d não foi encontrado.".formatted(item.getProdutoId()));
             }
         }
-        return valorTotalPedido;
+        BigDecimal calculado = valorTotal(pedido, produtos);
+        if (pedido.getValorTotal().signum() != 0 && pedido.getValorTotal().compareTo(calculado) != 0) {
+            throw new ValorTotalPedidoException("O valor total informado (%s) é diferente do valor dos itens (%s)."
+                    .formatted(pedido.getValorTotal(), calculado));
+        }
+        pedido.setValorTotal(calculado);
+    }
+
+    /**
+     * Monta o pedido com o cliente e os produtos já carregados.
+     *
+     * @param pedidoDTO O DTO do pedido.
+     * @param cliente   O cliente do pedido.
+     * @param produtos  Os produtos do pedido, indexados pelo ID.
+     * @return O pedido, ainda não salvo.
+     */
+    private Pedido montarPedido(CriarPedidoDTO pedidoDTO, Cliente cliente, Map<Long, Produto> produtos) {
+        Pedido pedido = mapper.toEntity(pedidoDTO);
+        pedido.setCliente(cliente);
+        for (CriarItemPedidoDTO itemDTO : pedidoDTO.getItens()) {
+            pedido.getItens().add(new ItemPedido(null, pedido, produtos.get(itemDTO.getProdutoId()),
+                    itemDTO.getQuantidade()));
+        }
+        return pedido;
     }
 
     /**
-     * Calcula a data do último fechamento da fatura.
+     * Calcula o valor total de um pedido.
      *
-     * @param diaFechamento O dia do mês em que a fatura é fechada.
-     * @return A data do último fechamento da fatura.
+     * @param pedido   O DTO do pedido.
+     * @param produtos Os produtos do pedido, indexados pelo ID.
+     * @return O valor total do pedido.
      */
-    private LocalDate calcularUltimaDataFechamento(int diaFechamento) {
-        LocalDate hoje = LocalDate.now();
-        int dia = hoje.getDayOfMonth();
-        YearMonth anoMes;
-
-        if (dia >= diaFechamento) {
-            anoMes = YearMonth.from(hoje);
-        } else {
-            anoMes = YearMonth.from(hoje).minusMonths(1);
+    static BigDecimal valorTotal(CriarPedidoDTO pedido, Map<Long, Produto> produtos) {
+        BigDecimal valorTotalPedido = BigDecimal.ZERO;
+        for (CriarItemPedidoDTO item : pedido.getItens()) {
+            Produto produto = produtos.get(item.getProdutoId());
+            BigDecimal valorTotalItem = produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade()));
+            valorTotalPedido = valorTotalPedido.add(valorTotalItem);
         }
+        return valorTotalPedido;
+    }
 
-        int ultimoDiaMes = anoMes.lengthOfMonth();
-        int diaAjustado = Math.min(diaFechamento, ultimoDiaMes);
-        return anoMes.atDay(diaAjustado);
+    /**
+     * Soma (ou subtrai) um pedido ao saldo em aberto do cliente e aos resumos de vendas, e registra a alteração
+     * da tabela de pedidos, que invalida os relatórios de {@link RelatorioService}.
+     *
+     * @param pedido O pedido, com cliente e itens preenchidos.
+     * @param sinal  {@code 1} para um pedido criado, {@code -1} para um pedido cancelado ou excluído.
+     */
+    private void registrarMovimento(Pedido pedido, int sinal) {
+        saldoService.registrar(pedido.getCliente(), pedido.getData(),
+                valorItens(pedido).multiply(BigDecimal.valueOf(sinal)));
+        resumoService.registrar(pedido, sinal);
+        versoes.registrarAlteracao(getTabela());
     }
 
     /**
-     * Calcula a data do próximo fechamento da fatura.
+     * Calcula o valor dos itens de um pedido, que compõe o saldo em aberto do cliente.
      *
-     * @param diaFechamento O dia do mês em que a fatura é fechada.
-     * @return A data do próximo fechamento da fatura.
+     * @param pedido O pedido.
+     * @return A soma do preço unitário registrado multiplicado pela quantidade de cada item.
      */
-    private LocalDate calcularProximaDataFechamento(int diaFechamento) {
-        return calcularUltimaDataFechamento(diaFechamento).plusMonths(1);
+    private BigDecimal valorItens(Pedido pedido) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedido item : pedido.getItens()) {
+            total = total.add(item.calcularValorTotal());
+        }
+        return total;
     }
 
     /**
@@ -304,9 +589,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
      */
     private void validarItemPedido(Set<CriarItemPedidoDTO> itens){
         for (CriarItemPedidoDTO item : itens) {
-            Set<ConstraintViolation<CriarItemPedidoDTO>> violations = Validation
-                    .buildDefaultValidatorFactory()
-                    .getValidator().validate(item);
+            Set<ConstraintViolation<CriarItemPedidoDTO>> violations = Validadores.validador().validate(item);
             if (!violations.isEmpty()) {
                 StringBuilder sb = new StringBuilder();
                 for (var constraintViolation : violations) {
@@ -328,9 +611,7 @@ public class PedidoService implements CrudService<PedidoDTO> {
      * @throws ConstraintViolationException Se algum campo do DTO for inválido.
      */
     private void validarCampos(CriarPedidoDTO dto) {
-        Set<ConstraintViolation<CriarPedidoDTO>> violations = Validation
-                .buildDefaultValidatorFactory()
-                .getValidator().validate(dto);
+        Set<ConstraintViolation<CriarPedidoDTO>> violations = Validadores.validador().validate(dto);
         if (!violations.isEmpty()) {
             StringBuilder sb = new StringBuilder();
             for (ConstraintViolation<CriarPedidoDTO> constraintViolation : violations) {
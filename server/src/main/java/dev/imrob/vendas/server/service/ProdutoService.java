@@ -1,10 +1,14 @@
 package dev.imrob.vendas.server.service;
 
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.dto.ProdutoDTO;
 import dev.imrob.vendas.server.dto.mapper.ProdutoMapper;
 import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.EstatisticaTabelaRepository;
 import dev.imrob.vendas.server.repository.ProdutoRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +20,18 @@ import java.util.List;
 public class ProdutoService implements CrudService<ProdutoDTO> {
     private final ProdutoRepository repository;
     private final ProdutoMapper mapper;
+    private final EstatisticaTabelaRepository estatisticaRepository;
+    private final CatalogoProdutos catalogo;
+    private final VersaoTabelas versoes;
 
-    @Transactional
+    /**
+     * Busca o produto no catálogo em memória, sem consultar o banco quando ele já estiver carregado.
+     */
     @Override
     public ProdutoDTO findById(Long id) {
-        Produto produto = idExisteOuException(id, Produto.class);
-        return mapper.toDto(produto);
+        return catalogo.buscar(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Produto com id %d não foi encontrado".formatted(id)));
     }
 
     @Transactional
@@ -31,12 +41,25 @@ public class ProdutoService implements CrudService<ProdutoDTO> {
         return mapper.toDto(produtos);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public PaginaDTO<ProdutoDTO> findPagina(Long apos, int limite, boolean contarTotal) {
+        int tamanho = tamanhoPagina(limite);
+        List<Produto> encontrados = repository.findByIdGreaterThanOrderByIdAsc(
+                apos == null ? 0L : apos, Limit.of(tamanho + 1));
+        Long total = contarTotal ? estatisticaRepository.contagemAproximada(getTabela()) : null;
+        return montarPagina(encontrados, tamanho, Produto::getId, mapper::toDto, total);
+    }
+
     @Transactional
     @Override
     public Long save(ProdutoDTO dto) {
         validarCampos(dto);
         Produto produto = mapper.toEntity(dto);
-        return repository.save(produto).getId();
+        Long id = repository.save(produto).getId();
+        catalogo.recarregarAposCommit();
+        versoes.registrarAlteracao(getTabela());
+        return id;
     }
 
     @Transactional
@@ -45,6 +68,8 @@ public class ProdutoService implements CrudService<ProdutoDTO> {
         validarCampos(dto);
         idExisteOuException(dto.getId(), Produto.class);
         repository.save(mapper.toEntity(dto));
+        catalogo.recarregarAposCommit();
+        versoes.registrarAlteracao(getTabela());
     }
 
     @Transactional
@@ -52,6 +77,21 @@ public class ProdutoService implements CrudService<ProdutoDTO> {
     public void delete(Long id) {
         Produto produto = idExisteOuException(id, Produto.class);
         repository.delete(produto);
+        catalogo.recarregarAposCommit();
+        versoes.registrarAlteracao(getTabela());
+    }
+
+    /**
+     * As leituras de produtos mudam somente pelas alterações deste serviço, que incrementam a versão da tabela.
+     */
+    @Override
+    public boolean isVersionado() {
+        return true;
+    }
+
+    @Override
+    public String getTabela() {
+        return "tb_produto";
     }
 
     @Transactional
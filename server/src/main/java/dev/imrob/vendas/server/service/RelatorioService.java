@@ -0,0 +1,225 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.RelatorioDTO;
+import dev.imrob.vendas.server.dto.StatusRelatorio;
+import dev.imrob.vendas.server.dto.TipoRelatorio;
+import dev.imrob.vendas.server.exception.RelatorioException;
+import dev.imrob.vendas.server.repository.PedidoRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executa os relatórios agregados de pedidos em segundo plano e guarda os resultados.
+ *
+ * <p>Os relatórios rodam em um pool limitado a {@code vendas.relatorios.threads} threads, com no máximo
+ * {@code vendas.relatorios.fila} execuções aguardando; além disso, a solicitação é recusada. Cada relatório
+ * é lido em uma transação somente leitura, que vai para a réplica quando configurada, e não ocupa as threads
+ * nem as conexões das requisições.</p>
+ *
+ * <p>Solicitações do mesmo relatório reaproveitam a execução em andamento ou o resultado concluído enquanto
+ * as tabelas lidas não forem alteradas e o resultado tiver menos de {@code vendas.relatorios.ttl}. As
+ * alterações são detectadas pelas versões de {@link VersaoTabelas}: um pedido criado, cancelado ou excluído,
+ * assim como a alteração de um cliente ou produto, invalida os resultados. As execuções e os resultados ficam
+ * em memória, somente nesta instância; alterações feitas por outras instâncias só são vistas após o TTL.</p>
+ */
+@Slf4j
+@Service
+public class RelatorioService {
+    private static final List<String> TABELAS = List.of("tb_pedido", "tb_cliente", "tb_produto");
+
+    private final PedidoRepository repository;
+    private final VersaoTabelas versoes;
+    private final TransactionTemplate leitura;
+    private final ThreadPoolExecutor executor;
+    private final Duration ttl;
+    private final Map<String, Execucao> execucoes = new ConcurrentHashMap<>();
+    private final Map<TipoRelatorio, Execucao> atuais = new EnumMap<>(TipoRelatorio.class);
+    /**
+     * Protege {@link #atuais}. Um {@link ReentrantLock}, e não {@code synchronized}, para que threads
+     * virtuais aguardando não fixem a thread portadora.
+     */
+    private final ReentrantLock bloqueio = new ReentrantLock();
+
+    public RelatorioService(PedidoRepository repository, VersaoTabelas versoes,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${vendas.relatorios.threads:2}") int threads,
+                            @Value("${vendas.relatorios.fila:16}") int fila,
+                            @Value("${vendas.relatorios.ttl:PT5M}") Duration ttl) {
+        this.repository = repository;
+        this.versoes = versoes;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("relatorio-"));
+        this.ttl = ttl;
+    }
+
+    /**
+     * Execução de um relatório, identificada pela versão das tabelas lidas quando foi solicitada.
+     */
+    private static final class Execucao {
+        private final String id = UUID.randomUUID().toString();
+        private final TipoRelatorio tipo;
+        private final String versao;
+        private final LocalDateTime solicitadoEm = LocalDateTime.now();
+        private volatile boolean iniciada;
+        private volatile LocalDateTime concluidoEm;
+        private volatile long concluidoNanos;
+        private CompletableFuture<List<Object[]>> resultado;
+
+        private Execucao(TipoRelatorio tipo, String versao) {
+            this.tipo = tipo;
+            this.versao = versao;
+        }
+
+        private StatusRelatorio status() {
+            if (!resultado.isDone()) {
+                return iniciada ? StatusRelatorio.EXECUTANDO : StatusRelatorio.PENDENTE;
+            }
+            return resultado.isCompletedExceptionally() ? StatusRelatorio.FALHOU : StatusRelatorio.CONCLUIDO;
+        }
+
+        private boolean expirada(long agora, Duration ttl) {
+            return resultado.isDone() && agora - concluidoNanos > ttl.toNanos();
+        }
+
+        private String erro() {
+            return resultado.handle((valor, e) -> e == null ? null : causa(e).getMessage()).getNow(null);
+        }
+
+        private RelatorioDTO toDTO() {
+            return new RelatorioDTO(id, tipo, status(), solicitadoEm, concluidoEm, erro());
+        }
+    }
+
+    /**
+     * Solicita um relatório, reaproveitando a execução em andamento ou o resultado ainda válido.
+     *
+     * @param tipo O relatório.
+     * @return A execução do relatório.
+     * @throws RelatorioException Se a fila de relatórios estiver cheia.
+     */
+    public RelatorioDTO solicitar(TipoRelatorio tipo) {
+        long agora = System.nanoTime();
+        execucoes.values().removeIf(execucao -> execucao.expirada(agora, ttl));
+        String versao = versaoAtual();
+        bloqueio.lock();
+        try {
+            Execucao atual = atuais.get(tipo);
+            if (atual != null && atual.versao.equals(versao) && atual.status() != StatusRelatorio.FALHOU
+                    && !atual.expirada(agora, ttl)) {
+                return atual.toDTO();
+            }
+            Execucao nova = new Execucao(tipo, versao);
+            try {
+                nova.resultado = CompletableFuture.supplyAsync(() -> executar(nova), executor);
+            } catch (RejectedExecutionException e) {
+                throw new RelatorioException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "A fila de relatórios está cheia. Tente novamente em instantes.");
+            }
+            atuais.put(tipo, nova);
+            execucoes.put(nova.id, nova);
+            return nova.toDTO();
+        } finally {
+            bloqueio.unlock();
+        }
+    }
+
+    /**
+     * Retorna a situação de uma execução.
+     *
+     * @param id O ID da execução.
+     * @return A execução.
+     * @throws EntityNotFoundException Se a execução não existir ou já tiver expirado.
+     */
+    public RelatorioDTO buscar(String id) {
+        return execucao(id).toDTO();
+    }
+
+    /**
+     * Retorna o resultado de uma execução concluída, no mesmo formato dos endpoints síncronos.
+     *
+     * @param id O ID da execução.
+     * @return As linhas do relatório.
+     * @throws EntityNotFoundException Se a execução não existir ou já tiver expirado.
+     * @throws RelatorioException      Se a execução ainda não terminou ou falhou.
+     */
+    public List<Object[]> resultado(String id) {
+        Execucao execucao = execucao(id);
+        return switch (execucao.status()) {
+            case PENDENTE, EXECUTANDO -> throw new RelatorioException(HttpStatus.CONFLICT,
+                    "O relatório %s ainda está em execução.".formatted(id));
+            case FALHOU -> throw new RelatorioException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "O relatório %s falhou: %s".formatted(id, execucao.erro()));
+            case CONCLUIDO -> execucao.resultado.join();
+        };
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private Execucao execucao(String id) {
+        Execucao execucao = execucoes.get(id);
+        if (execucao == null) {
+            throw new EntityNotFoundException("Relatório com id %s não foi encontrado.".formatted(id));
+        }
+        return execucao;
+    }
+
+    private List<Object[]> executar(Execucao execucao) {
+        execucao.iniciada = true;
+        long inicio = System.nanoTime();
+        try {
+            List<Object[]> linhas = leitura.execute(status -> switch (execucao.tipo) {
+                case POR_CLIENTE -> repository.pedidosAgrupadosPorCliente();
+                case POR_PRODUTO -> repository.pedidosAgrupadosPorProduto();
+            });
+            log.info("Relatório {} {} concluído em {} ms com {} linha(s).", execucao.tipo, execucao.id,
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis(), linhas.size());
+            return linhas;
+        } catch (RuntimeException e) {
+            log.error("Erro ao executar o relatório {} {}.", execucao.tipo, execucao.id, e);
+            throw e;
+        } finally {
+            // Registrado antes de o resultado ficar visível, para que o TTL nunca conte de um instante anterior
+            execucao.concluidoNanos = System.nanoTime();
+            execucao.concluidoEm = LocalDateTime.now();
+        }
+    }
+
+    private String versaoAtual() {
+        StringBuilder versao = new StringBuilder();
+        for (String tabela : TABELAS) {
+            versao.append(versoes.etag(tabela)).append(';');
+        }
+        return versao.toString();
+    }
+
+    private static Throwable causa(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -0,0 +1,294 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.DivergenciaResumoDTO;
+import dev.imrob.vendas.server.dto.Granularidade;
+import dev.imrob.vendas.server.dto.PontoSerieDTO;
+import dev.imrob.vendas.server.entity.ItemPedido;
+import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.exception.SerieVendasException;
+import dev.imrob.vendas.server.repository.ResumoVendasRepository;
+import dev.imrob.vendas.server.repository.ResumoVendasRepository.MovimentoProduto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém os resumos de vendas por cliente, por produto e por dia usados pelos relatórios de pedidos.
+ *
+ * <p>Cada pedido criado soma seus valores aos resumos, e cada pedido cancelado ou excluído os subtrai,
+ * na mesma transação que altera o pedido. Assim os relatórios leem os resumos em vez de agregar todos
+ * os pedidos. Os resumos de total e de produtos recebem o pedido na faixa do seu cliente
+ * ({@link ResumoVendasRepository#faixa(Long)}), então pedidos de clientes de faixas diferentes não esperam uns
+ * pelos outros nos resumos. A verificação compara os resumos com o recálculo completo e os reconstrói se necessário.</p>
+ *
+ * <p>Os meses encerrados são compactados diariamente em resumos mensais, lidos pelas séries mensais. Um pedido
+ * com data em um mês já compactado, como o cancelamento de um pedido antigo, atualiza também o resumo mensal.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ResumoVendasService {
+    static final int LIMITE_DIVERGENCIAS = 1000;
+
+    /**
+     * Quantidade máxima de períodos de uma série: pouco mais de dez anos por dia.
+     */
+    static final int LIMITE_PERIODOS = 4000;
+
+    private final ResumoVendasRepository repository;
+
+    /**
+     * Soma (ou subtrai) um pedido aos resumos do dia do pedido e, se o mês já foi compactado, aos do mês.
+     *
+     * @param pedido O pedido, com cliente e itens preenchidos.
+     * @param sinal  {@code 1} para um pedido criado, {@code -1} para um pedido cancelado ou excluído.
+     */
+    public void registrar(Pedido pedido, int sinal) {
+        BigDecimal valor = pedido.getValorTotal().multiply(BigDecimal.valueOf(sinal));
+        Long clienteId = pedido.getCliente().getId();
+        int faixa = ResumoVendasRepository.faixa(clienteId);
+        Map<Long, MovimentoProduto> porProduto = new TreeMap<>();
+        pedido.getItens().forEach(item -> somarMovimento(porProduto, movimento(item, sinal)));
+        List<MovimentoProduto> movimentos = new ArrayList<>(porProduto.values());
+
+        registrarNosPeriodos(pedido.getData(), (granularidade, periodo) -> {
+            repository.adicionarCliente(granularidade, clienteId, periodo, sinal, valor);
+            if (!movimentos.isEmpty()) {
+                repository.adicionarProdutos(granularidade, periodo, faixa, movimentos);
+            }
+            repository.adicionarTotal(granularidade, periodo, faixa, sinal, valor);
+        });
+    }
+
+    /**
+     * Soma vários pedidos criados aos resumos, agregando-os antes por dia, cliente e produto.
+     *
+     * <p>Cada linha de resumo recebe um único {@code UPDATE} por lote, independentemente da quantidade de
+     * pedidos. As linhas são atualizadas na mesma ordem de {@link #registrar(Pedido, int)}: clientes e, faixa a
+     * faixa, os produtos pelo ID e o total do dia; depois, se o mês já foi compactado, os resumos mensais na
+     * mesma ordem.</p>
+     *
+     * @param pedidos Os pedidos criados, com cliente e itens preenchidos.
+     */
+    public void registrarCriados(List<Pedido> pedidos) {
+        Map<LocalDate, List<Pedido>> porDia = pedidos.stream()
+                .collect(Collectors.groupingBy(Pedido::getData, TreeMap::new, Collectors.toList()));
+        porDia.forEach((dia, doDia) -> {
+            Map<Long, List<Pedido>> porCliente = doDia.stream()
+                    .collect(Collectors.groupingBy(pedido -> pedido.getCliente().getId(), TreeMap::new, Collectors.toList()));
+
+            Map<Integer, List<Pedido>> porFaixa = doDia.stream()
+                    .collect(Collectors.groupingBy(pedido -> ResumoVendasRepository.faixa(pedido.getCliente().getId()),
+                            TreeMap::new, Collectors.toList()));
+            Map<Integer, List<MovimentoProduto>> produtosPorFaixa = new HashMap<>();
+            porFaixa.forEach((faixa, daFaixa) -> {
+                Map<Long, MovimentoProduto> porProduto = new TreeMap<>();
+                for (Pedido pedido : daFaixa) {
+                    for (ItemPedido item : pedido.getItens()) {
+                        somarMovimento(porProduto, movimento(item, 1));
+                    }
+                }
+                produtosPorFaixa.put(faixa, new ArrayList<>(porProduto.values()));
+            });
+
+            registrarNosPeriodos(dia, (granularidade, periodo) -> {
+                porCliente.forEach((clienteId, doCliente) -> repository.adicionarCliente(
+                        granularidade, clienteId, periodo, doCliente.size(), somarValorTotal(doCliente)));
+                porFaixa.forEach((faixa, daFaixa) -> {
+                    List<MovimentoProduto> movimentos = produtosPorFaixa.get(faixa);
+                    if (!movimentos.isEmpty()) {
+                        repository.adicionarProdutos(granularidade, periodo, faixa, movimentos);
+                    }
+                    repository.adicionarTotal(granularidade, periodo, faixa, daFaixa.size(), somarValorTotal(daFaixa));
+                });
+            });
+        });
+    }
+
+    /**
+     * Compara os resumos com o recálculo completo a partir dos pedidos.
+     *
+     * @param corrigir Indica se os resumos devem ser reconstruídos quando houver divergências.
+     * @return As divergências encontradas, no máximo {@value #LIMITE_DIVERGENCIAS}.
+     */
+    @Transactional
+    public List<DivergenciaResumoDTO> verificar(boolean corrigir) {
+        List<DivergenciaResumoDTO> divergencias = repository.divergencias(LIMITE_DIVERGENCIAS);
+        if (divergencias.isEmpty()) {
+            log.info("Resumos de vendas conferem com os pedidos.");
+            return divergencias;
+        }
+        divergencias.forEach(d -> log.warn("Resumo de vendas divergente: {} {} em {}, registrado {} pedido(s) e {}, calculado {} pedido(s) e {}.",
+                d.getResumo(), d.getId(), d.getDia(), d.getPedidosRegistrados(), d.getTotalRegistrado(),
+                d.getPedidosCalculados(), d.getTotalCalculado()));
+        if (corrigir) {
+            reconstruir();
+            log.warn("Resumos de vendas reconstruídos após {} divergência(s).", divergencias.size());
+        }
+        return divergencias;
+    }
+
+    /**
+     * Reconstrói os resumos a partir dos pedidos e compacta novamente os meses encerrados.
+     */
+    @Transactional
+    public void reconstruir() {
+        repository.reconstruir();
+        compactar();
+    }
+
+    /**
+     * Compacta nos resumos mensais os meses encerrados ainda não compactados, do mais antigo ao mais recente.
+     *
+     * @return A quantidade de meses compactados.
+     */
+    @Transactional
+    public int compactar() {
+        LocalDate mesAtual = Granularidade.MES.inicio(LocalDate.now());
+        LocalDate mes = repository.compactadoAte()
+                .or(() -> repository.primeiroDia().map(Granularidade.MES::inicio))
+                .orElse(mesAtual);
+        int meses = 0;
+        for (; mes.isBefore(mesAtual); mes = mes.plusMonths(1)) {
+            repository.compactarMes(mes);
+            meses++;
+        }
+        if (meses > 0) {
+            log.info("{} mês(es) compactado(s) nos resumos mensais de vendas.", meses);
+        }
+        return meses;
+    }
+
+    /**
+     * Compacta diariamente os meses encerrados, após a verificação dos resumos.
+     */
+    @Transactional
+    @Scheduled(cron = "${vendas.resumo.compactacao-cron:0 45 3 * * *}")
+    public void compactarAgendado() {
+        compactar();
+    }
+
+    /**
+     * Retorna a série de vendas ativas por dia ou por mês, lida dos resumos.
+     *
+     * <p>Todos os períodos do intervalo são retornados, em ordem, com zero nos períodos sem vendas. Os períodos
+     * mensais cobrem sempre o mês inteiro, mesmo que {@code inicio} ou {@code fim} caiam no meio do mês. Os meses
+     * compactados são lidos dos resumos mensais e os demais da soma dos resumos diários. Não há resumo por
+     * cliente e produto: com os dois filtros, a série é somada a partir dos pedidos do cliente.</p>
+     *
+     * @param granularidade A granularidade dos períodos.
+     * @param inicio        O primeiro dia da série, inclusive.
+     * @param fim           O último dia da série, inclusive.
+     * @param clienteId     O cliente (opcional).
+     * @param produtoId     O produto (opcional).
+     * @return Um ponto por período, do primeiro ao último.
+     * @throws SerieVendasException Se o intervalo for inválido ou tiver mais de {@value #LIMITE_PERIODOS} períodos.
+     */
+    @Transactional(readOnly = true)
+    public List<PontoSerieDTO> serie(Granularidade granularidade, LocalDate inicio, LocalDate fim,
+                                     Long clienteId, Long produtoId) {
+        if (inicio == null || fim == null || fim.isBefore(inicio)) {
+            throw new SerieVendasException("Informe o início e o fim da série; o início não pode ser posterior ao fim.");
+        }
+        LocalDate primeiro = granularidade.inicio(inicio);
+        LocalDate ultimo = granularidade.fim(fim);
+        long periodos = (granularidade == Granularidade.MES ? ChronoUnit.MONTHS : ChronoUnit.DAYS)
+                .between(primeiro, ultimo) + 1;
+        if (periodos > LIMITE_PERIODOS) {
+            throw new SerieVendasException("A série deve ter no máximo %d períodos; foram pedidos %d."
+                    .formatted(LIMITE_PERIODOS, periodos));
+        }
+        boolean clienteEProduto = clienteId != null && produtoId != null;
+
+        List<PontoSerieDTO> pontos = new ArrayList<>();
+        LocalDate diariosDesde = primeiro;
+        Optional<LocalDate> compactadoAte = granularidade == Granularidade.MES && !clienteEProduto
+                ? repository.compactadoAte() : Optional.empty();
+        if (compactadoAte.isPresent() && compactadoAte.get().isAfter(primeiro)) {
+            LocalDate ultimoMes = Granularidade.MES.inicio(ultimo);
+            LocalDate ultimoMensal = compactadoAte.get().isAfter(ultimoMes) ? ultimoMes : compactadoAte.get().minusMonths(1);
+            pontos.addAll(repository.serie(Granularidade.MES, clienteId, produtoId, primeiro, ultimoMensal));
+            diariosDesde = compactadoAte.get();
+        }
+        if (!diariosDesde.isAfter(ultimo)) {
+            pontos.addAll(clienteEProduto
+                    ? repository.serieClienteProduto(clienteId, produtoId, diariosDesde, ultimo)
+                    : repository.serie(Granularidade.DIA, clienteId, produtoId, diariosDesde, ultimo));
+        }
+        return agrupar(pontos, granularidade, primeiro, ultimo);
+    }
+
+    /**
+     * Verifica e corrige os resumos diariamente, em uma única transação.
+     */
+    @Transactional
+    @Scheduled(cron = "${vendas.resumo.verificacao-cron:0 30 3 * * *}")
+    public void verificarAgendado() {
+        verificar(true);
+    }
+
+    /**
+     * Aplica um movimento ao resumo diário e, se o mês do dia já foi compactado, também ao resumo mensal.
+     *
+     * <p>O mês é consultado depois da atualização diária: durante a compactação do mês, essa atualização espera
+     * a compactação terminar, que então já aparece na consulta. Só meses encerrados são compactados, então os
+     * pedidos do mês atual não consultam os resumos mensais.</p>
+     */
+    private void registrarNosPeriodos(LocalDate dia, BiConsumer<Granularidade, LocalDate> adicionar) {
+        adicionar.accept(Granularidade.DIA, dia);
+        LocalDate mes = Granularidade.MES.inicio(dia);
+        if (mes.isBefore(Granularidade.MES.inicio(LocalDate.now()))
+                && repository.compactadoAte().map(mes::isBefore).orElse(false)) {
+            adicionar.accept(Granularidade.MES, mes);
+        }
+    }
+
+    /**
+     * Soma os pontos de cada período e preenche com zero os períodos sem pontos.
+     */
+    private List<PontoSerieDTO> agrupar(List<PontoSerieDTO> pontos, Granularidade granularidade,
+                                        LocalDate primeiro, LocalDate ultimo) {
+        Map<LocalDate, PontoSerieDTO> porPeriodo = new HashMap<>();
+        for (PontoSerieDTO ponto : pontos) {
+            LocalDate periodo = granularidade.inicio(ponto.getPeriodo());
+            porPeriodo.merge(periodo, new PontoSerieDTO(periodo, ponto.getPedidos(), ponto.getTotal()),
+                    (a, b) -> new PontoSerieDTO(periodo, a.getPedidos() + b.getPedidos(), a.getTotal().add(b.getTotal())));
+        }
+        List<PontoSerieDTO> serie = new ArrayList<>();
+        for (LocalDate periodo = primeiro; !periodo.isAfter(ultimo); periodo = granularidade.proximo(periodo)) {
+            serie.add(porPeriodo.getOrDefault(periodo, new PontoSerieDTO(periodo, 0, BigDecimal.ZERO)));
+        }
+        return serie;
+    }
+
+    private BigDecimal somarValorTotal(List<Pedido> pedidos) {
+        return pedidos.stream().map(Pedido::getValorTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Agrupa os movimentos por produto, em ordem de ID, como exige a atualização dos resumos dos produtos.
+     */
+    private void somarMovimento(Map<Long, MovimentoProduto> porProduto, MovimentoProduto movimento) {
+        porProduto.merge(movimento.produtoId(), movimento, (a, b) -> new MovimentoProduto(
+                a.produtoId(), a.pedidos() + b.pedidos(), a.quantidade() + b.quantidade(), a.total().add(b.total())));
+    }
+
+    private MovimentoProduto movimento(ItemPedido item, int sinal) {
+        return new MovimentoProduto(item.getProduto().getId(), sinal, (long) item.getQuantidade() * sinal,
+                item.calcularValorTotal().multiply(BigDecimal.valueOf(sinal)));
+    }
+}
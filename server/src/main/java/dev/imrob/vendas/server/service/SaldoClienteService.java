@@ -0,0 +1,187 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.DivergenciaSaldoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.SaldoClienteRepository;
+import dev.imrob.vendas.server.repository.SaldoClienteRepository.CompraDiaria;
+import dev.imrob.vendas.server.repository.SaldoClienteRepository.SaldoCiclo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mantém o saldo em aberto de cada cliente por ciclo de fatura.
+ *
+ * <p>O saldo é atualizado a cada pedido criado, cancelado ou excluído, permitindo que a validação do
+ * limite de crédito leia poucos registros em vez de somar todo o histórico do cliente. A verificação
+ * recalcula os saldos a partir dos pedidos e informa (e opcionalmente corrige) as divergências.
+ * Somente os ciclos iniciados nos últimos {@value #MESES_VERIFICADOS} meses são mantidos, pois ciclos
+ * anteriores não são mais consultados.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SaldoClienteService {
+    static final int MESES_VERIFICADOS = 2;
+
+    private final SaldoClienteRepository repository;
+    private final ClienteRepository clienteRepository;
+    private final ConsistenciaLeitura consistencia;
+
+    /**
+     * Soma o valor de um pedido ao saldo do ciclo ao qual ele pertence.
+     *
+     * @param cliente    O cliente do pedido.
+     * @param dataPedido A data do pedido.
+     * @param valor      O valor do pedido, negativo para estornos.
+     */
+    public void registrar(Cliente cliente, LocalDate dataPedido, BigDecimal valor) {
+        LocalDate inicioCiclo = CicloFatura.inicioCiclo(cliente.getDiaFechamentoFatura(), dataPedido);
+        repository.adicionar(cliente.getId(), inicioCiclo, valor);
+        consistencia.registrarEscrita(cliente.getId());
+    }
+
+    /**
+     * Retorna o saldo em aberto do cliente desde o último fechamento da fatura.
+     *
+     * @param cliente O cliente.
+     * @return O total dos pedidos ativos com data posterior ao último fechamento.
+     */
+    public BigDecimal saldoEmAberto(Cliente cliente) {
+        LocalDate fechamento = CicloFatura.ultimoFechamento(cliente.getDiaFechamentoFatura(), LocalDate.now());
+        return Objects.requireNonNullElse(repository.totalDesde(cliente.getId(), fechamento), BigDecimal.ZERO);
+    }
+
+    /**
+     * Recalcula os saldos de um cliente a partir dos pedidos, por exemplo após a alteração do dia de fechamento.
+     *
+     * @param clienteId O ID do cliente.
+     */
+    @Transactional
+    public void reconstruir(Long clienteId) {
+        LocalDate inicio = inicioVerificacao();
+        repository.removerCliente(clienteId);
+        calcularSaldos(repository.comprasPorDia(inicio, clienteId), inicio)
+                .forEach((chave, total) -> repository.definir(chave.clienteId(), chave.inicioCiclo(), total));
+    }
+
+    /**
+     * Recalcula os saldos de todos os clientes a partir dos pedidos, após uma carga em massa.
+     *
+     * <p>Ao contrário da verificação, não compara nem registra cada saldo: substitui todos os registros
+     * pelos recalculados, inseridos em lote.</p>
+     */
+    @Transactional
+    public void reconstruirTodos() {
+        LocalDate inicio = inicioVerificacao();
+        repository.removerTodos();
+        repository.inserirTodos(calcularSaldos(repository.comprasPorDia(inicio, null), inicio).entrySet().stream()
+                .map(saldo -> new SaldoCiclo(saldo.getKey().clienteId(), saldo.getKey().inicioCiclo(), saldo.getValue()))
+                .toList());
+    }
+
+    /**
+     * Compara os saldos registrados com os saldos recalculados a partir dos pedidos.
+     *
+     * @param corrigir Indica se os saldos divergentes devem ser substituídos pelos recalculados.
+     * @return As divergências encontradas.
+     */
+    @Transactional
+    public List<DivergenciaSaldoDTO> verificar(boolean corrigir) {
+        LocalDate inicio = inicioVerificacao();
+        Map<Chave, BigDecimal> calculados = calcularSaldos(repository.comprasPorDia(inicio, null), inicio);
+        Map<Chave, BigDecimal> registrados = new HashMap<>();
+        for (SaldoCiclo saldo : repository.listarDesde(inicio)) {
+            registrados.put(new Chave(saldo.clienteId(), saldo.inicioCiclo()), saldo.total());
+        }
+
+        List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+        calculados.forEach((chave, calculado) -> comparar(chave, registrados.remove(chave), calculado, divergencias));
+        registrados.forEach((chave, registrado) -> comparar(chave, registrado, BigDecimal.ZERO, divergencias));
+
+        if (corrigir) {
+            divergencias.stream().map(DivergenciaSaldoDTO::getClienteId).distinct().sorted()
+                    .forEach(clienteId -> corrigir(clienteId, inicio));
+            repository.removerAntesDe(inicio);
+        }
+        if (divergencias.isEmpty()) {
+            log.info("Saldos dos clientes conferem com os pedidos.");
+        } else {
+            log.warn("{} saldo(s) de cliente divergente(s) dos pedidos{}.", divergencias.size(),
+                    corrigir ? " foram corrigidos" : "");
+        }
+        return divergencias;
+    }
+
+    /**
+     * Verifica e corrige os saldos diariamente, em uma única transação.
+     */
+    @Transactional
+    @Scheduled(cron = "${vendas.saldo.verificacao-cron:0 0 3 * * *}")
+    public void verificarAgendado() {
+        verificar(true);
+    }
+
+    /**
+     * Corrige os saldos divergentes de um cliente.
+     *
+     * <p>O cliente é bloqueado como na criação de pedidos e os seus saldos com {@code FOR UPDATE}, que espera os
+     * cancelamentos em andamento; só então os saldos são relidos e recalculados. A diferença é somada ao saldo
+     * em vez de substituí-lo, de modo que um movimento confirmado por outra transação depois da leitura também
+     * é mantido.</p>
+     */
+    private void corrigir(Long clienteId, LocalDate inicio) {
+        if (clienteRepository.findByIdParaReserva(clienteId).isEmpty()) {
+            return;
+        }
+        Map<Chave, BigDecimal> diferencas = new HashMap<>();
+        for (SaldoCiclo saldo : repository.bloquearDesde(clienteId, inicio)) {
+            diferencas.put(new Chave(saldo.clienteId(), saldo.inicioCiclo()), saldo.total().negate());
+        }
+        calcularSaldos(repository.comprasPorDia(inicio, clienteId), inicio)
+                .forEach((chave, calculado) -> diferencas.merge(chave, calculado, BigDecimal::add));
+        diferencas.forEach((chave, diferenca) -> {
+            if (diferenca.signum() != 0) {
+                repository.adicionar(chave.clienteId(), chave.inicioCiclo(), diferenca);
+            }
+        });
+    }
+
+    private void comparar(Chave chave, BigDecimal registrado, BigDecimal calculado, List<DivergenciaSaldoDTO> divergencias) {
+        BigDecimal atual = Objects.requireNonNullElse(registrado, BigDecimal.ZERO);
+        if (atual.compareTo(calculado) != 0) {
+            log.warn("Saldo divergente: cliente {}, ciclo iniciado em {}, registrado {}, calculado {}.",
+                    chave.clienteId(), chave.inicioCiclo(), atual, calculado);
+            divergencias.add(new DivergenciaSaldoDTO(chave.clienteId(), chave.inicioCiclo(), atual, calculado));
+        }
+    }
+
+    private Map<Chave, BigDecimal> calcularSaldos(List<CompraDiaria> compras, LocalDate inicio) {
+        Map<Chave, BigDecimal> saldos = new HashMap<>();
+        for (CompraDiaria compra : compras) {
+            LocalDate inicioCiclo = CicloFatura.inicioCiclo(compra.diaFechamentoFatura(), compra.data());
+            if (!inicioCiclo.isBefore(inicio)) {
+                saldos.merge(new Chave(compra.clienteId(), inicioCiclo), compra.total(), BigDecimal::add);
+            }
+        }
+        return saldos;
+    }
+
+    private LocalDate inicioVerificacao() {
+        return LocalDate.now().minusMonths(MESES_VERIFICADOS);
+    }
+
+    private record Chave(Long clienteId, LocalDate inicioCiclo) {
+    }
+}
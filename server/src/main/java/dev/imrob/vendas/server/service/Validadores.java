@@ -0,0 +1,23 @@
+package dev.imrob.vendas.server.service;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Validador compartilhado pelos serviços.
+ *
+ * <p>Construir uma {@link ValidatorFactory} é caro (varredura de anotações e inicialização do provedor);
+ * a fábrica e o validador são thread-safe e por isso criados uma única vez.</p>
+ */
+final class Validadores {
+    private static final ValidatorFactory FABRICA = Validation.buildDefaultValidatorFactory();
+    private static final Validator VALIDADOR = FABRICA.getValidator();
+
+    private Validadores() {
+    }
+
+    static Validator validador() {
+        return VALIDADOR;
+    }
+}
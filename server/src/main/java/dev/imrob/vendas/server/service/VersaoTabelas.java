@@ -0,0 +1,60 @@
+package dev.imrob.vendas.server.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versão por tabela, em memória, usados para gerar os ETags das leituras.
+ *
+ * <p>Cada alteração registrada incrementa a versão da tabela após o commit. Como a versão é lida antes dos
+ * dados, um ETag nunca corresponde a dados mais antigos que os atuais: no pior caso, uma resposta já atual
+ * é enviada novamente.</p>
+ *
+ * <p>Os contadores valem somente para esta instância do servidor. O ETag inclui um identificador da
+ * instância, para que ETags de outra instância, ou de antes de um reinício, nunca sejam aceitos; alterações
+ * feitas por outras instâncias, no entanto, não incrementam os contadores locais.</p>
+ */
+@Component
+public class VersaoTabelas {
+    private final String instancia = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final ConcurrentHashMap<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    /**
+     * Retorna o ETag da versão atual de uma tabela, sem aspas.
+     *
+     * @param tabela O nome da tabela.
+     * @return O ETag, formado pelo identificador da instância e pela versão da tabela.
+     */
+    public String etag(String tabela) {
+        return instancia + "-" + contador(tabela).get();
+    }
+
+    /**
+     * Registra uma alteração na tabela. A versão é incrementada após o commit da transação atual, ou
+     * imediatamente se não houver transação.
+     *
+     * @param tabela O nome da tabela alterada.
+     */
+    public void registrarAlteracao(String tabela) {
+        AtomicLong contador = contador(tabela);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contador.incrementAndGet();
+                }
+            });
+        } else {
+            contador.incrementAndGet();
+        }
+    }
+
+    private AtomicLong contador(String tabela) {
+        return versoes.computeIfAbsent(tabela, t -> new AtomicLong());
+    }
+}
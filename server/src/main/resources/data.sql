@@ -37,155 +37,205 @@ INSERT INTO tb_produto (descricao, preco) VALUES
 
 -- Inserção de Pedidos e Itens de Pedido
 -- Cliente 1 - Ana Silva (3 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-01', 'ATIVO', 1, 58.00);  -- Pedido 1: 2*20 + 1*4.5 + 4*3.5 = 58.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(1, '2023-05-01', 'ATIVO', 1, 58.00);  -- Pedido 1: 2*20 + 1*4.5 + 4*3.5 = 58.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 1, 1), (1, 1, 3), (4, 1, 5);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 1), 1, 1),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 3), 1, 3),
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 5), 1, 5);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-05', 'ATIVO', 1, 17.00);  -- Pedido 2: 1*8 + 2*2 + 1*3 = 17.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(2, '2023-05-05', 'ATIVO', 1, 17.00);  -- Pedido 2: 1*8 + 2*2 + 1*3 = 17.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 2, 2), (2, 2, 6), (1, 2, 9);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 2), 2, 2),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 6), 2, 6),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 9), 2, 9);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-10', 'ATIVO', 1, 53.00);  -- Pedido 3: 3*12 + 2*4 + 1*5.5 = 53.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(3, '2023-05-10', 'ATIVO', 1, 53.00);  -- Pedido 3: 3*12 + 2*4 + 1*5.5 = 53.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 3, 7), (2, 3, 8), (1, 3, 10);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 7), 3, 7),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 8), 3, 8),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 10), 3, 10);
 
 -- Cliente 2 - Bruno Pereira (1 pedido)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-02', 'ATIVO', 2, 55.00);  -- Pedido 4: 3*8 + 1*7 + 2*4 + 5*5.5 = 55.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(4, '2023-05-02', 'ATIVO', 2, 55.00);  -- Pedido 4: 3*8 + 1*7 + 2*4 + 5*5.5 = 55.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 4, 2), (1, 4, 4), (2, 4, 8), (5, 4, 10);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 2), 4, 2),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 4), 4, 4),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 8), 4, 8),
+(nextval('seq_item_pedido'), 5, (SELECT preco FROM tb_produto WHERE id = 10), 4, 10);
 
 -- Cliente 3 - Carlos Oliveira (2 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-03', 'ATIVO', 3, 65.00);  -- Pedido 5: 2*20 + 1*3.5 + 3*12 = 65.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(5, '2023-05-03', 'ATIVO', 3, 65.00);  -- Pedido 5: 2*20 + 1*3.5 + 3*12 = 65.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 5, 1), (1, 5, 5), (3, 5, 7);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 1), 5, 1),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 5), 5, 5),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 7), 5, 7);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-08', 'ATIVO', 3, 37.00);  -- Pedido 6: 1*7 + 4*2 + 2*3 = 37.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(6, '2023-05-08', 'ATIVO', 3, 37.00);  -- Pedido 6: 1*7 + 4*2 + 2*3 = 37.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 6, 4), (4, 6, 6), (2, 6, 9);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 4), 6, 4),
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 6), 6, 6),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 9), 6, 9);
 
 -- Cliente 4 - Daniela Souza (3 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-04', 'ATIVO', 4, 12.50);  -- Pedido 7: 1*4.5 + 2*2 = 12.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(7, '2023-05-04', 'ATIVO', 4, 12.50);  -- Pedido 7: 1*4.5 + 2*2 = 12.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 7, 3), (2, 7, 6);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 3), 7, 3),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 6), 7, 6);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-12', 'ATIVO', 4, 30.50);  -- Pedido 8: 2*8 + 3*3.5 + 1*4 = 30.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(8, '2023-05-12', 'ATIVO', 4, 30.50);  -- Pedido 8: 2*8 + 3*3.5 + 1*4 = 30.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 8, 2), (3, 8, 5), (1, 8, 8);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 2), 8, 2),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 5), 8, 5),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 8), 8, 8);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-18', 'ATIVO', 4, 112.00);  -- Pedido 9: 4*20 + 1*7 + 3*12 = 112.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(9, '2023-05-18', 'ATIVO', 4, 112.00);  -- Pedido 9: 4*20 + 1*7 + 3*12 = 112.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(4, 9, 1), (1, 9, 4), (3, 9, 7);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 1), 9, 1),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 4), 9, 4),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 7), 9, 7);
 
 -- Cliente 5 - Eduardo Santos (4 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-05', 'ATIVO', 5, 40.00);  -- Pedido 10: 2*7 + 1*12 = 40.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(10, '2023-05-05', 'ATIVO', 5, 40.00);  -- Pedido 10: 2*7 + 1*12 = 40.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 10, 4), (1, 10, 7);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 4), 10, 4),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 7), 10, 7);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-09', 'ATIVO', 5, 25.00);  -- Pedido 11: 3*4.5 + 2*3 + 1*5.5 = 25.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(11, '2023-05-09', 'ATIVO', 5, 25.00);  -- Pedido 11: 3*4.5 + 2*3 + 1*5.5 = 25.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 11, 3), (2, 11, 9), (1, 11, 10);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 3), 11, 3),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 9), 11, 9),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 10), 11, 10);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-14', 'ATIVO', 5, 45.00);  -- Pedido 12: 1*20 + 4*2 + 2*4 = 45.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(12, '2023-05-14', 'ATIVO', 5, 45.00);  -- Pedido 12: 1*20 + 4*2 + 2*4 = 45.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 12, 1), (4, 12, 6), (2, 12, 8);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 1), 12, 1),
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 6), 12, 6),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 8), 12, 8);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-20', 'ATIVO', 5, 70.50);  -- Pedido 13: 5*8 + 1*3.5 + 3*5.5 = 70.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(13, '2023-05-20', 'ATIVO', 5, 70.50);  -- Pedido 13: 5*8 + 1*3.5 + 3*5.5 = 70.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(5, 13, 2), (1, 13, 5), (3, 13, 10);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 5, (SELECT preco FROM tb_produto WHERE id = 2), 13, 2),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 5), 13, 5),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 10), 13, 10);
 
 -- Cliente 6 - Fernanda Costa (2 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-06', 'ATIVO', 6, 33.00);  -- Pedido 14: 1*7 + 2*12 + 1*3 = 33.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(14, '2023-05-06', 'ATIVO', 6, 33.00);  -- Pedido 14: 1*7 + 2*12 + 1*3 = 33.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 14, 4), (2, 14, 7), (1, 14, 9);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 4), 14, 4),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 7), 14, 7),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 9), 14, 9);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-11', 'ATIVO', 6, 40.00);  -- Pedido 15: 3*8 + 2*2 + 4*4 = 40.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(15, '2023-05-11', 'ATIVO', 6, 40.00);  -- Pedido 15: 3*8 + 2*2 + 4*4 = 40.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 15, 2), (2, 15, 6), (4, 15, 8);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 2), 15, 2),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 6), 15, 6),
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 8), 15, 8);
 
 -- Cliente 7 - Gabriel Lima (1 pedido)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-07', 'ATIVO', 7, 35.50);  -- Pedido 16: 2*3.5 + 1*4 + 3*5.5 = 35.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(16, '2023-05-07', 'ATIVO', 7, 35.50);  -- Pedido 16: 2*3.5 + 1*4 + 3*5.5 = 35.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 16, 5), (1, 16, 8), (3, 16, 10);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 5), 16, 5),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 8), 16, 8),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 10), 16, 10);
 
 -- Cliente 8 - Helena Ribeiro (2 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-08', 'ATIVO', 8, 44.50);  -- Pedido 17: 1*20 + 3*4.5 + 2*7 = 44.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(17, '2023-05-08', 'ATIVO', 8, 44.50);  -- Pedido 17: 1*20 + 3*4.5 + 2*7 = 44.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 17, 1), (3, 17, 3), (2, 17, 4);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 1), 17, 1),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 3), 17, 3),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 4), 17, 4);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-15', 'ATIVO', 8, 44.00);  -- Pedido 18: 4*8 + 1*2 + 2*12 = 44.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(18, '2023-05-15', 'ATIVO', 8, 44.00);  -- Pedido 18: 4*8 + 1*2 + 2*12 = 44.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(4, 18, 2), (1, 18, 6), (2, 18, 7);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 2), 18, 2),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 6), 18, 6),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 7), 18, 7);
 
 -- Cliente 9 - Isabel Martins (4 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-09', 'ATIVO', 9, 43.00);  -- Pedido 19: 2*8 + 1*4.5 + 4*3.5 = 43.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(19, '2023-05-09', 'ATIVO', 9, 43.00);  -- Pedido 19: 2*8 + 1*4.5 + 4*3.5 = 43.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(2, 19, 2), (1, 19, 3), (4, 19, 5);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 2), 19, 2),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 3), 19, 3),
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 5), 19, 5);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-13', 'ATIVO', 9, 73.00);  -- Pedido 20: 3*20 + 2*7 + 1*2 = 73.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(20, '2023-05-13', 'ATIVO', 9, 73.00);  -- Pedido 20: 3*20 + 2*7 + 1*2 = 73.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 20, 1), (2, 20, 4), (1, 20, 6);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 1), 20, 1),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 4), 20, 4),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 6), 20, 6);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-17', 'ATIVO', 9, 44.00);  -- Pedido 21: 1*12 + 3*4 + 2*3 = 44.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(21, '2023-05-17', 'ATIVO', 9, 44.00);  -- Pedido 21: 1*12 + 3*4 + 2*3 = 44.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 21, 7), (3, 21, 8), (2, 21, 9);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 7), 21, 7),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 8), 21, 8),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 9), 21, 9);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-19', 'ATIVO', 9, 78.00);  -- Pedido 22: 4*5.5 + 1*20 + 3*8 = 78.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(22, '2023-05-19', 'ATIVO', 9, 78.00);  -- Pedido 22: 4*5.5 + 1*20 + 3*8 = 78.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(4, 22, 10), (1, 22, 1), (3, 22, 2);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 4, (SELECT preco FROM tb_produto WHERE id = 10), 22, 10),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 1), 22, 1),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 2), 22, 2);
 
 -- Cliente 10 - João Alves (2 pedidos)
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-10', 'ATIVO', 10, 29.50);  -- Pedido 23: 3*4.5 + 2*3.5 + 1*12 = 29.50
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(23, '2023-05-10', 'ATIVO', 10, 29.50);  -- Pedido 23: 3*4.5 + 2*3.5 + 1*12 = 29.50
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(3, 23, 3), (2, 23, 5), (1, 23, 7);
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 3), 23, 3),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 5), 23, 5),
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 7), 23, 7);
 
-INSERT INTO tb_pedido (data, status, cliente_id, valor_total) VALUES
-('2023-05-16', 'ATIVO', 10, 34.00);  -- Pedido 24: 1*8 + 3*7 + 2*2 = 34.00
+INSERT INTO tb_pedido (id, data, status, cliente_id, valor_total) VALUES
+(24, '2023-05-16', 'ATIVO', 10, 34.00);  -- Pedido 24: 1*8 + 3*7 + 2*2 = 34.00
 
-INSERT INTO tb_item_pedido (quantidade, pedido_id, produto_id) VALUES
-(1, 24, 2), (3, 24, 4), (2, 24, 6);
\ No newline at end of file
+INSERT INTO tb_item_pedido (id, quantidade, preco_unitario, pedido_id, produto_id) VALUES
+(nextval('seq_item_pedido'), 1, (SELECT preco FROM tb_produto WHERE id = 2), 24, 2),
+(nextval('seq_item_pedido'), 3, (SELECT preco FROM tb_produto WHERE id = 4), 24, 4),
+(nextval('seq_item_pedido'), 2, (SELECT preco FROM tb_produto WHERE id = 6), 24, 6);
+
+-- Avança a sequência dos pedidos além dos IDs informados acima
+SELECT setval('seq_pedido', (SELECT MAX(id) FROM tb_pedido));
@@ -0,0 +1,91 @@
+-- Esquema inicial do banco de vendas (PostgreSQL).
+--
+-- Substitui a criação do esquema pelo Hibernate (ddl-auto: create), que apagava os dados a cada
+-- reinício. Toda chave estrangeira tem um índice cujas primeiras colunas são as da chave: as
+-- exclusões em cascata e as junções não percorrem a tabela inteira. Os índices exigidos são
+-- conferidos na inicialização por VerificacaoIndices.
+
+-- Sequências com alocação em blocos de 50, iguais ao allocationSize das entidades
+CREATE SEQUENCE seq_pedido START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE seq_item_pedido START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tb_cliente (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome                  VARCHAR(100)   NOT NULL,
+    limite_compra         NUMERIC(12, 2) NOT NULL,
+    dia_fechamento_fatura INTEGER        NOT NULL CHECK (dia_fechamento_fatura BETWEEN 1 AND 31)
+);
+
+CREATE TABLE tb_produto (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    descricao VARCHAR(100)   NOT NULL,
+    preco     NUMERIC(12, 2) NOT NULL
+);
+
+CREATE TABLE tb_pedido (
+    id          BIGINT PRIMARY KEY,
+    cliente_id  BIGINT         NOT NULL REFERENCES tb_cliente (id) ON DELETE CASCADE,
+    data        DATE           NOT NULL,
+    valor_total NUMERIC(38, 2) NOT NULL,
+    status      VARCHAR(20)    NOT NULL CHECK (status IN ('ATIVO', 'EXCLUIDO'))
+);
+
+-- Pedidos de um cliente por data: saldo, total de compras e filtro por cliente; atende também a chave estrangeira
+CREATE INDEX idx_pedido_cliente_data ON tb_pedido (cliente_id, data);
+-- Pedidos ativos por período: relatórios e filtros por status
+CREATE INDEX idx_pedido_status_data ON tb_pedido (status, data);
+
+CREATE TABLE tb_item_pedido (
+    id             BIGINT PRIMARY KEY,
+    pedido_id      BIGINT         NOT NULL REFERENCES tb_pedido (id) ON DELETE CASCADE,
+    produto_id     BIGINT         NOT NULL REFERENCES tb_produto (id),
+    quantidade     INTEGER        NOT NULL CHECK (quantidade >= 1),
+    preco_unitario NUMERIC(38, 2) NOT NULL,
+    -- O índice da restrição atende a chave estrangeira de pedido_id
+    CONSTRAINT unique_pedido_produto UNIQUE (pedido_id, produto_id)
+);
+
+-- Itens de um produto: filtro de pedidos por produto, resumos por produto e a chave estrangeira de produto_id
+CREATE INDEX idx_item_pedido_produto_pedido ON tb_item_pedido (produto_id, pedido_id);
+
+CREATE TABLE tb_saldo_cliente (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cliente_id   BIGINT         NOT NULL REFERENCES tb_cliente (id) ON DELETE CASCADE,
+    inicio_ciclo DATE           NOT NULL,
+    total        NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT unique_saldo_cliente_ciclo UNIQUE (cliente_id, inicio_ciclo)
+);
+
+CREATE TABLE tb_resumo_vendas_dia (
+    dia     DATE PRIMARY KEY,
+    pedidos BIGINT         NOT NULL,
+    total   NUMERIC(38, 2) NOT NULL
+);
+
+CREATE TABLE tb_resumo_vendas_cliente (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cliente_id BIGINT         NOT NULL REFERENCES tb_cliente (id) ON DELETE CASCADE,
+    dia        DATE           NOT NULL,
+    pedidos    BIGINT         NOT NULL,
+    total      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT unique_resumo_vendas_cliente_dia UNIQUE (cliente_id, dia)
+);
+
+CREATE TABLE tb_resumo_vendas_produto (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    produto_id BIGINT         NOT NULL REFERENCES tb_produto (id) ON DELETE CASCADE,
+    dia        DATE           NOT NULL,
+    pedidos    BIGINT         NOT NULL,
+    quantidade BIGINT         NOT NULL,
+    total      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT unique_resumo_vendas_produto_dia UNIQUE (produto_id, dia)
+);
+
+CREATE TABLE tb_chave_idempotencia (
+    chave     VARCHAR(100) PRIMARY KEY,
+    pedido_id BIGINT,
+    criada_em TIMESTAMP(6) NOT NULL
+);
+
+-- Limpeza das chaves expiradas
+CREATE INDEX idx_chave_idempotencia_criada_em ON tb_chave_idempotencia (criada_em);
@@ -0,0 +1,30 @@
+-- Resumos mensais de vendas, compactados a partir dos resumos diários pela ResumoVendasService.
+--
+-- Cada mês encerrado é compactado uma vez; depois disso, os pedidos criados, cancelados ou excluídos com data
+-- em um mês compactado também atualizam o resumo mensal. As séries mensais leem estes resumos até o último
+-- mês compactado e os diários a partir dele.
+
+CREATE TABLE tb_resumo_vendas_mes (
+    mes     DATE PRIMARY KEY,
+    pedidos BIGINT         NOT NULL,
+    total   NUMERIC(38, 2) NOT NULL
+);
+
+CREATE TABLE tb_resumo_vendas_cliente_mes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cliente_id BIGINT         NOT NULL REFERENCES tb_cliente (id) ON DELETE CASCADE,
+    mes        DATE           NOT NULL,
+    pedidos    BIGINT         NOT NULL,
+    total      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT unique_resumo_vendas_cliente_mes UNIQUE (cliente_id, mes)
+);
+
+CREATE TABLE tb_resumo_vendas_produto_mes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    produto_id BIGINT         NOT NULL REFERENCES tb_produto (id) ON DELETE CASCADE,
+    mes        DATE           NOT NULL,
+    pedidos    BIGINT         NOT NULL,
+    quantidade BIGINT         NOT NULL,
+    total      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT unique_resumo_vendas_produto_mes UNIQUE (produto_id, mes)
+);
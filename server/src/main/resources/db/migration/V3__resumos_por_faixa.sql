@@ -0,0 +1,32 @@
+-- Divide os resumos de vendas compartilhados por clientes diferentes (total do dia e do mês, produto no dia e no
+-- mês) em linhas por faixa de clientes, MOD(cliente_id, 16), calculada por ResumoVendasRepository.faixa.
+--
+-- Cada pedido soma o seu movimento às linhas da faixa do seu cliente e as mantém bloqueadas até o commit; pedidos
+-- de clientes de faixas diferentes não atualizam as mesmas linhas e não esperam uns pelos outros. As leituras
+-- somam as faixas de cada período.
+--
+-- As linhas existentes ficam na faixa 0, então as somas continuam corretas. A verificação noturna dos resumos
+-- compara cada faixa com o recálculo, aponta essas linhas como divergentes e reconstrói os resumos por faixa.
+
+ALTER TABLE tb_resumo_vendas_dia DROP CONSTRAINT tb_resumo_vendas_dia_pkey;
+ALTER TABLE tb_resumo_vendas_dia ADD COLUMN id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY;
+ALTER TABLE tb_resumo_vendas_dia ADD COLUMN faixa INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tb_resumo_vendas_dia ALTER COLUMN faixa DROP DEFAULT;
+ALTER TABLE tb_resumo_vendas_dia ADD CONSTRAINT unique_resumo_vendas_dia UNIQUE (dia, faixa);
+
+ALTER TABLE tb_resumo_vendas_mes DROP CONSTRAINT tb_resumo_vendas_mes_pkey;
+ALTER TABLE tb_resumo_vendas_mes ADD COLUMN id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY;
+ALTER TABLE tb_resumo_vendas_mes ADD COLUMN faixa INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tb_resumo_vendas_mes ALTER COLUMN faixa DROP DEFAULT;
+ALTER TABLE tb_resumo_vendas_mes ADD CONSTRAINT unique_resumo_vendas_mes UNIQUE (mes, faixa);
+
+-- O índice da nova restrição continua começando por produto_id e atende a chave estrangeira
+ALTER TABLE tb_resumo_vendas_produto ADD COLUMN faixa INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tb_resumo_vendas_produto ALTER COLUMN faixa DROP DEFAULT;
+ALTER TABLE tb_resumo_vendas_produto DROP CONSTRAINT unique_resumo_vendas_produto_dia;
+ALTER TABLE tb_resumo_vendas_produto ADD CONSTRAINT unique_resumo_vendas_produto_dia UNIQUE (produto_id, dia, faixa);
+
+ALTER TABLE tb_resumo_vendas_produto_mes ADD COLUMN faixa INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tb_resumo_vendas_produto_mes ALTER COLUMN faixa DROP DEFAULT;
+ALTER TABLE tb_resumo_vendas_produto_mes DROP CONSTRAINT unique_resumo_vendas_produto_mes;
+ALTER TABLE tb_resumo_vendas_produto_mes ADD CONSTRAINT unique_resumo_vendas_produto_mes UNIQUE (produto_id, mes, faixa);
@@ -0,0 +1,189 @@
+package dev.imrob.vendas.server;
+
+import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.ProdutoDTO;
+import dev.imrob.vendas.server.service.ClienteService;
+import dev.imrob.vendas.server.service.PedidoService;
+import dev.imrob.vendas.server.service.ProdutoService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o servidor com threads de plataforma e com threads virtuais sob mil conexões simultâneas.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}. Sobe a aplicação duas vezes, uma em cada modo, sobre um H2
+ * em memória com uma latência artificial em cada instrução, simulando a ida e volta ao PostgreSQL. Metade
+ * das requisições consulta o banco (página de pedidos) e metade é atendida da memória (produto do
+ * catálogo). Com threads de plataforma, as requisições que aguardam uma conexão do pool ocupam as threads
+ * do Tomcat e atrasam também as atendidas da memória; com threads virtuais, apenas o pool limita as
+ * requisições ao banco.</p>
+ */
+@Slf4j
+@Tag("carga")
+class ThreadsVirtuaisCargaTest {
+    private static final int CONEXOES = 1_000;
+    private static final int REQUISICOES_POR_CONEXAO = 20;
+    private static final long LATENCIA_BANCO_MS = 2;
+
+    @Test
+    void threadsVirtuais_devemAtenderMilConexoesSimultaneas() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuais = medir(true);
+
+        log.info("Threads de plataforma: {} req/s, p50 {} ms, p99 {} ms.", plataforma.porSegundo(),
+                plataforma.p50(), plataforma.p99());
+        log.info("Threads virtuais: {} req/s, p50 {} ms, p99 {} ms.", virtuais.porSegundo(),
+                virtuais.p50(), virtuais.p99());
+        assertThat(plataforma.falhas()).isZero();
+        assertThat(virtuais.falhas()).isZero();
+    }
+
+    private Resultado medir(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(Application.class, LatenciaDoBanco.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "spring.datasource.url=jdbc:h2:mem:threads_" + threadsVirtuais + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "server.tomcat.max-connections=" + 2 * CONEXOES,
+                        "server.tomcat.accept-count=" + CONEXOES)
+                .run()) {
+            int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Long produtoId = prepararDados(contexto);
+            String[] caminhos = {"/api/v1/pedidos/pagina?limit=20", "/api/v1/produtos/" + produtoId};
+            executarCarga(porta, caminhos, 1);
+            return executarCarga(porta, caminhos, REQUISICOES_POR_CONEXAO);
+        }
+    }
+
+    private Long prepararDados(ConfigurableApplicationContext contexto) {
+        Long clienteId = contexto.getBean(ClienteService.class)
+                .save(new ClienteDTO(null, "Cliente Carga", BigDecimal.valueOf(1_000_000), 10));
+        Long produtoId = contexto.getBean(ProdutoService.class)
+                .save(new ProdutoDTO(null, "Produto Carga", BigDecimal.TEN));
+        PedidoService pedidoService = contexto.getBean(PedidoService.class);
+        for (int i = 0; i < 50; i++) {
+            pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), clienteId,
+                    Set.of(new CriarItemPedidoDTO(produtoId, 1 + i % 3)), BigDecimal.ZERO));
+        }
+        return produtoId;
+    }
+
+    private Resultado executarCarga(int porta, String[] caminhos, int requisicoesPorConexao) throws Exception {
+        long[] latencias = new long[CONEXOES * requisicoesPorConexao];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger falhas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        long inicio;
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService conexoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONEXOES; c++) {
+                int conexao = c;
+                conexoes.submit(() -> {
+                    largada.await();
+                    for (int r = 0; r < requisicoesPorConexao; r++) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(
+                                "http://localhost:" + porta + caminhos[(conexao + r) % caminhos.length])).build();
+                        long enviada = System.nanoTime();
+                        try {
+                            int status = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) {
+                                falhas.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            falhas.incrementAndGet();
+                        }
+                        latencias[proxima.getAndIncrement()] = System.nanoTime() - enviada;
+                    }
+                    return null;
+                });
+            }
+            inicio = System.nanoTime();
+            largada.countDown();
+            conexoes.shutdown();
+            assertThat(conexoes.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        Arrays.sort(latencias);
+        return new Resultado(Math.round(latencias.length / segundos), percentil(latencias, 0.50),
+                percentil(latencias, 0.99), falhas.get());
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        return ordenadas[(int) Math.ceil(percentil * ordenadas.length) - 1] / 1_000_000;
+    }
+
+    private record Resultado(long porSegundo, long p50, long p99, int falhas) {
+    }
+
+    /**
+     * Acrescenta {@value #LATENCIA_BANCO_MS} ms a cada instrução preparada, como a ida e volta a um banco na rede.
+     */
+    @TestConfiguration
+    static class LatenciaDoBanco {
+        @Bean
+        static BeanPostProcessor latenciaDoBancoPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                                (proxy, method, args) -> {
+                                    Object resultado = invocar(dataSource, method, args);
+                                    return resultado instanceof Connection conexao ? comLatencia(conexao) : resultado;
+                                });
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection comLatencia(Connection conexao) {
+            return (Connection) Proxy.newProxyInstance(LatenciaDoBanco.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(LATENCIA_BANCO_MS);
+                        }
+                        return invocar(conexao, method, args);
+                    });
+        }
+
+        private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev.imrob.vendas.server.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class ConsultasRequisicaoTest {
+
+    @Test
+    void forma_deveSubstituirValoresEListasIn() {
+        assertThat(ConsultasRequisicao.forma("select * from tb_produto  where id = 15 and descricao = 'Coca''s'"))
+                .isEqualTo("select * from tb_produto where id = ? and descricao = ?");
+        assertThat(ConsultasRequisicao.forma("select * from tb_produto where id in (?, ?,?)"))
+                .isEqualTo(ConsultasRequisicao.forma("select * from tb_produto where id IN (?)"));
+    }
+
+    @Test
+    void repetidas_deveAgruparPorFormaEOrdenarPelaQuantidade() {
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> {
+            ConsultasRequisicao atual = ConsultasRequisicao.atual();
+            for (int i = 1; i <= 3; i++) {
+                atual.registrar("select * from tb_cliente where id = " + i, 10);
+            }
+            atual.registrar("select * from tb_produto where id = ?", 10);
+            atual.registrar("select * from tb_produto where id = ?", 10);
+            atual.registrar("select * from tb_pedido", 10);
+        });
+
+        assertThat(consultas.getTotal()).isEqualTo(6);
+        assertThat(consultas.getTempoNanos()).isEqualTo(60);
+        assertThat(consultas.repetidas()).containsExactly(
+                entry("select * from tb_cliente where id = ?", 3),
+                entry("select * from tb_produto where id = ?", 2));
+    }
+
+    @Test
+    void medir_deveRestaurarAMedicaoAnterior() {
+        ConsultasRequisicao externa = ConsultasRequisicao.medir(() -> {
+            ConsultasRequisicao.atual().registrar("select 1", 1);
+            ConsultasRequisicao interna = ConsultasRequisicao.medir(() ->
+                    ConsultasRequisicao.atual().registrar("select 2", 1));
+            assertThat(interna.getTotal()).isEqualTo(1);
+            ConsultasRequisicao.atual().registrar("select 3", 1);
+        });
+
+        assertThat(externa.getTotal()).isEqualTo(2);
+        assertThat(ConsultasRequisicao.atual()).isNull();
+    }
+}
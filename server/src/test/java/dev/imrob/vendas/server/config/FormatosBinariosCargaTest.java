@@ -0,0 +1,134 @@
+package dev.imrob.vendas.server.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.ItemPedidoDTO;
+import dev.imrob.vendas.server.dto.PedidoDTO;
+import dev.imrob.vendas.server.dto.ProdutoDTO;
+import dev.imrob.vendas.server.entity.StatusPedido;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o tamanho e o tempo de codificação e decodificação de 10 mil pedidos em JSON, Smile e CBOR,
+ * com e sem gzip.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}. Usa os mesmos {@link ObjectMapper} dos conversores HTTP.</p>
+ */
+@Slf4j
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class FormatosBinariosCargaTest {
+    private static final int QUANTIDADE_PEDIDOS = 10_000;
+    private static final int ITENS_POR_PEDIDO = 3;
+    private static final int RODADAS_AQUECIMENTO = 3;
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void formatosBinarios_devemSerMenoresQueJson() throws IOException {
+        List<PedidoDTO> pedidos = gerarPedidos();
+        Map<String, ObjectMapper> formatos = new LinkedHashMap<>();
+        formatos.put("JSON", jsonMapper);
+        formatos.put("Smile", smileConverter.getObjectMapper());
+        formatos.put("CBOR", cborConverter.getObjectMapper());
+
+        Map<String, Integer> tamanhos = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> formato : formatos.entrySet()) {
+            ObjectMapper mapper = formato.getValue();
+            JavaType tipo = mapper.getTypeFactory().constructCollectionType(List.class, PedidoDTO.class);
+
+            byte[] corpo = null;
+            List<PedidoDTO> lidos = null;
+            for (int i = 0; i < RODADAS_AQUECIMENTO; i++) {
+                corpo = mapper.writeValueAsBytes(pedidos);
+                lidos = mapper.readValue(corpo, tipo);
+            }
+            long inicio = System.nanoTime();
+            for (int i = 0; i < RODADAS; i++) {
+                corpo = mapper.writeValueAsBytes(pedidos);
+            }
+            double msCodificacao = milissegundosDesde(inicio) / RODADAS;
+            inicio = System.nanoTime();
+            for (int i = 0; i < RODADAS; i++) {
+                lidos = mapper.readValue(corpo, tipo);
+            }
+            double msDecodificacao = milissegundosDesde(inicio) / RODADAS;
+
+            assertThat(lidos).hasSize(QUANTIDADE_PEDIDOS);
+            tamanhos.put(formato.getKey(), corpo.length);
+            log.info("{}: {} KB, {} KB com gzip, codificação {} ms, decodificação {} ms.", formato.getKey(),
+                    corpo.length / 1024, gzip(corpo).length / 1024,
+                    String.format("%.1f", msCodificacao), String.format("%.1f", msDecodificacao));
+        }
+
+        assertThat(tamanhos.get("Smile")).isLessThan(tamanhos.get("JSON"));
+        assertThat(tamanhos.get("CBOR")).isLessThan(tamanhos.get("JSON"));
+    }
+
+    private static List<PedidoDTO> gerarPedidos() {
+        List<PedidoDTO> pedidos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            PedidoDTO pedido = new PedidoDTO();
+            pedido.setId((long) i + 1);
+            pedido.setCliente(new ClienteDTO((long) i % 200 + 1, "Cliente " + i % 200,
+                    BigDecimal.valueOf(5_000), 10));
+            pedido.setData(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            pedido.setStatus(StatusPedido.ATIVO);
+            Set<ItemPedidoDTO> itens = new HashSet<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                long produtoId = (i + j * 7) % 500 + 1;
+                BigDecimal preco = BigDecimal.valueOf(produtoId * 137 % 10_000, 2);
+                itens.add(new ItemPedidoDTO(new ProdutoDTO(produtoId, "Produto " + produtoId, preco), j + 1, preco));
+                total = total.add(preco.multiply(BigDecimal.valueOf(j + 1)));
+            }
+            pedido.setItens(itens);
+            pedido.setValorTotal(total);
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+
+    private static byte[] gzip(byte[] corpo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        }
+        return saida.toByteArray();
+    }
+
+    private static double milissegundosDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000.0;
+    }
+}
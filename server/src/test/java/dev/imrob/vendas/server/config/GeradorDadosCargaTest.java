@@ -0,0 +1,45 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.config.GeradorDados.Resultado;
+import dev.imrob.vendas.server.config.GeradorDados.Volumes;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a vazão do gerador de dados com cerca de um milhão de linhas em um H2 em memória.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}. A duração medida é a da gravação das linhas; a reconstrução
+ * dos saldos e resumos é registrada à parte no log do gerador.</p>
+ */
+@Slf4j
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:gerador_dados_carga;DB_CLOSE_DELAY=-1",
+        "vendas.gerador.clientes=0", "vendas.gerador.produtos=0", "vendas.gerador.pedidos=0"})
+@ActiveProfiles({"test", "gerador"})
+class GeradorDadosCargaTest {
+    private static final Volumes VOLUMES = new Volumes(20_000, 5_000, 210_000, 4, 10, 42, 1.0, 730,
+            LocalDate.now());
+
+    @Autowired
+    private GeradorDados gerador;
+
+    @Test
+    void gerar_deveGravarUmMilhaoDeLinhasEmMenosDeUmMinuto() {
+        Resultado resultado = gerador.gerar(VOLUMES);
+
+        log.info("{} linhas gravadas em {} ms ({} linhas/s).", resultado.linhas(), resultado.carga().toMillis(),
+                Math.round(resultado.linhas() / (resultado.carga().toNanos() / 1e9)));
+        assertThat(resultado.linhas()).isGreaterThanOrEqualTo(1_000_000);
+        assertThat(resultado.carga()).isLessThan(Duration.ofMinutes(1));
+    }
+}
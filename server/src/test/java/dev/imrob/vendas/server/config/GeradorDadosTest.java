@@ -0,0 +1,145 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.config.GeradorDados.Resultado;
+import dev.imrob.vendas.server.config.GeradorDados.Volumes;
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.service.PedidoService;
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import dev.imrob.vendas.server.service.SaldoClienteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gera um volume pequeno de dados e confere o determinismo, as distribuições e a consistência dos saldos,
+ * resumos e sequências.
+ *
+ * <p>Os volumes da inicialização são zerados; cada teste chama o gerador diretamente. Os dados são
+ * confirmados, por isso utiliza um banco H2 próprio.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:gerador_dados;DB_CLOSE_DELAY=-1",
+        "vendas.gerador.clientes=0", "vendas.gerador.produtos=0", "vendas.gerador.pedidos=0"})
+@ActiveProfiles({"test", "gerador"})
+class GeradorDadosTest {
+    private static final int QUANTIDADE_PRODUTOS = 100;
+    private static final Volumes VOLUMES = new Volumes(50, QUANTIDADE_PRODUTOS, 25_050, 3, 8, 7, 1.0, 365,
+            LocalDate.now());
+
+    @Autowired
+    private GeradorDados gerador;
+
+    @Autowired
+    private SaldoClienteService saldoService;
+
+    @Autowired
+    private ResumoVendasService resumoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    record Assinatura(long pedidos, long excluidos, BigDecimal total, LocalDate primeiraData, LocalDate ultimaData,
+                      long itens, long quantidade, BigDecimal totalItens) {
+    }
+
+    @Test
+    void gerar_deveProduzirOsMesmosDados_quandoAMesmaSemente() {
+        Resultado primeiro = gerador.gerar(VOLUMES);
+        Resultado segundo = gerador.gerar(VOLUMES);
+
+        assertThat(segundo.primeiroPedidoId()).isGreaterThan(primeiro.primeiroPedidoId());
+        assertThat(segundo.itens()).isEqualTo(primeiro.itens());
+        assertThat(assinatura(segundo)).isEqualTo(assinatura(primeiro));
+    }
+
+    @Test
+    void gerar_deveConcentrarVendasEmPoucosProdutosENosMesesDeAlta() {
+        Resultado resultado = gerador.gerar(VOLUMES);
+        Assinatura assinatura = assinatura(resultado);
+
+        assertThat(assinatura.pedidos()).isEqualTo(VOLUMES.pedidos());
+        assertThat(assinatura.totalItens()).isEqualByComparingTo(assinatura.total());
+        assertThat(assinatura.excluidos()).isPositive().isLessThan(assinatura.pedidos() / 10);
+        assertThat(assinatura.primeiraData()).isAfterOrEqualTo(VOLUMES.dataFinal().minusDays(VOLUMES.dias() - 1L));
+        assertThat(assinatura.ultimaData()).isBeforeOrEqualTo(VOLUMES.dataFinal());
+
+        List<Long> itensPorProduto = jdbcClient.sql("""
+                        SELECT COUNT(*) FROM tb_item_pedido WHERE pedido_id >= :primeiro AND pedido_id < :fim
+                        GROUP BY produto_id ORDER BY COUNT(*) DESC
+                        """)
+                .param("primeiro", resultado.primeiroPedidoId())
+                .param("fim", resultado.primeiroPedidoId() + resultado.pedidos())
+                .query(Long.class)
+                .list();
+        // Com expoente 1 o produto mais vendido recebe cerca de 19% dos itens; uniforme seria 1%
+        assertThat(itensPorProduto.get(0)).isGreaterThan(resultado.itens() / 10);
+
+        assertThat(pedidosNoMes(resultado, 12)).isGreaterThan(pedidosNoMes(resultado, 2));
+    }
+
+    @Test
+    void gerar_deveManterSaldosResumosESequenciasConsistentes() {
+        Resultado resultado = gerador.gerar(VOLUMES);
+
+        assertThat(saldoService.verificar(false)).isEmpty();
+        assertThat(resumoService.verificar(false)).isEmpty();
+
+        Cliente cliente = clienteRepository.save(new Cliente(null, "Cliente Depois da Geração",
+                BigDecimal.valueOf(1_000_000), 10));
+        Long produtoId = jdbcClient.sql("SELECT MIN(id) FROM tb_produto").query(Long.class).single();
+        Long pedidoId = pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), cliente.getId(),
+                Set.of(new CriarItemPedidoDTO(produtoId, 1)), BigDecimal.ZERO));
+
+        assertThat(pedidoId).isGreaterThanOrEqualTo(resultado.primeiroPedidoId() + resultado.pedidos());
+    }
+
+    /**
+     * Totais dos pedidos e itens de uma geração, independentes dos IDs gerados.
+     */
+    private Assinatura assinatura(Resultado resultado) {
+        return jdbcClient.sql("""
+                        SELECT p.pedidos, p.excluidos, p.total, p.primeira_data, p.ultima_data,
+                               i.itens, i.quantidade, i.total_itens
+                        FROM (SELECT COUNT(*) AS pedidos, SUM(CASE WHEN status = 'EXCLUIDO' THEN 1 ELSE 0 END) AS excluidos,
+                                     SUM(valor_total) AS total, MIN(data) AS primeira_data, MAX(data) AS ultima_data
+                              FROM tb_pedido WHERE id >= :primeiro AND id < :fim) p,
+                             (SELECT COUNT(*) AS itens, SUM(quantidade) AS quantidade,
+                                     SUM(preco_unitario * quantidade) AS total_itens
+                              FROM tb_item_pedido WHERE pedido_id >= :primeiro AND pedido_id < :fim) i
+                        """)
+                .param("primeiro", resultado.primeiroPedidoId())
+                .param("fim", resultado.primeiroPedidoId() + resultado.pedidos())
+                .query(Assinatura.class)
+                .single();
+    }
+
+    private long pedidosNoMes(Resultado resultado, int mes) {
+        return jdbcClient.sql("""
+                        SELECT COUNT(*) FROM tb_pedido
+                        WHERE id >= :primeiro AND id < :fim AND EXTRACT(MONTH FROM data) = :mes
+                        """)
+                .param("primeiro", resultado.primeiroPedidoId())
+                .param("fim", resultado.primeiroPedidoId() + resultado.pedidos())
+                .param("mes", mes)
+                .query(Long.class)
+                .single();
+    }
+}
@@ -0,0 +1,113 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import dev.imrob.vendas.server.service.CatalogoProdutos;
+import dev.imrob.vendas.server.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que a listagem de pedidos executa a mesma quantidade de instruções SQL independentemente da
+ * quantidade de pedidos, o que falha o build se uma alteração introduzir uma consulta por pedido (N+1).
+ *
+ * <p>Os pedidos são confirmados no banco, por isso o teste usa um banco H2 próprio.</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:monitor_consultas;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MonitorConsultasTest {
+    private static final String PAGINA_PEDIDOS = "/api/v1/pedidos/pagina?limit=200";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    private Cliente cliente;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Monitor", BigDecimal.valueOf(1_000_000), 10));
+        for (int i = 0; i < 3; i++) {
+            produtos.add(produtoRepository.save(new Produto(null, "Produto " + i, BigDecimal.valueOf(i + 1))));
+        }
+        catalogo.recarregar();
+        criarPedidos(2);
+    }
+
+    @Test
+    void paginaDePedidos_deveExecutarAsMesmasInstrucoes_independenteDaQuantidadeDePedidos() throws Exception {
+        int comPoucosPedidos = instrucoesDa(PAGINA_PEDIDOS);
+
+        criarPedidos(30);
+        int comMuitosPedidos = instrucoesDa(PAGINA_PEDIDOS);
+
+        assertThat(comPoucosPedidos).isPositive();
+        assertThat(comMuitosPedidos).isEqualTo(comPoucosPedidos);
+    }
+
+    @Test
+    void medir_deveContarAsInstrucoesDeUmaOperacao() {
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> pedidoService.findPagina(null, 200, false));
+
+        assertThat(consultas.getTotal()).isPositive();
+        assertThat(consultas.getTempoNanos()).isPositive();
+        assertThat(consultas.totalContendo("from tb_pedido")).isPositive();
+        assertThat(ConsultasRequisicao.atual()).isNull();
+    }
+
+    @Test
+    void instrucoesForaDeUmaMedicao_naoDevemSerContadas() {
+        pedidoService.findPagina(null, 200, false);
+
+        assertThat(ConsultasRequisicao.atual()).isNull();
+    }
+
+    private int instrucoesDa(String url) throws Exception {
+        String cabecalho = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(FiltroConsultasSql.CABECALHO_TOTAL);
+        assertThat(cabecalho).isNotNull();
+        return Integer.parseInt(cabecalho);
+    }
+
+    private void criarPedidos(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            Set<CriarItemPedidoDTO> itens = Set.of(
+                    new CriarItemPedidoDTO(produtos.get(i % produtos.size()).getId(), 1),
+                    new CriarItemPedidoDTO(produtos.get((i + 1) % produtos.size()).getId(), 2));
+            pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), cliente.getId(), itens, BigDecimal.ZERO));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import dev.imrob.vendas.server.service.CatalogoProdutos;
+import dev.imrob.vendas.server.service.CicloFatura;
+import dev.imrob.vendas.server.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roteia as leituras entre dois bancos H2: o principal, criado pelo Hibernate, e uma réplica, copiada do
+ * principal antes de cada teste. As escritas feitas depois da cópia simulam o atraso da réplica.
+ *
+ * <p>O atraso informado pela réplica é lido da tabela {@code tb_atraso_replica}, alterada pelos testes.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:roteamento_primaria;DB_CLOSE_DELAY=-1",
+        "vendas.replica.url=" + ReplicaLeituraTest.URL_REPLICA,
+        "vendas.replica.username=sa", "vendas.replica.password=",
+        "vendas.replica.consulta-atraso=SELECT segundos FROM tb_atraso_replica",
+        "vendas.replica.atraso-maximo=PT5S"})
+@ActiveProfiles("test")
+class ReplicaLeituraTest {
+    static final String URL_REPLICA = "jdbc:h2:mem:roteamento_replica;DB_CLOSE_DELAY=-1";
+
+    private final JdbcClient replicaJdbc = JdbcClient.create(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+
+    @Autowired
+    private ReplicaLeitura replica;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Réplica", BigDecimal.valueOf(1000), 10));
+        produto = produtoRepository.save(new Produto(null, "Produto Réplica", BigDecimal.valueOf(25)));
+        catalogo.recarregar();
+        copiarParaReplica();
+        definirAtraso(0);
+    }
+
+    @Test
+    void transacaoSomenteLeitura_deveLerDaReplica() {
+        criarPedido();
+        long leiturasReplica = replica.getLeiturasReplica();
+
+        assertThat(pedidoService.filtrarPedidosPor(null, null, cliente.getId(), null, null)).isEmpty();
+        assertThat(replica.getLeiturasReplica()).isGreaterThan(leiturasReplica);
+    }
+
+    @Test
+    void totalComprasDesdeFechamento_deveLerDoPrincipal_logoAposUmPedidoDoCliente() {
+        criarPedido();
+
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void totalComprasDesdeFechamento_deveLerDaReplica_quandoOClienteNaoTeveEscritas() {
+        // Alteração direta no banco principal, que não passa pelo registro de escritas do cliente
+        LocalDate inicioCiclo = CicloFatura.inicioCiclo(cliente.getDiaFechamentoFatura(), LocalDate.now());
+        jdbcClient.sql("INSERT INTO tb_saldo_cliente (cliente_id, inicio_ciclo, total) VALUES (:clienteId, :inicio, 40)")
+                .param("clienteId", cliente.getId())
+                .param("inicio", inicioCiclo)
+                .update();
+
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void transacaoSomenteLeitura_deveLerDoPrincipal_quandoAReplicaEstiverAtrasada() {
+        criarPedido();
+        definirAtraso(60);
+        long leiturasPrimaria = replica.getLeiturasPrimaria();
+
+        assertThat(replica.isDisponivel()).isFalse();
+        assertThat(pedidoService.filtrarPedidosPor(null, null, cliente.getId(), null, null)).hasSize(1);
+        assertThat(replica.getLeiturasPrimaria()).isGreaterThan(leiturasPrimaria);
+    }
+
+    private void criarPedido() {
+        pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), cliente.getId(),
+                Set.of(new CriarItemPedidoDTO(produto.getId(), 1)), BigDecimal.ZERO));
+    }
+
+    /**
+     * Recria a réplica a partir do script do banco principal, com esquema e dados.
+     */
+    private void copiarParaReplica() {
+        replicaJdbc.sql("DROP ALL OBJECTS").update();
+        jdbcClient.sql("SCRIPT").query(String.class).list().stream()
+                .filter(instrucao -> !instrucao.startsWith("--"))
+                .forEach(instrucao -> replicaJdbc.sql(instrucao).update());
+        replicaJdbc.sql("CREATE TABLE tb_atraso_replica (segundos DOUBLE PRECISION)").update();
+        replicaJdbc.sql("INSERT INTO tb_atraso_replica VALUES (0)").update();
+    }
+
+    private void definirAtraso(int segundos) {
+        replicaJdbc.sql("UPDATE tb_atraso_replica SET segundos = :segundos").param("segundos", segundos).update();
+        replica.verificar();
+    }
+}
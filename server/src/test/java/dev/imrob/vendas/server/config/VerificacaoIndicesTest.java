@@ -0,0 +1,58 @@
+package dev.imrob.vendas.server.config;
+
+import dev.imrob.vendas.server.config.VerificacaoIndices.IndiceEsperado;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+/**
+ * Verifica os índices do esquema gerado nos testes, que segue as mesmas anotações conferidas pelas migrações.
+ *
+ * <p>Remove e recria um índice, por isso utiliza um banco H2 próprio.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:verificacao_indices;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class VerificacaoIndicesTest {
+
+    @Autowired
+    private VerificacaoIndices verificacao;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    void verificar_naoDeveLancarExcecao_quandoTodosOsIndicesExistem() {
+        assertDoesNotThrow(verificacao::verificar);
+    }
+
+    @Test
+    void verificar_deveListarOIndiceAusente() {
+        jdbcClient.sql("DROP INDEX idx_pedido_status_data").update();
+        try {
+            assertThatThrownBy(verificacao::verificar)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("tb_pedido (status, data)")
+                    .hasMessageNotContaining("cliente_id");
+        } finally {
+            jdbcClient.sql("CREATE INDEX idx_pedido_status_data ON tb_pedido (status, data)").update();
+        }
+    }
+
+    @Test
+    void atendidoPor_deveExigirAsColunasIniciaisNaOrdem() {
+        IndiceEsperado esperado = new IndiceEsperado("tb_item_pedido", "pedido_id");
+
+        assertThat(esperado.atendidoPor(List.of("pedido_id", "produto_id"))).isTrue();
+        assertThat(esperado.atendidoPor(List.of("produto_id", "pedido_id"))).isFalse();
+        assertThat(new IndiceEsperado("tb_pedido", "cliente_id", "data").atendidoPor(List.of("cliente_id"))).isFalse();
+    }
+}
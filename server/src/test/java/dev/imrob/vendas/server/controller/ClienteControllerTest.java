@@ -3,11 +3,13 @@ package dev.imrob.vendas.server.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.imrob.vendas.server.dto.ClienteDTO;
 import dev.imrob.vendas.server.service.ClienteService;
+import dev.imrob.vendas.server.service.VersaoTabelas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -17,6 +19,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ClienteController.class)
+@Import(VersaoTabelas.class)
 class ClienteControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -77,4 +80,4 @@ class ClienteControllerTest {
                .content(objectMapper.writeValueAsString(cliente)))
                 .andExpect(status().isUnprocessableEntity());
     }
-}
\ No newline at end of file
+}
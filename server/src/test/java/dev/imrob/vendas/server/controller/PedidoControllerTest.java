@@ -1,19 +1,31 @@
 package dev.imrob.vendas.server.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.imrob.vendas.server.config.FormatosBinariosConfig;
+import dev.imrob.vendas.server.dto.ClienteDTO;
 import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
 import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.Granularidade;
 import dev.imrob.vendas.server.dto.PedidoDTO;
+import dev.imrob.vendas.server.dto.PontoSerieDTO;
+import dev.imrob.vendas.server.dto.ResultadoPedidoLoteDTO;
 import dev.imrob.vendas.server.entity.ItemPedido;
 import dev.imrob.vendas.server.entity.Produto;
 import dev.imrob.vendas.server.entity.StatusPedido;
 import dev.imrob.vendas.server.exception.LimiteCreditoException;
+import dev.imrob.vendas.server.service.IdempotenciaService;
 import dev.imrob.vendas.server.service.PedidoService;
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import dev.imrob.vendas.server.service.SaldoClienteService;
+import dev.imrob.vendas.server.service.VersaoTabelas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,15 +34,21 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PedidoController.class)
+@Import({VersaoTabelas.class, FormatosBinariosConfig.class})
 class PedidoControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -41,6 +59,15 @@ class PedidoControllerTest {
     @MockBean
     private PedidoService service;
 
+    @MockBean
+    private SaldoClienteService saldoService;
+
+    @MockBean
+    private ResumoVendasService resumoService;
+
+    @MockBean
+    private IdempotenciaService idempotenciaService;
+
     private CriarPedidoDTO pedido;
 
     @BeforeEach
@@ -59,6 +86,30 @@ class PedidoControllerTest {
                 .andExpect(content().string("1"));
     }
 
+    @Test
+    void save_deveUsarChaveDeIdempotencia_quandoCabecalhoInformado() throws Exception {
+        when(idempotenciaService.executar(eq("pdv-1-123"), any())).thenReturn(7L);
+        mockMvc.perform(post("/api/v1/pedidos/criar").contentType("application/json")
+                        .header("Idempotency-Key", "pdv-1-123")
+                        .content(objectMapper.writeValueAsString(pedido)))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("7"));
+        verify(service, never()).criarPedido(any(CriarPedidoDTO.class));
+    }
+
+    @Test
+    void criarPedidosEmLote_deveRetornarResultadoDeCadaPedido() throws Exception {
+        List<ResultadoPedidoLoteDTO> resultados = List.of(
+                ResultadoPedidoLoteDTO.criado(0, 10L),
+                ResultadoPedidoLoteDTO.recusado(1, "Cliente não possui limite de crédito."));
+        when(service.criarPedidosEmLote(anyList())).thenReturn(resultados);
+
+        mockMvc.perform(post("/api/v1/pedidos/lote").contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(pedido, pedido))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(resultados)));
+    }
+
     @Test
     void cancelarPedido_deveRetornarStatusOk_QuandoPedidoCancelado() throws Exception {
         Long pedidoId = 1L;
@@ -99,6 +150,40 @@ class PedidoControllerTest {
                 .andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    void findAll_deveRetornarSmile_quandoSolicitadoNoAccept() throws Exception {
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setId(1L);
+        pedidoDTO.setCliente(new ClienteDTO(1L, "João Barbosa", BigDecimal.valueOf(5000), 10));
+        pedidoDTO.setData(LocalDate.of(2024, 1, 1));
+        pedidoDTO.setValorTotal(BigDecimal.valueOf(49.90));
+        pedidoDTO.setStatus(StatusPedido.ATIVO);
+        when(service.findAll()).thenReturn(List.of(pedidoDTO));
+
+        byte[] corpo = mockMvc.perform(get("/api/v1/pedidos").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<PedidoDTO> lidos = new ObjectMapper(new SmileFactory()).findAndRegisterModules()
+                .readValue(corpo, new TypeReference<>() {});
+        assertThat(lidos).singleElement().satisfies(lido -> {
+            assertThat(lido.getCliente().getNome()).isEqualTo("João Barbosa");
+            assertThat(lido.getData()).isEqualTo(LocalDate.of(2024, 1, 1));
+            assertThat(lido.getValorTotal()).isEqualByComparingTo("49.90");
+        });
+    }
+
+    @Test
+    void criarPedido_deveRetornarErroEmJson_quandoAcceptPreferirSmile() throws Exception {
+        when(service.criarPedido(any(CriarPedidoDTO.class))).thenThrow(new LimiteCreditoException("Sem limite"));
+        mockMvc.perform(post("/api/v1/pedidos/criar").contentType("application/json")
+                        .accept("application/x-jackson-smile, application/problem+json;q=0.5, application/json;q=0.5")
+                        .content(objectMapper.writeValueAsString(pedido)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType("application/problem+json"));
+    }
+
     @Test
     void getPedidosAgrupadosPorCliente_deveRetornarPedidosAgrupadosPorCliente_quandoExistirPedidos() throws Exception {
         List<Object[]> resultadoEsperado = List.of(
@@ -149,4 +234,31 @@ class PedidoControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(resultadoEsperado)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSerie_deveRetornarSerieMensal_quandoGranularidadeMes() throws Exception {
+        List<PontoSerieDTO> serie = List.of(
+                new PontoSerieDTO(LocalDate.of(2023, 1, 1), 3, new BigDecimal("150.00")),
+                new PontoSerieDTO(LocalDate.of(2023, 2, 1), 0, BigDecimal.ZERO));
+        when(resumoService.serie(Granularidade.MES, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 2, 28), 1L, null))
+                .thenReturn(serie);
+
+        mockMvc.perform(get("/api/v1/pedidos/serie")
+                        .param("granularidade", "mes")
+                        .param("inicio", "2023-01-01")
+                        .param("fim", "2023-02-28")
+                        .param("clienteId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(serie)));
+    }
+
+    @Test
+    void getSerie_deveRetornarStatus422_quandoGranularidadeInvalida() throws Exception {
+        mockMvc.perform(get("/api/v1/pedidos/serie")
+                        .param("granularidade", "semana")
+                        .param("inicio", "2023-01-01")
+                        .param("fim", "2023-02-28"))
+                .andExpect(status().isUnprocessableEntity());
+        verify(resumoService, never()).serie(any(), any(), any(), any(), any());
+    }
+}
@@ -1,26 +1,33 @@
 package dev.imrob.vendas.server.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.imrob.vendas.server.config.FormatosBinariosConfig;
 import dev.imrob.vendas.server.dto.ProdutoDTO;
 import dev.imrob.vendas.server.service.ProdutoService;
+import dev.imrob.vendas.server.service.VersaoTabelas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ProdutoController.class)
+@Import({VersaoTabelas.class, FormatosBinariosConfig.class})
 class ProdutoControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -31,6 +38,9 @@ class ProdutoControllerTest {
     @MockBean
     private ProdutoService service;
 
+    @Autowired
+    private VersaoTabelas versoes;
+
     private ProdutoDTO produto;
     private List<ProdutoDTO> listaProdutos;
 
@@ -73,6 +83,63 @@ class ProdutoControllerTest {
                .andExpect(jsonPath("$.preco").value(produto.getPreco()));
     }
 
+    @Test
+    void findAll_deveRetornar304SemConsultar_quandoVersaoNaoAlterada() throws Exception {
+        when(service.isVersionado()).thenReturn(true);
+        when(service.getTabela()).thenReturn("tb_produto");
+        when(service.findAll()).thenReturn(listaProdutos);
+        String etag = mockMvc.perform(get("/api/v1/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/produtos").header("If-None-Match", etag))
+               .andExpect(status().isNotModified())
+               .andExpect(header().string("ETag", etag))
+               .andExpect(header().string("Vary", "Accept"))
+               .andExpect(content().string(""));
+        verify(service, times(1)).findAll();
+    }
+
+    @Test
+    void findAll_deveRetornarEtagPorFormato_eNaoResponder304EmOutroFormato() throws Exception {
+        when(service.isVersionado()).thenReturn(true);
+        when(service.getTabela()).thenReturn("tb_produto");
+        when(service.findAll()).thenReturn(listaProdutos);
+        String etagJson = mockMvc.perform(get("/api/v1/produtos").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        String etagCbor = mockMvc.perform(get("/api/v1/produtos").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", etagJson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(etagCbor).isNotEqualTo(etagJson);
+        mockMvc.perform(get("/api/v1/produtos").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", etagCbor))
+               .andExpect(status().isNotModified());
+        verify(service, times(2)).findAll();
+    }
+
+    @Test
+    void findById_deveRetornarProdutoComNovoEtag_quandoTabelaAlterada() throws Exception {
+        when(service.isVersionado()).thenReturn(true);
+        when(service.getTabela()).thenReturn("tb_produto");
+        when(service.findById(1L)).thenReturn(produto);
+        String etag = mockMvc.perform(get("/api/v1/produtos/1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        versoes.registrarAlteracao("tb_produto");
+
+        String novoEtag = mockMvc.perform(get("/api/v1/produtos/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.descricao").value(produto.getDescricao()))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(novoEtag).isNotEqualTo(etag);
+    }
+
     @Test
     void delete_deveRetornarStatusOk_QuandoPedidoDeletado() throws Exception {
         Long pedidoId = 1L;
@@ -0,0 +1,88 @@
+package dev.imrob.vendas.server.controller;
+
+import dev.imrob.vendas.server.dto.RelatorioDTO;
+import dev.imrob.vendas.server.dto.StatusRelatorio;
+import dev.imrob.vendas.server.dto.TipoRelatorio;
+import dev.imrob.vendas.server.exception.RelatorioException;
+import dev.imrob.vendas.server.service.RelatorioService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RelatorioController.class)
+class RelatorioControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RelatorioService service;
+
+    @Test
+    void solicitar_deveRetornarAccepted_comEnderecoDaExecucao() throws Exception {
+        when(service.solicitar(TipoRelatorio.POR_CLIENTE)).thenReturn(new RelatorioDTO("abc",
+                TipoRelatorio.POR_CLIENTE, StatusRelatorio.PENDENTE, LocalDateTime.now(), null, null));
+
+        mockMvc.perform(post("/api/v1/relatorios").param("tipo", "POR_CLIENTE"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/relatorios/abc"))
+                .andExpect(jsonPath("$.id").value("abc"))
+                .andExpect(jsonPath("$.status").value("PENDENTE"));
+    }
+
+    @Test
+    void solicitar_deveRetornarUnprocessableEntity_quandoTipoInvalido() throws Exception {
+        mockMvc.perform(post("/api/v1/relatorios").param("tipo", "POR_MES"))
+                .andExpect(status().isUnprocessableEntity());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void solicitar_deveRetornarServiceUnavailable_quandoFilaCheia() throws Exception {
+        when(service.solicitar(TipoRelatorio.POR_PRODUTO)).thenThrow(
+                new RelatorioException(HttpStatus.SERVICE_UNAVAILABLE, "A fila de relatórios está cheia."));
+
+        mockMvc.perform(post("/api/v1/relatorios").param("tipo", "POR_PRODUTO"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void buscar_deveRetornarNotFound_quandoRelatorioNaoExistir() throws Exception {
+        when(service.buscar("abc")).thenThrow(new EntityNotFoundException("Relatório com id abc não foi encontrado."));
+
+        mockMvc.perform(get("/api/v1/relatorios/abc"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void resultado_deveRetornarLinhasDoRelatorio() throws Exception {
+        when(service.resultado("abc")).thenReturn(List.<Object[]>of(new Object[]{"Cliente", BigDecimal.TEN}));
+
+        mockMvc.perform(get("/api/v1/relatorios/abc/resultado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0][0]").value("Cliente"))
+                .andExpect(jsonPath("$[0][1]").value(10));
+    }
+
+    @Test
+    void resultado_deveRetornarConflict_quandoRelatorioEmExecucao() throws Exception {
+        when(service.resultado("abc")).thenThrow(
+                new RelatorioException(HttpStatus.CONFLICT, "O relatório abc ainda está em execução."));
+
+        mockMvc.perform(get("/api/v1/relatorios/abc/resultado"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,51 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.entity.StatusPedido;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroPedidoQueryTest {
+
+    @Test
+    void idsPedidos_naoDeveTerWhereNemParametros_quandoNenhumFiltroInformado() {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.de(null, null, null, null, null);
+
+        assertThat(filtro.idsPedidos()).isEqualTo("SELECT p.id FROM tb_pedido p");
+        assertThat(filtro.parametros()).isEmpty();
+    }
+
+    @Test
+    void idsPedidos_naoDeveConsultarItens_quandoProdutoNaoInformado() {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.de(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                1L, null, StatusPedido.ATIVO);
+
+        assertThat(filtro.idsPedidos())
+                .doesNotContain("tb_item_pedido")
+                .doesNotContain("GROUP BY")
+                .contains("p.data >= :dataInicio", "p.data <= :dataFim", "p.cliente_id = :clienteId", "p.status = :status");
+        assertThat(filtro.parametros())
+                .containsOnlyKeys("dataInicio", "dataFim", "clienteId", "status")
+                .containsEntry("status", "ATIVO");
+    }
+
+    @Test
+    void idsPedidos_deveUsarExists_quandoProdutoInformado() {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.de(null, null, null, 7L, null);
+
+        assertThat(filtro.idsPedidos()).isEqualTo("SELECT p.id FROM tb_pedido p WHERE EXISTS "
+                + "(SELECT 1 FROM tb_item_pedido ip WHERE ip.pedido_id = p.id AND ip.produto_id = :produtoId)");
+        assertThat(filtro.parametros()).containsOnlyKeys("produtoId").containsEntry("produtoId", 7L);
+    }
+
+    @Test
+    void idsPedidos_deveOrdenarELimitar_quandoCursorInformado() {
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.builder().apos(100L).limite(51).build();
+
+        assertThat(filtro.idsPedidos())
+                .isEqualTo("SELECT p.id FROM tb_pedido p WHERE p.id > :apos ORDER BY p.id FETCH FIRST :limite ROWS ONLY");
+        assertThat(filtro.parametros()).containsEntry("apos", 100L).containsEntry("limite", 51);
+    }
+}
@@ -0,0 +1,140 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.config.ConsultasRequisicao;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.ItemPedido;
+import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.entity.StatusPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class FiltroPedidoRepositoryTest {
+    @Autowired
+    private FiltroPedidoRepository filtroRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private Cliente cliente;
+    private Produto arroz;
+    private Produto feijao;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Teste", BigDecimal.valueOf(100000), 10));
+        arroz = produtoRepository.save(new Produto(null, "Arroz 5kg", BigDecimal.valueOf(20)));
+        feijao = produtoRepository.save(new Produto(null, "Feijão 1kg", BigDecimal.valueOf(8)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 250})
+    void filtrarPedidosPor_deveExecutarTresConsultas_independenteDaQuantidadeDePedidos(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            criarPedido(LocalDate.of(2024, 1, 1).plusDays(i % 300));
+        }
+        List<Pedido> pedidos = new ArrayList<>();
+
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> pedidos.addAll(
+                filtroRepository.filtrarPedidosPor(null, null, cliente.getId(), null, StatusPedido.ATIVO)));
+
+        assertThat(pedidos).hasSize(quantidade);
+        assertThat(consultas.getTotal()).isEqualTo(3);
+        assertThat(consultas.totalContendo("FROM tb_pedido")).isEqualTo(1);
+    }
+
+    @Test
+    void filtrarPedidosPor_devePreencherClienteEItens_quandoPedidosEncontrados() {
+        Pedido criado = criarPedido(LocalDate.of(2024, 3, 10));
+
+        List<Pedido> pedidos = filtroRepository.filtrarPedidosPor(LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 3, 31), null, arroz.getId(), StatusPedido.ATIVO);
+
+        assertThat(pedidos).extracting(Pedido::getId).containsExactly(criado.getId());
+        Pedido pedido = pedidos.get(0);
+        assertThat(pedido.getCliente().getNome()).isEqualTo("Cliente Teste");
+        assertThat(pedido.getItens()).hasSize(2);
+        assertThat(pedido.getItens()).extracting(item -> item.getProduto().getDescricao())
+                .containsExactlyInAnyOrder("Arroz 5kg", "Feijão 1kg");
+        assertThat(pedido.getItens()).allMatch(item -> item.getPedido() == pedido);
+    }
+
+    @Test
+    void filtrarPedidosPor_deveRetornarTodosOsStatus_quandoStatusNulo() {
+        Pedido ativo = criarPedido(LocalDate.of(2024, 5, 1));
+        Pedido excluido = criarPedido(LocalDate.of(2024, 5, 2));
+        excluido.setStatus(StatusPedido.EXCLUIDO);
+        pedidoRepository.saveAndFlush(excluido);
+
+        List<Pedido> pedidos = filtroRepository.filtrarPedidosPor(null, null, cliente.getId(), feijao.getId(), null);
+
+        assertThat(pedidos).extracting(Pedido::getId).containsExactly(ativo.getId(), excluido.getId());
+    }
+
+    @Test
+    void filtrarPedidosPor_devePaginarPeloCursor_quandoLimiteInformado() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(criarPedido(LocalDate.of(2024, 6, 1)).getId());
+        }
+        FiltroPedidoQuery filtro = FiltroPedidoQuery.builder().clienteId(cliente.getId()).limite(2).build();
+
+        List<Pedido> primeira = filtroRepository.filtrarPedidosPor(filtro);
+        List<Pedido> segunda = filtroRepository.filtrarPedidosPor(
+                filtro.toBuilder().apos(primeira.get(1).getId()).build());
+
+        assertThat(primeira).extracting(Pedido::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(segunda).extracting(Pedido::getId).containsExactly(ids.get(2), ids.get(3));
+        assertThat(filtroRepository.contarPedidosAte(filtro, 3)).isEqualTo(3);
+    }
+
+    @Test
+    void exportarPedidosPor_deveEntregarCadaPedidoComSeusItens_emUmaConsulta() {
+        Pedido primeiro = criarPedido(LocalDate.of(2024, 7, 1));
+        Pedido segundo = criarPedido(LocalDate.of(2024, 7, 2));
+        List<Pedido> exportados = new ArrayList<>();
+
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> filtroRepository.exportarPedidosPor(
+                FiltroPedidoQuery.de(null, null, cliente.getId(), null, null), exportados::add));
+
+        assertThat(consultas.getTotal()).isEqualTo(1);
+        assertThat(exportados).extracting(Pedido::getId).containsExactly(primeiro.getId(), segundo.getId());
+        assertThat(exportados).allSatisfy(pedido -> {
+            assertThat(pedido.getCliente().getNome()).isEqualTo("Cliente Teste");
+            assertThat(pedido.getItens()).extracting(item -> item.getProduto().getDescricao())
+                    .containsExactlyInAnyOrder("Arroz 5kg", "Feijão 1kg");
+        });
+    }
+
+    private Pedido criarPedido(LocalDate data) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setData(data);
+        pedido.setValorTotal(BigDecimal.valueOf(28));
+        pedido.getItens().add(new ItemPedido(null, pedido, arroz, 1));
+        pedido.getItens().add(new ItemPedido(null, pedido, feijao, 1));
+        return pedidoRepository.saveAndFlush(pedido);
+    }
+}
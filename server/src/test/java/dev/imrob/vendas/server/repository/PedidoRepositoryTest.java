@@ -0,0 +1,68 @@
+package dev.imrob.vendas.server.repository;
+
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.ItemPedido;
+import dev.imrob.vendas.server.entity.Pedido;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.service.ResumoVendasService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class PedidoRepositoryTest {
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ResumoVendasService resumoService;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Teste", BigDecimal.valueOf(1000), 10));
+        produto = produtoRepository.save(new Produto(null, "Leite 1L", BigDecimal.valueOf(4)));
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setData(LocalDate.of(2024, 4, 15));
+        pedido.setValorTotal(BigDecimal.valueOf(20));
+        pedido.getItens().add(new ItemPedido(null, pedido, produto, 5));
+        pedidoRepository.saveAndFlush(pedido);
+        resumoService.reconstruir();
+    }
+
+    @Test
+    void totais_devemUsarPrecoRegistradoNoItem_quandoPrecoDoProdutoAlterado() {
+        produto.setPreco(BigDecimal.valueOf(9));
+        produtoRepository.saveAndFlush(produto);
+
+        BigDecimal total = pedidoRepository.totalComprasDesdeData(cliente.getId(), LocalDate.of(2024, 4, 1));
+        List<Object[]> porProduto = pedidoRepository.pedidosAgrupadosPorProduto();
+
+        assertThat(total).isEqualByComparingTo("20");
+        assertThat(porProduto).singleElement().satisfies(linha -> {
+            assertThat(linha[1]).isEqualTo("Leite 1L");
+            assertThat(((Number) linha[2]).longValue()).isEqualTo(5L);
+            assertThat(new BigDecimal(linha[3].toString())).isEqualByComparingTo("20");
+        });
+    }
+}
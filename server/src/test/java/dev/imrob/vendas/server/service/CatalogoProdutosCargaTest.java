@@ -0,0 +1,87 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a vazão das buscas de produtos no catálogo em memória com a busca pelo JPA.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}. Contra um H2 em memória a busca pelo JPA não tem latência de
+ * rede, então a diferença medida é um limite inferior da obtida contra um PostgreSQL.</p>
+ */
+@Slf4j
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:catalogo_carga;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class CatalogoProdutosCargaTest {
+    private static final int QUANTIDADE_PRODUTOS = 2_000;
+    private static final int QUANTIDADE_BUSCAS = 200_000;
+
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private long[] ids;
+
+    @BeforeEach
+    void setUp() {
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_PRODUTOS; i++) {
+            produtos.add(new Produto(null, "Produto " + i, BigDecimal.valueOf(i + 1)));
+        }
+        ids = produtoRepository.saveAll(produtos).stream().mapToLong(Produto::getId).toArray();
+        catalogo.recarregar();
+        // Aquecimento de ambos os caminhos
+        buscar(id -> catalogo.buscar(id).orElseThrow(), QUANTIDADE_BUSCAS / 10);
+        buscar(id -> produtoRepository.findById(id).orElseThrow(), QUANTIDADE_BUSCAS / 100);
+    }
+
+    @Test
+    void buscar_deveTerVazaoMaiorQueABuscaPeloJpa() {
+        long inicio = System.nanoTime();
+        buscar(id -> produtoRepository.findById(id).orElseThrow(), QUANTIDADE_BUSCAS / 10);
+        double porSegundoJpa = QUANTIDADE_BUSCAS / 10 / segundosDesde(inicio);
+
+        FunctionCounter falhasCatalogo = registry.get("vendas.catalogo.buscas").tag("resultado", "falha")
+                .functionCounter();
+        double falhas = falhasCatalogo.count();
+        inicio = System.nanoTime();
+        buscar(id -> catalogo.buscar(id).orElseThrow(), QUANTIDADE_BUSCAS);
+        double porSegundoCatalogo = QUANTIDADE_BUSCAS / segundosDesde(inicio);
+
+        log.info("Buscas de produto por segundo: JPA {}, catálogo {} ({}x).", Math.round(porSegundoJpa),
+                Math.round(porSegundoCatalogo), String.format("%.1f", porSegundoCatalogo / porSegundoJpa));
+        assertThat(falhasCatalogo.count()).isEqualTo(falhas);
+        assertThat(porSegundoCatalogo).isGreaterThan(porSegundoJpa);
+    }
+
+    private void buscar(LongFunction<Produto> busca, int quantidade) {
+        BigDecimal soma = BigDecimal.ZERO;
+        for (int i = 0; i < quantidade; i++) {
+            soma = soma.add(busca.apply(ids[i % ids.length]).getPreco());
+        }
+        assertThat(soma).isPositive();
+    }
+}
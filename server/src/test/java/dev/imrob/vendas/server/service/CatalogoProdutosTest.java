@@ -0,0 +1,110 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.config.ConsultasRequisicao;
+import dev.imrob.vendas.server.dto.ProdutoDTO;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Não é transacional: o catálogo é recarregado somente após o commit das alterações de produtos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:catalogo_produtos;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class CatalogoProdutosTest {
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void findById_deveLerDoCatalogo_semConsultas_aposSalvarProduto() {
+        Long id = produtoService.save(new ProdutoDTO(null, "Café 500g", BigDecimal.valueOf(18.9)));
+        double acertos = buscas("acerto");
+        double falhas = buscas("falha");
+
+        List<ProdutoDTO> encontrados = new ArrayList<>();
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> encontrados.add(produtoService.findById(id)));
+
+        assertThat(consultas.getTotal()).isZero();
+        assertThat(encontrados).singleElement().extracting(ProdutoDTO::getDescricao).isEqualTo("Café 500g");
+        assertThat(buscas("acerto")).isEqualTo(acertos + 1);
+        assertThat(buscas("falha")).isEqualTo(falhas);
+    }
+
+    @Test
+    void findById_deveRefletirAlteracaoEExclusao() {
+        Long id = produtoService.save(new ProdutoDTO(null, "Açúcar 1kg", BigDecimal.valueOf(4.5)));
+        double recargas = registry.get("vendas.catalogo.recargas").functionCounter().count();
+
+        produtoService.update(new ProdutoDTO(id, "Açúcar 1kg", BigDecimal.valueOf(5.2)));
+        assertThat(produtoService.findById(id).getPreco()).isEqualByComparingTo("5.2");
+
+        produtoService.delete(id);
+        assertThatThrownBy(() -> produtoService.findById(id)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(registry.get("vendas.catalogo.recargas").functionCounter().count()).isEqualTo(recargas + 2);
+    }
+
+    @Test
+    void buscarTodos_deveBuscarNoBanco_somenteOsProdutosAusentesDoCatalogo() {
+        Long noCatalogo = produtoService.save(new ProdutoDTO(null, "Leite 1L", BigDecimal.valueOf(6)));
+        // Gravado por fora do serviço, como por outra instância, ainda não está no catálogo
+        Long foraDoCatalogo = produtoRepository.save(new Produto(null, "Manteiga 200g", BigDecimal.TEN)).getId();
+        double acertos = buscas("acerto");
+        double falhas = buscas("falha");
+
+        Map<Long, Produto> produtos = new HashMap<>();
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() ->
+                produtos.putAll(catalogo.buscarTodos(List.of(noCatalogo, foraDoCatalogo, 999_999L))));
+
+        assertThat(produtos).containsOnlyKeys(noCatalogo, foraDoCatalogo);
+        assertThat(consultas.totalContendo("from tb_produto")).isEqualTo(1);
+        assertThat(buscas("acerto")).isEqualTo(acertos + 1);
+        assertThat(buscas("falha")).isEqualTo(falhas + 2);
+    }
+
+    @Test
+    void recarregar_deveEncontrarTodosOsProdutos_quandoMuitosProdutos() {
+        List<Produto> novos = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            novos.add(new Produto(null, "Produto " + i, BigDecimal.valueOf(i + 1)));
+        }
+        List<Produto> salvos = produtoRepository.saveAll(novos);
+        catalogo.recarregar();
+
+        ConsultasRequisicao consultas = ConsultasRequisicao.medir(() -> {
+            for (Produto salvo : salvos) {
+                assertThat(catalogo.buscar(salvo.getId())).hasValueSatisfying(produto ->
+                        assertThat(produto.getPreco()).isEqualByComparingTo(salvo.getPreco()));
+            }
+        });
+        assertThat(consultas.getTotal()).isZero();
+        assertThat(registry.get("vendas.catalogo.produtos").gauge().value()).isGreaterThanOrEqualTo(1_000);
+    }
+
+    private double buscas(String resultado) {
+        return registry.get("vendas.catalogo.buscas").tag("resultado", resultado).functionCounter().count();
+    }
+}
@@ -0,0 +1,35 @@
+package dev.imrob.vendas.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CicloFaturaTest {
+
+    @Test
+    void ultimoFechamento_deveRetornarFechamentoDoMes_quandoDiaJaPassou() {
+        assertThat(CicloFatura.ultimoFechamento(10, LocalDate.of(2024, 3, 15))).isEqualTo(LocalDate.of(2024, 3, 10));
+        assertThat(CicloFatura.ultimoFechamento(10, LocalDate.of(2024, 3, 10))).isEqualTo(LocalDate.of(2024, 3, 10));
+    }
+
+    @Test
+    void ultimoFechamento_deveRetornarFechamentoDoMesAnterior_quandoDiaAindaNaoChegou() {
+        assertThat(CicloFatura.ultimoFechamento(10, LocalDate.of(2024, 3, 9))).isEqualTo(LocalDate.of(2024, 2, 10));
+        assertThat(CicloFatura.ultimoFechamento(1, LocalDate.of(2024, 3, 9))).isEqualTo(LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void ultimoFechamento_deveAjustarAoUltimoDiaDoMes_quandoMesMaisCurto() {
+        assertThat(CicloFatura.ultimoFechamento(31, LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(CicloFatura.ultimoFechamento(31, LocalDate.of(2024, 2, 28))).isEqualTo(LocalDate.of(2024, 1, 31));
+        assertThat(CicloFatura.proximoFechamento(31, LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 3, 31));
+    }
+
+    @Test
+    void inicioCiclo_deveIncluirPedidoDoDiaDoFechamentoNoCicloSeguinte() {
+        assertThat(CicloFatura.inicioCiclo(10, LocalDate.of(2024, 3, 10))).isEqualTo(LocalDate.of(2024, 2, 10));
+        assertThat(CicloFatura.inicioCiclo(10, LocalDate.of(2024, 3, 11))).isEqualTo(LocalDate.of(2024, 3, 10));
+    }
+}
@@ -0,0 +1,119 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.config.ConsultasRequisicao;
+import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Não é transacional: o cache de segundo nível só é atualizado no commit de cada operação. Ativa as
+ * estatísticas do Hibernate para ler os acertos do cache nas métricas de {@link MetricasCache}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:cliente_cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+class ClienteCacheTest {
+    private static final int QUANTIDADE_PEDIDOS = 30;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long clienteId;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        clienteId = clienteService.save(new ClienteDTO(null, "Cliente Cache", BigDecimal.valueOf(1_000_000), 10));
+        produto = produtoRepository.save(new Produto(null, "Produto Cache", BigDecimal.TEN));
+    }
+
+    @Test
+    void pedidosRepetidos_devemConsultarMenosATabelaDeClientes_comCache() {
+        long semCache = consultasAClientes(true);
+        long comCache = consultasAClientes(false);
+
+        // Com cache, resta somente a busca com bloqueio da reserva de limite, uma por pedido
+        assertThat(semCache).isGreaterThanOrEqualTo(3L * QUANTIDADE_PEDIDOS);
+        assertThat(comCache).isLessThanOrEqualTo(QUANTIDADE_PEDIDOS + 1);
+        assertThat(acertosCache()).isGreaterThanOrEqualTo(2.0 * QUANTIDADE_PEDIDOS);
+    }
+
+    @Test
+    void update_deveAtualizarOCache_eDeleteDeveRemoverDoCache() {
+        clienteService.findById(clienteId);
+        double acertos = acertosCache();
+
+        clienteService.update(new ClienteDTO(clienteId, "Cliente Alterado", BigDecimal.valueOf(500), 10));
+        ClienteDTO alterado = clienteService.findById(clienteId);
+
+        assertThat(alterado.getNome()).isEqualTo("Cliente Alterado");
+        assertThat(alterado.getLimiteCompra()).isEqualByComparingTo("500");
+        assertThat(acertosCache()).isGreaterThan(acertos);
+
+        clienteService.delete(clienteId);
+        assertThatThrownBy(() -> clienteService.findById(clienteId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    /**
+     * Executa a rotina de um terminal: cria um pedido, consulta o saldo em aberto e os dados do cliente.
+     *
+     * @param esvaziarCache Se o cache de clientes deve ser esvaziado antes de cada operação, como se não
+     *                      existisse.
+     * @return A quantidade de consultas à tabela de clientes.
+     */
+    private double acertosCache() {
+        return registry.get("vendas.cache.regiao").tag("regiao", Cliente.REGIAO_CACHE).tag("resultado", "acerto")
+                .functionCounter().count();
+    }
+
+    private long consultasAClientes(boolean esvaziarCache) {
+        return ConsultasRequisicao.medir(() -> {
+            for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+                esvaziarCacheSe(esvaziarCache);
+                pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), clienteId,
+                        Set.of(new CriarItemPedidoDTO(produto.getId(), 1)), BigDecimal.ZERO));
+                esvaziarCacheSe(esvaziarCache);
+                pedidoService.totalComprasDesdeFechamento(clienteId);
+                esvaziarCacheSe(esvaziarCache);
+                clienteService.findById(clienteId);
+            }
+        }).totalContendo("from tb_cliente");
+    }
+
+    private void esvaziarCacheSe(boolean esvaziar) {
+        if (esvaziar) {
+            entityManagerFactory.getCache().evict(Cliente.class);
+        }
+    }
+}
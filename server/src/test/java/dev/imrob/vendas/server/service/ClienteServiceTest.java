@@ -1,9 +1,11 @@
 package dev.imrob.vendas.server.service;
 
 import dev.imrob.vendas.server.dto.ClienteDTO;
+import dev.imrob.vendas.server.dto.PaginaDTO;
 import dev.imrob.vendas.server.dto.mapper.ClienteMapper;
 import dev.imrob.vendas.server.entity.Cliente;
 import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.EstatisticaTabelaRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -24,6 +27,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +38,12 @@ class ClienteServiceTest {
     private ClienteRepository repository;
     @Spy
     private ClienteMapper mapper = ClienteMapper.INSTANCE;
+    @Mock
+    private EstatisticaTabelaRepository estatisticaRepository;
+    @Mock
+    private SaldoClienteService saldoService;
+    @Mock
+    private VersaoTabelas versoes;
 
     private ClienteDTO clienteDTO;
     private Cliente cliente;
@@ -89,6 +99,29 @@ class ClienteServiceTest {
         }
     }
 
+    @Test
+    void findPagina_deveRetornarCursorDaProximaPagina_quandoExistiremMaisRegistros() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3))).thenReturn(listaClientes);
+
+        PaginaDTO<ClienteDTO> resultado = service.findPagina(1L, 2, false);
+
+        assertThat(resultado.getItens()).extracting(ClienteDTO::getId).containsExactly(2L, 3L);
+        assertThat(resultado.getProximoCursor()).isEqualTo(3L);
+        assertThat(resultado.getTotalAproximado()).isNull();
+    }
+
+    @Test
+    void findPagina_naoDeveRetornarCursor_quandoForAUltimaPagina() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11))).thenReturn(listaClientes);
+        when(estatisticaRepository.contagemAproximada("tb_cliente")).thenReturn(3L);
+
+        PaginaDTO<ClienteDTO> resultado = service.findPagina(null, 10, true);
+
+        assertThat(resultado.getItens()).hasSize(3);
+        assertThat(resultado.getProximoCursor()).isNull();
+        assertThat(resultado.getTotalAproximado()).isEqualTo(3L);
+    }
+
     @Test
     void save_deveSalvarCliente_retornaId() {
         when(repository.save(any(Cliente.class))).thenReturn(cliente);
@@ -154,6 +187,18 @@ class ClienteServiceTest {
         assertDoesNotThrow(() -> service.update(clienteDTO));
     }
 
+    @Test
+    void update_deveReconstruirSaldos_quandoDiaFechamentoAlterado() {
+        clienteDTO.setId(1L);
+        clienteDTO.setDiaFechamentoFatura(20);
+        when(repository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
+        when(repository.save(any(Cliente.class))).thenReturn(cliente);
+
+        service.update(clienteDTO);
+
+        verify(saldoService).reconstruir(1L);
+    }
+
     @Test
     void update_deveLancarExcecao_quandoNaoEncontrado() {
         clienteDTO.setId(1L);
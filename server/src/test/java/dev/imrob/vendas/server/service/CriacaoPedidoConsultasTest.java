@@ -0,0 +1,93 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.config.ConsultasRequisicao;
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class CriacaoPedidoConsultasTest {
+    private static final int QUANTIDADE_PRODUTOS = 20;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    private Cliente cliente;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Consultas", BigDecimal.valueOf(1_000_000), 10));
+        for (int i = 0; i < QUANTIDADE_PRODUTOS; i++) {
+            produtos.add(produtoRepository.save(new Produto(null, "Produto " + i, BigDecimal.valueOf(i + 1))));
+        }
+        catalogo.recarregar();
+        // Aquece os resumos e o saldo do dia para que os próximos pedidos apenas os atualizem
+        pedidoService.criarPedido(pedidoCom(QUANTIDADE_PRODUTOS));
+    }
+
+    @Test
+    void criarPedido_deveExecutarAsMesmasInstrucoes_independenteDaQuantidadeDeItens() {
+        ConsultasRequisicao comUmItem = ConsultasRequisicao.medir(() -> pedidoService.criarPedido(pedidoCom(1)));
+        ConsultasRequisicao comVinteItens = ConsultasRequisicao.medir(
+                () -> pedidoService.criarPedido(pedidoCom(QUANTIDADE_PRODUTOS)));
+
+        assertThat(instrucoesSemSequencias(comVinteItens)).isEqualTo(instrucoesSemSequencias(comUmItem));
+        assertThat(comVinteItens.totalContendo("insert into tb_item_pedido")).isEqualTo(1);
+        assertThat(comVinteItens.totalContendo("from tb_produto")).isZero();
+        assertThat(comVinteItens.totalContendo("from tb_cliente")).isLessThanOrEqualTo(1);
+    }
+
+    /**
+     * Remove do catálogo os produtos desfeitos junto com a transação do teste.
+     */
+    @AfterTransaction
+    void recarregarCatalogo() {
+        catalogo.recarregar();
+    }
+
+    /**
+     * Desconta as buscas de novos blocos de IDs, que dependem apenas da posição das sequências.
+     */
+    private int instrucoesSemSequencias(ConsultasRequisicao consultas) {
+        return consultas.getTotal() - consultas.totalContendo("seq_");
+    }
+
+    private CriarPedidoDTO pedidoCom(int quantidadeItens) {
+        Set<CriarItemPedidoDTO> itens = produtos.stream()
+                .limit(quantidadeItens)
+                .map(produto -> new CriarItemPedidoDTO(produto.getId(), 1))
+                .collect(Collectors.toSet());
+        return new CriarPedidoDTO(LocalDate.now(), cliente.getId(), itens, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,113 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.FiltroPedidoQuery;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exporta uma base grande de pedidos com heap reduzido, garantindo que a exportação não acumula
+ * o resultado em memória.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}, que limita o heap. Utiliza um banco H2 em arquivo com
+ * execução preguiçosa de consultas, para que nem a base nem o resultado fiquem no heap da JVM.</p>
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:file:./build/h2/exportacao;LAZY_QUERY_EXECUTION=1")
+@ActiveProfiles("test")
+class ExportacaoPedidosCargaTest {
+    private static final int QUANTIDADE_PEDIDOS = 500_000;
+    private static final long HEAP_MAXIMO = 256L * 1024 * 1024;
+
+    @Autowired
+    private PedidoService service;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(new Cliente(null, "Cliente Carga", BigDecimal.valueOf(1_000_000), 10));
+        Produto arroz = produtoRepository.save(new Produto(null, "Arroz 5kg", BigDecimal.valueOf(20)));
+        Produto feijao = produtoRepository.save(new Produto(null, "Feijão 1kg", BigDecimal.valueOf(8)));
+
+        jdbcClient.sql("""
+                        INSERT INTO tb_pedido (id, cliente_id, data, valor_total, status)
+                        SELECT X, :cliente, DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), :valorTotal, 'ATIVO'
+                        FROM SYSTEM_RANGE(1, :quantidade)
+                        """)
+                .param("cliente", cliente.getId())
+                .param("valorTotal", arroz.getPreco().add(feijao.getPreco()))
+                .param("quantidade", QUANTIDADE_PEDIDOS)
+                .update();
+        jdbcClient.sql("""
+                        INSERT INTO tb_item_pedido (id, pedido_id, produto_id, quantidade, preco_unitario)
+                        SELECT X, X, pr.id, 1, pr.preco FROM SYSTEM_RANGE(1, :quantidade) JOIN tb_produto pr ON pr.id = :arroz
+                        UNION ALL
+                        SELECT X + :quantidade, X, pr.id, 1, pr.preco FROM SYSTEM_RANGE(1, :quantidade) JOIN tb_produto pr ON pr.id = :feijao
+                        """)
+                .param("arroz", arroz.getId())
+                .param("feijao", feijao.getId())
+                .param("quantidade", QUANTIDADE_PEDIDOS)
+                .update();
+    }
+
+    @Test
+    void exportarPedidos_deveEscreverTodosOsPedidos_comHeapReduzido() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= HEAP_MAXIMO,
+                "Execute pela tarefa testeCarga para limitar o heap.");
+        ContadorDeLinhas saida = new ContadorDeLinhas();
+
+        service.exportarPedidos(FiltroPedidoQuery.builder().build(), saida);
+
+        assertThat(saida.linhas).isEqualTo(QUANTIDADE_PEDIDOS);
+        assertThat(saida.bytes).isGreaterThan(QUANTIDADE_PEDIDOS * 100L);
+    }
+
+    /**
+     * Saída que apenas conta os bytes e as linhas escritas.
+     */
+    private static class ContadorDeLinhas extends OutputStream {
+        private long linhas;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                linhas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    linhas++;
+                }
+            }
+        }
+    }
+}
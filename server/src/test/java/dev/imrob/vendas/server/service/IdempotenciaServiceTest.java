@@ -0,0 +1,136 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.exception.ChaveIdempotenciaException;
+import dev.imrob.vendas.server.exception.LimiteCreditoException;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Não é transacional: as chaves são registradas na transação de cada execução, como em produção.
+ * O índice em memória comporta uma única chave, para que as demais sejam buscadas na tabela.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "vendas.idempotencia.capacidade=1"})
+@ActiveProfiles("test")
+class IdempotenciaServiceTest {
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private final AtomicLong execucoes = new AtomicLong();
+
+    @Test
+    void executar_deveRetornarIdOriginal_semExecutarNovamente_quandoChaveRepetida() {
+        String chave = UUID.randomUUID().toString();
+
+        Long primeiro = idempotenciaService.executar(chave, execucoes::incrementAndGet);
+        Long repetido = idempotenciaService.executar(chave, execucoes::incrementAndGet);
+
+        assertThat(repetido).isEqualTo(primeiro);
+        assertThat(execucoes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void executar_deveBuscarNaTabela_quandoChaveDescartadaDaMemoria() {
+        String chave = UUID.randomUUID().toString();
+        Long primeiro = idempotenciaService.executar(chave, execucoes::incrementAndGet);
+        idempotenciaService.executar(UUID.randomUUID().toString(), execucoes::incrementAndGet);
+
+        Long repetido = idempotenciaService.executar(chave, execucoes::incrementAndGet);
+
+        assertThat(repetido).isEqualTo(primeiro);
+        assertThat(execucoes.get()).isEqualTo(2);
+    }
+
+    @Test
+    void executar_devePermitirNovaTentativa_quandoExecucaoFalhar() {
+        String chave = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> idempotenciaService.executar(chave, () -> {
+            throw new LimiteCreditoException("Cliente não possui limite de crédito.");
+        })).isInstanceOf(LimiteCreditoException.class);
+        Long id = idempotenciaService.executar(chave, execucoes::incrementAndGet);
+
+        assertThat(id).isEqualTo(1L);
+    }
+
+    @Test
+    void executar_deveLancarExcecao_quandoChaveInvalida() {
+        assertThatThrownBy(() -> idempotenciaService.executar(" ", execucoes::incrementAndGet))
+                .isInstanceOf(ChaveIdempotenciaException.class);
+        assertThatThrownBy(() -> idempotenciaService.executar("x".repeat(101), execucoes::incrementAndGet))
+                .isInstanceOf(ChaveIdempotenciaException.class);
+    }
+
+    @Test
+    void executar_deveCriarUmUnicoPedido_quandoRequisicoesSimultaneasComAMesmaChave() throws InterruptedException {
+        Cliente cliente = clienteRepository.save(new Cliente(null, "Cliente Idempotência", BigDecimal.valueOf(1000), 10));
+        Produto produto = produtoRepository.save(new Produto(null, "Produto Idempotência", BigDecimal.TEN));
+        String chave = UUID.randomUUID().toString();
+        Queue<Long> ids = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> falhas = new ConcurrentLinkedQueue<>();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                try {
+                    largada.await();
+                    ids.add(idempotenciaService.executar(chave, () -> pedidoService.criarPedido(new CriarPedidoDTO(
+                            LocalDate.now(), cliente.getId(), Set.of(new CriarItemPedidoDTO(produto.getId(), 1)),
+                            BigDecimal.ZERO))));
+                } catch (Throwable e) {
+                    falhas.add(e);
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(falhas).isEmpty();
+        assertThat(ids).hasSize(8).containsOnly(ids.peek());
+        List<Long> pedidos = jdbcClient.sql("SELECT id FROM tb_pedido WHERE cliente_id = :clienteId")
+                .param("clienteId", cliente.getId())
+                .query(Long.class)
+                .list();
+        assertThat(pedidos).containsExactly(ids.peek());
+    }
+}
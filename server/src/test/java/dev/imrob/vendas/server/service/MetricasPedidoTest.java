@@ -0,0 +1,47 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.service.MetricasPedido.Fase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricasPedidoTest {
+    private SimpleMeterRegistry registry;
+    private MetricasPedido metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new MetricasPedido(registry);
+    }
+
+    @Test
+    void registrarFase_deveRegistrarOTempoNaFaseERetornarOInicioDaProxima() {
+        long inicio = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        long proximoInicio = metricas.registrarFase(Fase.CREDITO, inicio);
+
+        var timer = registry.get("vendas.pedido.fase").tag("fase", "credito").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(proximoInicio).isGreaterThan(inicio);
+        assertThat(registry.get("vendas.pedido.fase").tag("fase", "insercao").timer().count()).isZero();
+    }
+
+    @Test
+    void contadores_devemSepararOsEventosPorTag() {
+        metricas.pedidosCriados(3);
+        metricas.pedidosCriados(1);
+        metricas.pedidoCancelado();
+        metricas.pedidoRecusadoPorLimite();
+        metricas.pedidoRecusadoPorLimite();
+
+        assertThat(registry.get("vendas.pedidos").tag("evento", "criado").counter().count()).isEqualTo(4);
+        assertThat(registry.get("vendas.pedidos").tag("evento", "cancelado").counter().count()).isEqualTo(1);
+        assertThat(registry.get("vendas.pedidos").tag("evento", "recusado_limite").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,108 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.ResultadoPedidoLoteDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a vazão da criação de pedidos um a um com a criação em lote.
+ *
+ * <p>Executado pela tarefa {@code testeCarga}. O ganho do lote vem da redução de idas ao banco, por isso
+ * é maior quanto maior a latência da conexão: em um H2 em memória a diferença é menor do que contra um
+ * PostgreSQL na rede.</p>
+ */
+@Slf4j
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:pedido_lote;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class PedidoLoteCargaTest {
+    private static final int QUANTIDADE_CLIENTES = 20;
+    private static final int QUANTIDADE_PRODUTOS = 50;
+    private static final int QUANTIDADE_PEDIDOS = 5_000;
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    @Autowired
+    private PedidoService service;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final List<Cliente> clientes = new ArrayList<>();
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < QUANTIDADE_CLIENTES; i++) {
+            clientes.add(clienteRepository.save(new Cliente(null, "Cliente " + i, BigDecimal.valueOf(100_000_000), 10)));
+        }
+        for (int i = 0; i < QUANTIDADE_PRODUTOS; i++) {
+            produtos.add(produtoRepository.save(new Produto(null, "Produto " + i, BigDecimal.valueOf(i + 1))));
+        }
+        // Aquecimento: cria os resumos do dia e compila os caminhos de ambos os modos
+        service.criarPedidosEmLote(gerarPedidos(QUANTIDADE_CLIENTES * 5));
+        gerarPedidos(QUANTIDADE_CLIENTES * 5).forEach(service::criarPedido);
+    }
+
+    @Test
+    void criarPedidosEmLote_deveTerVazaoMaiorQueCriarPedidoUmAUm() {
+        List<CriarPedidoDTO> individuais = gerarPedidos(QUANTIDADE_PEDIDOS);
+        long inicio = System.nanoTime();
+        individuais.forEach(service::criarPedido);
+        double porSegundoIndividual = QUANTIDADE_PEDIDOS / segundosDesde(inicio);
+
+        List<CriarPedidoDTO> emLote = gerarPedidos(QUANTIDADE_PEDIDOS);
+        List<ResultadoPedidoLoteDTO> resultados = new ArrayList<>();
+        inicio = System.nanoTime();
+        for (int i = 0; i < emLote.size(); i += PedidoService.LIMITE_LOTE) {
+            resultados.addAll(service.criarPedidosEmLote(
+                    emLote.subList(i, Math.min(i + PedidoService.LIMITE_LOTE, emLote.size()))));
+        }
+        double porSegundoLote = QUANTIDADE_PEDIDOS / segundosDesde(inicio);
+
+        log.info("Pedidos por segundo: um a um {}, em lote {} ({}x).", Math.round(porSegundoIndividual),
+                Math.round(porSegundoLote), String.format("%.1f", porSegundoLote / porSegundoIndividual));
+        assertThat(resultados).allSatisfy(resultado -> assertThat(resultado.getErro()).isNull());
+        assertThat(porSegundoLote).isGreaterThan(porSegundoIndividual);
+    }
+
+    private List<CriarPedidoDTO> gerarPedidos(int quantidade) {
+        List<CriarPedidoDTO> pedidos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Set<CriarItemPedidoDTO> itens = new HashSet<>();
+            for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                itens.add(new CriarItemPedidoDTO(produtos.get((i + j * 7) % QUANTIDADE_PRODUTOS).getId(), 1 + j));
+            }
+            pedidos.add(new CriarPedidoDTO(LocalDate.now(), clientes.get(i % QUANTIDADE_CLIENTES).getId(),
+                    itens, BigDecimal.ZERO));
+        }
+        return pedidos;
+    }
+
+    private static double segundosDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000_000.0;
+    }
+}
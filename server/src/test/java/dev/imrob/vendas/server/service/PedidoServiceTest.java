@@ -10,11 +10,12 @@ import dev.imrob.vendas.server.entity.Pedido;
 import dev.imrob.vendas.server.entity.Produto;
 import dev.imrob.vendas.server.entity.StatusPedido;
 import dev.imrob.vendas.server.exception.LimiteCreditoException;
+import dev.imrob.vendas.server.exception.LotePedidosException;
 import dev.imrob.vendas.server.exception.MetodoNaoPermitidoException;
+import dev.imrob.vendas.server.exception.ValorTotalPedidoException;
 import dev.imrob.vendas.server.repository.ClienteRepository;
 import dev.imrob.vendas.server.repository.FiltroPedidoRepository;
 import dev.imrob.vendas.server.repository.PedidoRepository;
-import dev.imrob.vendas.server.repository.ProdutoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,17 +25,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,7 +58,7 @@ class PedidoServiceTest {
     private ClienteRepository clienteRepository;
 
     @Mock
-    private ProdutoRepository produtoRepository;
+    private CatalogoProdutos catalogo;
 
     @Mock
     private PedidoMapper mapper;
@@ -64,6 +69,24 @@ class PedidoServiceTest {
     @Mock
     private ClienteMapper clienteMapper;
 
+    @Mock
+    private SaldoClienteService saldoService;
+
+    @Mock
+    private ResumoVendasService resumoService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MetricasPedido metricas;
+
+    @Mock
+    private ConsistenciaLeitura consistencia;
+
+    @Mock
+    private VersaoTabelas versoes;
+
     private PedidoDTO pedidoDTO;
     private Pedido pedido;
     private Cliente cliente;
@@ -109,43 +132,76 @@ class PedidoServiceTest {
 
     @Test
     void save_deveSalvarPedido_quandoPedidoValido() {
-        pedido.getItens().forEach(itemPedido -> itemPedido.setPedido(pedido));
-        ItemPedido itemPedido = new ItemPedido(null, pedido, produto, 3);
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(repository.save(any(Pedido.class))).thenReturn(pedido);
-        when(mapper.toEntity(any(), eq(clienteRepository))).thenReturn(pedido);
-        when(mapper.toEntity(any(), eq(produtoRepository))).thenReturn(itemPedido);
+        Pedido novoPedido = new Pedido();
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.ZERO);
+        when(repository.saveAndFlush(any(Pedido.class))).thenReturn(pedido);
+        when(mapper.toEntity(criarPedidoDTO)).thenReturn(novoPedido);
 
         Long id = service.criarPedido(criarPedidoDTO);
         assertThat(id).isEqualTo(1L);
+        assertThat(novoPedido.getCliente()).isSameAs(cliente);
+        assertThat(novoPedido.getItens()).singleElement().satisfies(item -> {
+            assertThat(item.getPedido()).isSameAs(novoPedido);
+            assertThat(item.getProduto()).isSameAs(produto);
+            assertThat(item.getPrecoUnitario()).isEqualTo(produto.getPreco());
+        });
+        verify(clienteRepository).findByIdParaReserva(anyLong());
+        verify(catalogo).buscarTodos(anyCollection());
+        verify(saldoService).registrar(cliente, novoPedido.getData(), BigDecimal.valueOf(20.0));
+        verify(resumoService).registrar(novoPedido, 1);
+        verify(metricas).pedidosCriados(1);
     }
 
     @Test
     void save_deveLancarExcecao_quandoClienteNaoEncontrado() {
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.criarPedido(criarPedidoDTO))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
+    @Test
+    void save_deveLancarExcecao_quandoProdutoNaoEncontrado() {
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of());
+        assertThatThrownBy(() -> service.criarPedido(criarPedidoDTO))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Produto com id 1");
+        Mockito.verifyNoInteractions(repository, saldoService, resumoService);
+    }
+
     @Test
     void save_deveCalcularValorTotal_quandoValorTotalIgualZero() {
-        ItemPedido itemPedido = new ItemPedido(null, pedido, produto, 3);
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
-        when(repository.save(any(Pedido.class))).thenReturn(pedido);
-        when(mapper.toEntity(criarPedidoDTO, clienteRepository)).thenReturn(pedido);
-        when(mapper.toEntity(any(), eq(produtoRepository))).thenReturn(itemPedido);
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.ZERO);
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
+        when(repository.saveAndFlush(any(Pedido.class))).thenReturn(pedido);
+        when(mapper.toEntity(criarPedidoDTO)).thenReturn(new Pedido());
 
         criarPedidoDTO.setValorTotal(BigDecimal.ZERO);
         Long id = service.criarPedido(criarPedidoDTO);
 
         assertThat(id).isEqualTo(1L);
-        assertThat(criarPedidoDTO.getValorTotal()).isNotEqualTo(BigDecimal.ZERO);
+        assertThat(criarPedidoDTO.getValorTotal()).isEqualByComparingTo(BigDecimal.valueOf(20));
+        verify(catalogo).buscarTodos(anyCollection());
+    }
+
+    @Test
+    void save_deveLancarExcecao_quandoValorTotalDiferenteDosItens() {
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
+
+        criarPedidoDTO.setValorTotal(BigDecimal.ONE);
+        assertThatThrownBy(() -> service.criarPedido(criarPedidoDTO))
+                .isInstanceOf(ValorTotalPedidoException.class);
+        Mockito.verifyNoInteractions(repository, saldoService, resumoService);
     }
 
     @Test
     void save_deveLancarExcecao_quandoLimiteDeCreditoExcedido() {
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
         cliente.setLimiteCompra(null);
         assertThatThrownBy(() -> service.criarPedido(criarPedidoDTO))
                 .isInstanceOf(LimiteCreditoException.class);
@@ -221,10 +277,49 @@ class PedidoServiceTest {
 
     @Test
     void save_deveLancarExcecao_quandoLimiteExcedido() {
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findByIdParaReserva(anyLong())).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.ZERO);
         cliente.setLimiteCompra(BigDecimal.ZERO);
         assertThatThrownBy(() -> service.criarPedido(criarPedidoDTO))
                 .isInstanceOf(LimiteCreditoException.class);
+        verify(metricas).pedidoRecusadoPorLimite();
+        verify(metricas, Mockito.never()).pedidosCriados(anyInt());
+    }
+
+    @Test
+    void criarPedidosEmLote_deveRecusarSomenteOsPedidosInvalidosOuSemLimite() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(clienteRepository.findByIdParaReserva(5L)).thenReturn(Optional.of(cliente));
+        when(catalogo.buscarTodos(anyCollection())).thenReturn(Map.of(1L, produto));
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.valueOf(970));
+        when(mapper.toEntity(any(CriarPedidoDTO.class))).thenAnswer(invocacao -> new Pedido());
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocacao -> {
+            List<Pedido> pedidos = invocacao.getArgument(0);
+            pedidos.forEach(p -> p.setId(100L));
+            return pedidos;
+        });
+
+        CriarPedidoDTO invalido = new CriarPedidoDTO(LocalDate.now(), null, Set.of(criarItemPedidoDTO), BigDecimal.ZERO);
+        CriarPedidoDTO semLimite = new CriarPedidoDTO(LocalDate.now(), 5L, Set.of(criarItemPedidoDTO), BigDecimal.ZERO);
+        List<ResultadoPedidoLoteDTO> resultados = service.criarPedidosEmLote(List.of(criarPedidoDTO, invalido, semLimite));
+
+        assertThat(resultados).extracting(ResultadoPedidoLoteDTO::getIndice).containsExactly(0, 1, 2);
+        assertThat(resultados.get(0).getId()).isEqualTo(100L);
+        assertThat(resultados.get(1).getErro()).startsWith("Erro de validação");
+        assertThat(resultados.get(2).getErro()).startsWith("Limite disponível: 10");
+        verify(clienteRepository).findByIdParaReserva(5L);
+        verify(saldoService).registrar(cliente, criarPedidoDTO.getData(), BigDecimal.valueOf(20.0));
+        verify(resumoService).registrarCriados(anyList());
+        verify(metricas).pedidosCriados(1);
+        verify(metricas).pedidoRecusadoPorLimite();
+    }
+
+    @Test
+    void criarPedidosEmLote_deveLancarExcecao_quandoLoteVazio() {
+        assertThatThrownBy(() -> service.criarPedidosEmLote(List.of()))
+                .isInstanceOf(LotePedidosException.class);
     }
 
     @Test
@@ -244,13 +339,24 @@ class PedidoServiceTest {
         when(repository.findById(1L)).thenReturn(Optional.of(pedido));
         service.cancelarPedido(1L);
         assertThat(pedido.getStatus()).isEqualTo(StatusPedido.EXCLUIDO);
+        verify(saldoService).registrar(cliente, pedido.getData(), BigDecimal.valueOf(-30.0));
+        verify(resumoService).registrar(pedido, -1);
+        verify(versoes).registrarAlteracao("tb_pedido");
+        verify(metricas).pedidoCancelado();
+    }
+
+    @Test
+    void cancelarPedido_naoDeveEstornarSaldo_quandoPedidoJaCancelado() {
+        pedido.setStatus(StatusPedido.EXCLUIDO);
+        when(repository.findById(1L)).thenReturn(Optional.of(pedido));
+        service.cancelarPedido(1L);
+        Mockito.verifyNoInteractions(saldoService, resumoService, metricas);
     }
 
     @Test
     void totalComprasDesdeFechamento_deveRetornarValorTotalDeCompras_QuandoClienteExistir() {
         when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(repository.totalComprasDesdeData(anyLong(), any(LocalDate.class)))
-                .thenReturn(BigDecimal.TEN);
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.TEN);
         BigDecimal resultado = service.totalComprasDesdeFechamento(1L);
         assertThat(resultado).isEqualTo(BigDecimal.TEN);
     }
@@ -266,34 +372,10 @@ class PedidoServiceTest {
     void totalComprasDesdeFechamento_naoDeveLancarExcecao_quandoDiaFechamentoFor31() {
         cliente.setDiaFechamentoFatura(31);
         when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(repository.totalComprasDesdeData(anyLong(), any(LocalDate.class)))
-                .thenReturn(BigDecimal.TEN);
+        when(saldoService.saldoEmAberto(cliente)).thenReturn(BigDecimal.TEN);
         assertDoesNotThrow(() -> service.totalComprasDesdeFechamento(1L));
     }
 
-    @Test
-    void totalComprasDesdeFechamento_deveCalcularCorretamente_QuandoDiaFechamentoMaiorQueDiaAtual() {
-        cliente.setDiaFechamentoFatura(31);
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(repository.totalComprasDesdeData(eq(cliente.getId()), any(LocalDate.class))).thenReturn(BigDecimal.TEN);
-
-        BigDecimal resultado = service.totalComprasDesdeFechamento(cliente.getId());
-
-        assertThat(resultado).isEqualTo(BigDecimal.TEN);
-    }
-
-    @Test
-    void totalComprasDesdeFechamento_deveCalcularCorretamente_QuandoDiaFechamentoMenorQueDiaAtual() {
-        cliente.setDiaFechamentoFatura(1);
-        LocalDate dataEsperada = LocalDate.now().withDayOfMonth(cliente.getDiaFechamentoFatura());
-        when(clienteRepository.findById(anyLong())).thenReturn(Optional.of(cliente));
-        when(repository.totalComprasDesdeData(anyLong(), eq(dataEsperada))).thenReturn(BigDecimal.TEN);
-
-        BigDecimal resultado = service.totalComprasDesdeFechamento(1L);
-
-        assertThat(resultado).isEqualTo(BigDecimal.TEN);
-    }
-
     @Test
     void totalComprasDesdeData_deveRetornarValorTotalDeCompras_quandoDataInformadaForValida() {
         LocalDate data = LocalDate.of(2023, 1, 1);
@@ -399,7 +481,7 @@ class PedidoServiceTest {
 
         pedido = new Pedido(
                 pedidoDTO.getId(),
-                clienteMapper.toEntity(pedidoDTO.getCliente()),
+                cliente,
                 pedidoDTO.getData(),
                 Set.of(new ItemPedido(1L, pedido, produto, 3)),
                 pedidoDTO.getValorTotal(),
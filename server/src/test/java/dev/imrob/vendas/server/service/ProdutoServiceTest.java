@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +33,12 @@ class ProdutoServiceTest {
     @Mock
     private ProdutoRepository repository;
 
+    @Mock
+    private CatalogoProdutos catalogo;
+
+    @Mock
+    private VersaoTabelas versoes;
+
     @Spy
     private ProdutoMapper mapper = ProdutoMapper.INSTANCE;
 
@@ -54,7 +62,7 @@ class ProdutoServiceTest {
 
     @Test
     void findById_deveRetornarProdutoDTO_quandoEncontrado() {
-        when(repository.findById(1L)).thenReturn(Optional.of(produto));
+        when(catalogo.buscar(1L)).thenReturn(Optional.of(produto));
 
         ProdutoDTO resultado = service.findById(1L);
 
@@ -66,7 +74,7 @@ class ProdutoServiceTest {
 
     @Test
     void findById_deveLancarExcecao_quandoNaoEncontrado() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(catalogo.buscar(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.findById(1L))
                 .isInstanceOf(EntityNotFoundException.class);
@@ -94,6 +102,8 @@ class ProdutoServiceTest {
         Long resultado = service.save(produtoDTO);
 
         assertThat(resultado).isEqualTo(produto.getId());
+        verify(catalogo).recarregarAposCommit();
+        verify(versoes).registrarAlteracao("tb_produto");
     }
 
     @Test
@@ -142,6 +152,7 @@ class ProdutoServiceTest {
         when(repository.save(any(Produto.class))).thenReturn(produto);
 
         assertDoesNotThrow(() -> service.update(produtoDTO));
+        verify(catalogo).recarregarAposCommit();
     }
     @Test
     void update_deveLancarExcecao_quandoErroAoAtualizarNoRepositorio() {
@@ -168,6 +179,7 @@ class ProdutoServiceTest {
         when(repository.findById(1L)).thenReturn(Optional.of(produto));
 
         assertThatCode(() -> service.delete(1L)).doesNotThrowAnyException();
+        verify(catalogo).recarregarAposCommit();
     }
 
     @Test
@@ -175,6 +187,7 @@ class ProdutoServiceTest {
         when(repository.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.delete(1L)).isInstanceOf(EntityNotFoundException.class);
+        verify(catalogo, never()).recarregarAposCommit();
     }
 
 
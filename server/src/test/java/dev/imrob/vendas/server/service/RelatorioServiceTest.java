@@ -0,0 +1,198 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.RelatorioDTO;
+import dev.imrob.vendas.server.dto.StatusRelatorio;
+import dev.imrob.vendas.server.dto.TipoRelatorio;
+import dev.imrob.vendas.server.exception.RelatorioException;
+import dev.imrob.vendas.server.repository.PedidoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Os relatórios rodam no pool do serviço; o repositório é bloqueado por um latch para manter uma execução
+ * em andamento enquanto os testes fazem novas solicitações.
+ */
+@ExtendWith(MockitoExtension.class)
+class RelatorioServiceTest {
+    private static final List<Object[]> LINHAS = List.<Object[]>of(new Object[]{"Cliente", BigDecimal.TEN});
+
+    @Mock
+    private PedidoRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final VersaoTabelas versoes = new VersaoTabelas();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private RelatorioService service;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    void solicitar_deveExecutarUmaVez_quandoSolicitacoesConcorrentes() throws Exception {
+        criarServico(2, 16, Duration.ofMinutes(5));
+        bloquearPorCliente();
+
+        ExecutorService solicitantes = Executors.newFixedThreadPool(8);
+        try {
+            Callable<RelatorioDTO> solicitar = () -> service.solicitar(TipoRelatorio.POR_CLIENTE);
+            List<Future<RelatorioDTO>> solicitacoes = solicitantes.invokeAll(Collections.nCopies(8, solicitar));
+            String id = solicitacoes.get(0).get().getId();
+            for (Future<RelatorioDTO> solicitacao : solicitacoes) {
+                assertThat(solicitacao.get().getId()).isEqualTo(id);
+            }
+            liberar.countDown();
+            assertThat(aguardar(id).getStatus()).isEqualTo(StatusRelatorio.CONCLUIDO);
+        } finally {
+            solicitantes.shutdown();
+        }
+        verify(repository, times(1)).pedidosAgrupadosPorCliente();
+    }
+
+    @Test
+    void solicitar_deveReaproveitarResultado_quandoConcluidoESemAlteracoes() {
+        criarServico(2, 16, Duration.ofMinutes(5));
+        when(repository.pedidosAgrupadosPorProduto()).thenReturn(LINHAS);
+
+        String id = service.solicitar(TipoRelatorio.POR_PRODUTO).getId();
+        aguardar(id);
+        RelatorioDTO repetido = service.solicitar(TipoRelatorio.POR_PRODUTO);
+
+        assertThat(repetido.getId()).isEqualTo(id);
+        assertThat(repetido.getStatus()).isEqualTo(StatusRelatorio.CONCLUIDO);
+        assertThat(repetido.getConcluidoEm()).isNotNull();
+        assertThat(service.resultado(id)).containsExactlyElementsOf(LINHAS);
+        verify(repository, times(1)).pedidosAgrupadosPorProduto();
+    }
+
+    @Test
+    void solicitar_deveExecutarNovamente_quandoPedidosAlterados() {
+        criarServico(2, 16, Duration.ofMinutes(5));
+        when(repository.pedidosAgrupadosPorProduto()).thenReturn(LINHAS);
+
+        String id = service.solicitar(TipoRelatorio.POR_PRODUTO).getId();
+        aguardar(id);
+        versoes.registrarAlteracao("tb_pedido");
+        String novo = service.solicitar(TipoRelatorio.POR_PRODUTO).getId();
+        aguardar(novo);
+
+        assertThat(novo).isNotEqualTo(id);
+        verify(repository, times(2)).pedidosAgrupadosPorProduto();
+    }
+
+    @Test
+    void solicitar_deveExecutarNovamente_quandoResultadoExpirado() throws InterruptedException {
+        criarServico(2, 16, Duration.ofMillis(1));
+        when(repository.pedidosAgrupadosPorProduto()).thenReturn(LINHAS);
+
+        String id = service.solicitar(TipoRelatorio.POR_PRODUTO).getId();
+        aguardar(id);
+        Thread.sleep(10);
+        String novo = service.solicitar(TipoRelatorio.POR_PRODUTO).getId();
+
+        assertThat(novo).isNotEqualTo(id);
+        assertThatThrownBy(() -> service.buscar(id)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void resultado_deveLancarExcecao_quandoRelatorioEmExecucao() {
+        criarServico(2, 16, Duration.ofMinutes(5));
+        bloquearPorCliente();
+
+        String id = service.solicitar(TipoRelatorio.POR_CLIENTE).getId();
+
+        assertThatThrownBy(() -> service.resultado(id)).isInstanceOf(RelatorioException.class);
+        liberar.countDown();
+        aguardar(id);
+        assertThat(service.resultado(id)).containsExactlyElementsOf(LINHAS);
+    }
+
+    @Test
+    void solicitar_deveExecutarNovamente_quandoExecucaoAnteriorFalhou() {
+        criarServico(2, 16, Duration.ofMinutes(5));
+        when(repository.pedidosAgrupadosPorCliente())
+                .thenThrow(new IllegalStateException("Banco indisponível"))
+                .thenReturn(LINHAS);
+
+        String id = service.solicitar(TipoRelatorio.POR_CLIENTE).getId();
+        RelatorioDTO falha = aguardar(id);
+
+        assertThat(falha.getStatus()).isEqualTo(StatusRelatorio.FALHOU);
+        assertThat(falha.getErro()).isEqualTo("Banco indisponível");
+        assertThatThrownBy(() -> service.resultado(id)).isInstanceOf(RelatorioException.class);
+
+        String novo = service.solicitar(TipoRelatorio.POR_CLIENTE).getId();
+        assertThat(novo).isNotEqualTo(id);
+        assertThat(aguardar(novo).getStatus()).isEqualTo(StatusRelatorio.CONCLUIDO);
+    }
+
+    @Test
+    void solicitar_deveRecusar_quandoFilaCheia() {
+        criarServico(1, 1, Duration.ofMinutes(5));
+        bloquearPorCliente();
+
+        service.solicitar(TipoRelatorio.POR_CLIENTE);
+        assertThat(service.solicitar(TipoRelatorio.POR_PRODUTO).getStatus()).isEqualTo(StatusRelatorio.PENDENTE);
+        versoes.registrarAlteracao("tb_pedido");
+
+        assertThatThrownBy(() -> service.solicitar(TipoRelatorio.POR_CLIENTE))
+                .isInstanceOf(RelatorioException.class);
+    }
+
+    @Test
+    void buscar_deveLancarExcecao_quandoRelatorioNaoExistir() {
+        criarServico(2, 16, Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> service.buscar("inexistente")).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private void criarServico(int threads, int fila, Duration ttl) {
+        service = new RelatorioService(repository, versoes, transactionManager, threads, fila, ttl);
+    }
+
+    private void bloquearPorCliente() {
+        when(repository.pedidosAgrupadosPorCliente()).thenAnswer(invocacao -> {
+            liberar.await(10, TimeUnit.SECONDS);
+            return LINHAS;
+        });
+    }
+
+    private RelatorioDTO aguardar(String id) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        RelatorioDTO relatorio = service.buscar(id);
+        while (relatorio.getStatus() == StatusRelatorio.PENDENTE || relatorio.getStatus() == StatusRelatorio.EXECUTANDO) {
+            assertThat(System.nanoTime()).as("Relatório %s não terminou", id).isLessThan(limite);
+            Thread.onSpinWait();
+            relatorio = service.buscar(id);
+        }
+        return relatorio;
+    }
+}
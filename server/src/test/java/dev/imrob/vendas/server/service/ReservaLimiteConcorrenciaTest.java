@@ -0,0 +1,124 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.exception.LimiteCreditoException;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispara milhares de pedidos simultâneos para poucos clientes e verifica que nenhum limite de crédito
+ * é ultrapassado.
+ *
+ * <p>Não é transacional: cada pedido é confirmado na sua própria transação, como em produção. Utiliza um
+ * banco H2 próprio para não misturar os pedidos confirmados com os dos demais testes. Os resumos de vendas
+ * começam vazios, então os primeiros pedidos de cada cliente criam ao mesmo tempo as linhas do dia e do
+ * produto da faixa do cliente.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:reserva_limite;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000")
+@ActiveProfiles("test")
+class ReservaLimiteConcorrenciaTest {
+    private static final int QUANTIDADE_CLIENTES = 8;
+    private static final int QUANTIDADE_PEDIDOS = 2_000;
+    private static final int QUANTIDADE_THREADS = 16;
+    private static final BigDecimal LIMITE = BigDecimal.valueOf(3_000);
+    private static final BigDecimal PRECO = BigDecimal.TEN;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private SaldoClienteService saldoService;
+
+    @Autowired
+    private ResumoVendasService resumoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final List<Cliente> clientes = new ArrayList<>();
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produto = produtoRepository.save(new Produto(null, "Produto Concorrência", PRECO));
+        for (int i = 0; i < QUANTIDADE_CLIENTES; i++) {
+            clientes.add(clienteRepository.save(new Cliente(null, "Cliente " + i, LIMITE, 10)));
+        }
+    }
+
+    @Test
+    void criarPedido_naoDeveUltrapassarLimite_quandoPedidosSimultaneosParaOMesmoCliente() throws InterruptedException {
+        Map<Long, BigDecimal> aceitosPorCliente = new ConcurrentHashMap<>();
+        AtomicInteger recusados = new AtomicInteger();
+        Queue<Throwable> falhas = new ConcurrentLinkedQueue<>();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_THREADS);
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            Cliente cliente = clientes.get(i % QUANTIDADE_CLIENTES);
+            int quantidade = 1 + i % 3;
+            executor.submit(() -> {
+                try {
+                    largada.await();
+                    criarPedido(cliente, quantidade);
+                    aceitosPorCliente.merge(cliente.getId(), PRECO.multiply(BigDecimal.valueOf(quantidade)),
+                            BigDecimal::add);
+                } catch (LimiteCreditoException e) {
+                    recusados.incrementAndGet();
+                } catch (Throwable e) {
+                    falhas.add(e);
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(falhas).isEmpty();
+        assertThat(recusados.get()).isPositive();
+        BigDecimal maiorPedido = PRECO.multiply(BigDecimal.valueOf(3));
+        for (Cliente cliente : clientes) {
+            BigDecimal saldo = saldoService.saldoEmAberto(clienteRepository.findById(cliente.getId()).orElseThrow());
+            assertThat(saldo).isEqualByComparingTo(aceitosPorCliente.getOrDefault(cliente.getId(), BigDecimal.ZERO));
+            assertThat(saldo).isLessThanOrEqualTo(LIMITE);
+            // A procura supera o limite: os pedidos só são recusados quando falta limite
+            assertThat(LIMITE.subtract(saldo)).isLessThan(maiorPedido);
+        }
+        assertThat(saldoService.verificar(false)).isEmpty();
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    private void criarPedido(Cliente cliente, int quantidade) {
+        pedidoService.criarPedido(new CriarPedidoDTO(LocalDate.now(), cliente.getId(),
+                Set.of(new CriarItemPedidoDTO(produto.getId(), quantidade)), BigDecimal.ZERO));
+    }
+}
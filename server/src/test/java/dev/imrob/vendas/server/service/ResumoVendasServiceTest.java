@@ -0,0 +1,221 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.DivergenciaResumoDTO;
+import dev.imrob.vendas.server.dto.Granularidade;
+import dev.imrob.vendas.server.dto.PontoSerieDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.exception.SerieVendasException;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import dev.imrob.vendas.server.repository.ResumoVendasRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class ResumoVendasServiceTest {
+    @Autowired
+    private ResumoVendasService resumoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private Cliente cliente;
+    private Produto arroz;
+    private Produto feijao;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Resumo", BigDecimal.valueOf(1000), 10));
+        arroz = produtoRepository.save(new Produto(null, "Arroz 5kg", BigDecimal.valueOf(20)));
+        feijao = produtoRepository.save(new Produto(null, "Feijão 1kg", BigDecimal.valueOf(8)));
+    }
+
+    @Test
+    void relatorios_devemLerResumosAtualizadosNaCriacaoENoCancelamento() {
+        Long primeiro = criarPedido(Set.of(new CriarItemPedidoDTO(arroz.getId(), 2), new CriarItemPedidoDTO(feijao.getId(), 1)));
+        criarPedido(Set.of(new CriarItemPedidoDTO(feijao.getId(), 3)));
+        pedidoService.cancelarPedido(primeiro);
+
+        List<Object[]> porCliente = pedidoService.getPedidosAgrupadosPorCliente();
+        List<Object[]> porProduto = pedidoService.getPedidosAgrupadosPorProduto();
+
+        assertThat(porCliente).singleElement().satisfies(linha -> {
+            assertThat(((Number) linha[0]).longValue()).isEqualTo(cliente.getId());
+            assertThat(new BigDecimal(linha[2].toString())).isEqualByComparingTo("24");
+        });
+        assertThat(porProduto).singleElement().satisfies(linha -> {
+            assertThat(linha[1]).isEqualTo("Feijão 1kg");
+            assertThat(((Number) linha[2]).longValue()).isEqualTo(3L);
+            assertThat(new BigDecimal(linha[3].toString())).isEqualByComparingTo("24");
+        });
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void verificar_deveEncontrarDivergenciasEReconstruirResumos() {
+        criarPedido(Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+        jdbcClient.sql("UPDATE tb_resumo_vendas_dia SET total = total + 100").update();
+
+        List<DivergenciaResumoDTO> divergencias = resumoService.verificar(true);
+
+        assertThat(divergencias).singleElement().satisfies(divergencia -> {
+            assertThat(divergencia.getResumo()).isEqualTo("dia");
+            assertThat(divergencia.getTotalRegistrado()).isEqualByComparingTo("120");
+            assertThat(divergencia.getTotalCalculado()).isEqualByComparingTo("20");
+        });
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void serie_deveSomarResumosMensaisEDiarios_eManterMesesCompactados() {
+        LocalDate mesAnterior = LocalDate.now().minusMonths(2).withDayOfMonth(1);
+        LocalDate mesPassado = mesAnterior.plusMonths(1);
+        Long primeiro = criarPedido(mesAnterior.plusDays(4), Set.of(new CriarItemPedidoDTO(arroz.getId(), 2)));
+        criarPedido(mesAnterior.plusDays(14), Set.of(new CriarItemPedidoDTO(feijao.getId(), 1)));
+        criarPedido(mesPassado.plusDays(2), Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+        criarPedido(LocalDate.now(), Set.of(new CriarItemPedidoDTO(feijao.getId(), 5)));
+
+        resumoService.compactar();
+        // Pedido com data em um mês compactado e cancelamento de um pedido antigo
+        criarPedido(mesAnterior.plusDays(19), Set.of(new CriarItemPedidoDTO(feijao.getId(), 2)));
+        pedidoService.cancelarPedido(primeiro);
+
+        List<PontoSerieDTO> serie = resumoService.serie(Granularidade.MES, mesAnterior.plusDays(10), LocalDate.now(),
+                cliente.getId(), null);
+
+        assertThat(serie).extracting(PontoSerieDTO::getPeriodo)
+                .containsExactly(mesAnterior, mesPassado, LocalDate.now().withDayOfMonth(1));
+        assertPonto(serie.get(0), 2, "24");
+        assertPonto(serie.get(1), 1, "20");
+        assertPonto(serie.get(2), 1, "40");
+        assertThat(jdbcClient.sql("SELECT total FROM tb_resumo_vendas_cliente_mes WHERE cliente_id = :clienteId AND mes = :mes")
+                .param("clienteId", cliente.getId())
+                .param("mes", mesAnterior)
+                .query(BigDecimal.class)
+                .single()).isEqualByComparingTo("24");
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void serie_devePreencherDiasSemVendas_eFiltrarPorProduto() {
+        LocalDate inicio = LocalDate.now().minusDays(3);
+        criarPedido(inicio, Set.of(new CriarItemPedidoDTO(arroz.getId(), 1), new CriarItemPedidoDTO(feijao.getId(), 2)));
+        criarPedido(inicio.plusDays(2), Set.of(new CriarItemPedidoDTO(feijao.getId(), 1)));
+        criarPedido(inicio.plusDays(2), Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+
+        List<PontoSerieDTO> porProduto = resumoService.serie(Granularidade.DIA, inicio, inicio.plusDays(3), null, feijao.getId());
+        List<PontoSerieDTO> porClienteEProduto = resumoService.serie(Granularidade.DIA, inicio, inicio.plusDays(3),
+                cliente.getId(), feijao.getId());
+
+        assertThat(porProduto).hasSize(4);
+        assertPonto(porProduto.get(0), 1, "16");
+        assertPonto(porProduto.get(1), 0, "0");
+        assertPonto(porProduto.get(2), 1, "8");
+        assertPonto(porProduto.get(3), 0, "0");
+        assertThat(porClienteEProduto).hasSameSizeAs(porProduto);
+        for (int i = 0; i < porProduto.size(); i++) {
+            assertThat(porClienteEProduto.get(i).getPeriodo()).isEqualTo(porProduto.get(i).getPeriodo());
+            assertPonto(porClienteEProduto.get(i), porProduto.get(i).getPedidos(), porProduto.get(i).getTotal().toPlainString());
+        }
+    }
+
+    @Test
+    void registrar_deveSepararOsClientesPorFaixa_eSerieDeveSomarAsFaixas() {
+        Cliente outro = clienteRepository.save(new Cliente(null, "Outra Faixa", BigDecimal.valueOf(1000), 10));
+        LocalDate dia = LocalDate.now().minusDays(1);
+        criarPedido(dia, Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+        pedidoService.criarPedido(new CriarPedidoDTO(dia, outro.getId(),
+                Set.of(new CriarItemPedidoDTO(arroz.getId(), 2)), BigDecimal.ZERO));
+
+        assertThat(ResumoVendasRepository.faixa(outro.getId())).isNotEqualTo(ResumoVendasRepository.faixa(cliente.getId()));
+        assertThat(jdbcClient.sql("SELECT COUNT(*) FROM tb_resumo_vendas_dia WHERE dia = :dia")
+                .param("dia", dia)
+                .query(Long.class)
+                .single()).isEqualTo(2L);
+        assertPonto(resumoService.serie(Granularidade.DIA, dia, dia, null, null).get(0), 2, "60");
+        assertPonto(resumoService.serie(Granularidade.DIA, dia, dia, null, arroz.getId()).get(0), 2, "60");
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void compactar_deveMarcarMesesSemVendasComoCompactados() {
+        LocalDate mesComVendas = LocalDate.now().minusMonths(3).withDayOfMonth(1);
+        LocalDate mesSemVendas = mesComVendas.plusMonths(1);
+        criarPedido(mesComVendas.plusDays(3), Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+        criarPedido(mesSemVendas.plusMonths(1).plusDays(3), Set.of(new CriarItemPedidoDTO(feijao.getId(), 1)));
+
+        resumoService.compactar();
+
+        assertThat(jdbcClient.sql("SELECT SUM(pedidos) FROM tb_resumo_vendas_mes WHERE mes = :mes")
+                .param("mes", mesSemVendas)
+                .query(Long.class)
+                .single()).isZero();
+        assertThat(resumoService.compactar()).isZero();
+        assertPonto(resumoService.serie(Granularidade.MES, mesSemVendas, mesSemVendas, null, null).get(0), 0, "0");
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void verificar_deveEncontrarDivergenciaNoResumoMensal() {
+        LocalDate mesPassado = LocalDate.now().minusMonths(1).withDayOfMonth(1);
+        criarPedido(mesPassado, Set.of(new CriarItemPedidoDTO(arroz.getId(), 1)));
+        resumoService.compactar();
+        jdbcClient.sql("UPDATE tb_resumo_vendas_mes SET total = total + 100 WHERE mes = :mes").param("mes", mesPassado).update();
+
+        assertThat(resumoService.verificar(true)).anySatisfy(divergencia -> {
+            assertThat(divergencia.getResumo()).isEqualTo("mes");
+            assertThat(divergencia.getDia()).isEqualTo(mesPassado);
+        });
+        assertThat(resumoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void serie_deveLancarExcecao_quandoIntervaloInvalido() {
+        LocalDate hoje = LocalDate.now();
+
+        assertThatThrownBy(() -> resumoService.serie(Granularidade.DIA, hoje, hoje.minusDays(1), null, null))
+                .isInstanceOf(SerieVendasException.class);
+        assertThatThrownBy(() -> resumoService.serie(Granularidade.DIA, hoje.minusYears(20), hoje, null, null))
+                .isInstanceOf(SerieVendasException.class);
+    }
+
+    private void assertPonto(PontoSerieDTO ponto, long pedidos, String total) {
+        assertThat(ponto.getPedidos()).isEqualTo(pedidos);
+        assertThat(ponto.getTotal()).isEqualByComparingTo(total);
+    }
+
+    private Long criarPedido(Set<CriarItemPedidoDTO> itens) {
+        return criarPedido(LocalDate.now(), itens);
+    }
+
+    private Long criarPedido(LocalDate data, Set<CriarItemPedidoDTO> itens) {
+        return pedidoService.criarPedido(new CriarPedidoDTO(data, cliente.getId(), itens, BigDecimal.ZERO));
+    }
+}
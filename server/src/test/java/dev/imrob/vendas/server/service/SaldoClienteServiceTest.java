@@ -0,0 +1,100 @@
+package dev.imrob.vendas.server.service;
+
+import dev.imrob.vendas.server.dto.CriarItemPedidoDTO;
+import dev.imrob.vendas.server.dto.CriarPedidoDTO;
+import dev.imrob.vendas.server.dto.DivergenciaSaldoDTO;
+import dev.imrob.vendas.server.entity.Cliente;
+import dev.imrob.vendas.server.entity.Produto;
+import dev.imrob.vendas.server.repository.ClienteRepository;
+import dev.imrob.vendas.server.repository.ProdutoRepository;
+import dev.imrob.vendas.server.repository.SaldoClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Transactional
+class SaldoClienteServiceTest {
+    @Autowired
+    private SaldoClienteService saldoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private SaldoClienteRepository saldoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente(null, "Cliente Saldo", BigDecimal.valueOf(1000), 10));
+        produto = produtoRepository.save(new Produto(null, "Café 500g", BigDecimal.valueOf(12)));
+    }
+
+    @Test
+    void criarECancelarPedido_deveManterSaldoEmAberto() {
+        Long primeiro = criarPedido(2);
+        criarPedido(3);
+
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("60");
+
+        pedidoService.cancelarPedido(primeiro);
+
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("36");
+        assertThat(saldoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void verificar_deveInformarECorrigirDivergencias() {
+        criarPedido(1);
+        LocalDate inicioCiclo = CicloFatura.inicioCiclo(cliente.getDiaFechamentoFatura(), LocalDate.now());
+        saldoRepository.definir(cliente.getId(), inicioCiclo, BigDecimal.valueOf(500));
+
+        List<DivergenciaSaldoDTO> divergencias = saldoService.verificar(true);
+
+        assertThat(divergencias).singleElement().satisfies(divergencia -> {
+            assertThat(divergencia.getClienteId()).isEqualTo(cliente.getId());
+            assertThat(divergencia.getRegistrado()).isEqualByComparingTo("500");
+            assertThat(divergencia.getCalculado()).isEqualByComparingTo("12");
+        });
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("12");
+        assertThat(saldoService.verificar(false)).isEmpty();
+    }
+
+    @Test
+    void reconstruirTodos_deveSubstituirOsSaldosPelosRecalculados() {
+        criarPedido(2);
+        LocalDate inicioCiclo = CicloFatura.inicioCiclo(cliente.getDiaFechamentoFatura(), LocalDate.now());
+        saldoRepository.definir(cliente.getId(), inicioCiclo, BigDecimal.valueOf(500));
+
+        saldoService.reconstruirTodos();
+
+        assertThat(pedidoService.totalComprasDesdeFechamento(cliente.getId())).isEqualByComparingTo("24");
+        assertThat(saldoService.verificar(false)).isEmpty();
+    }
+
+    private Long criarPedido(int quantidade) {
+        CriarPedidoDTO dto = new CriarPedidoDTO(LocalDate.now(), cliente.getId(),
+                Set.of(new CriarItemPedidoDTO(produto.getId(), quantidade)), BigDecimal.ZERO);
+        return pedidoService.criarPedido(dto);
+    }
+}